@@ -0,0 +1,134 @@
+import javax.imageio.ImageIO;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BaseMultiResolutionImage;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The images of the user interface, each read and scaled once for the whole process.
+ * <p>
+ * Images are read from {@code figure/} on the classpath, or from the {@code figure} directory when the game runs
+ * from the source tree. Each requested size is scaled once, both at its logical size and at the scale of the
+ * screen, and handed out as a multi-resolution icon, so HiDPI screens paint crisp icons and no icon is scaled again
+ * when it is painted or requested a second time. {@link #preload} reads the images on a background thread while the
+ * rest of the interface starts.
+ */
+public final class AssetCache {
+    // the directory of the images, on the classpath and in the source tree
+    private static final String DIRECTORY = "figure/";
+
+    // the icons of the main frame, read ahead by GUIApp
+    public static final String[] FRAME_ASSETS = {"logo.png", "settings.png", "restart.png", "hint.png", "how_to_play.png"};
+
+    private static volatile AssetCache shared;
+
+    private final double screenScale;
+    private final ConcurrentHashMap<String, CompletableFuture<BufferedImage>> images = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ImageIcon> icons = new ConcurrentHashMap<>();
+
+    AssetCache(double screenScale) {
+        this.screenScale = screenScale;
+    }
+
+    // Returns the cache of the process, scaling for the default screen
+    public static AssetCache shared() {
+        AssetCache cache = shared;
+        if (cache == null) {
+            synchronized (AssetCache.class) {
+                cache = shared;
+                if (cache == null) {
+                    cache = new AssetCache(defaultScreenScale());
+                    shared = cache;
+                }
+            }
+        }
+        return cache;
+    }
+
+    // The scale of the default screen, 2 on a typical HiDPI display and 1 without a display
+    private static double defaultScreenScale() {
+        if (GraphicsEnvironment.isHeadless()) {
+            return 1;
+        }
+        GraphicsConfiguration configuration = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice().getDefaultConfiguration();
+        return Math.max(1, configuration.getDefaultTransform().getScaleX());
+    }
+
+    /**
+     * Starts reading the images on a background thread, so later requests only wait for what is still loading.
+     */
+    public void preload(String... names) {
+        for (String name : names) {
+            image(name, true);
+        }
+    }
+
+    /**
+     * Returns an icon of the image at the given logical size. An image that cannot be read gives a blank icon of the
+     * size, as a missing file did before.
+     *
+     * @requires width > 0 && height > 0
+     */
+    public ImageIcon icon(String name, int width, int height) {
+        return icons.computeIfAbsent(name + '@' + width + 'x' + height, key -> {
+            BufferedImage source = image(name, false).join();
+            Image logical = scale(source, width, height);
+            if (screenScale <= 1) {
+                return new ImageIcon(logical);
+            }
+            Image device = scale(source, (int) Math.ceil(width * screenScale), (int) Math.ceil(height * screenScale));
+            return new ImageIcon(new BaseMultiResolutionImage(logical, device));
+        });
+    }
+
+    private CompletableFuture<BufferedImage> image(String name, boolean async) {
+        return images.computeIfAbsent(name, key -> async
+                ? CompletableFuture.supplyAsync(() -> read(key))
+                : CompletableFuture.completedFuture(read(key)));
+    }
+
+    // Reads an image from the classpath, then from the source tree, or returns null if neither has it
+    private static BufferedImage read(String name) {
+        try (InputStream resource = AssetCache.class.getClassLoader().getResourceAsStream(DIRECTORY + name)) {
+            if (resource != null) {
+                return ImageIO.read(resource);
+            }
+            Path file = Path.of(DIRECTORY + name);
+            return Files.isRegularFile(file) ? ImageIO.read(file.toFile()) : null;
+        } catch (IOException e) {
+            System.err.println("Error reading image " + name + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    // Scales an image down by halving steps, then one bicubic pass, which looks as smooth as SCALE_SMOOTH but is done once
+    private static BufferedImage scale(BufferedImage source, int width, int height) {
+        BufferedImage scaled = source;
+        if (scaled == null) {
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        }
+        do {
+            int nextWidth = Math.max(width, scaled.getWidth() / 2);
+            int nextHeight = Math.max(height, scaled.getHeight() / 2);
+            if (scaled.getWidth() <= width || scaled.getHeight() <= height) {
+                nextWidth = width;
+                nextHeight = height;
+            }
+            BufferedImage step = new BufferedImage(nextWidth, nextHeight, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g = step.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(scaled, 0, 0, nextWidth, nextHeight, null);
+            g.dispose();
+            scaled = step;
+        } while (scaled.getWidth() != width || scaled.getHeight() != height);
+        return scaled;
+    }
+}
@@ -0,0 +1,31 @@
+import org.junit.jupiter.api.Test;
+
+import javax.swing.*;
+import java.awt.image.MultiResolutionImage;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AssetCacheTest {
+
+    /**
+     * testIconsAreCachedPerSize() Scenario:
+     * Request the logo twice at one size and once at another, on a screen of scale 2, and check each size is scaled
+     * once, at its logical size and at twice that size, and that a missing image gives a blank icon of the size.
+     */
+    @Test
+    public void testIconsAreCachedPerSize() {
+        AssetCache cache = new AssetCache(2);
+        cache.preload(AssetCache.FRAME_ASSETS);
+        ImageIcon logo = cache.icon("logo.png", 150, 30);
+        assertSame(logo, cache.icon("logo.png", 150, 30));
+        assertNotSame(logo, cache.icon("logo.png", 75, 15));
+        assertEquals(150, logo.getIconWidth());
+        assertEquals(30, logo.getIconHeight());
+        MultiResolutionImage variants = assertInstanceOf(MultiResolutionImage.class, logo.getImage());
+        assertEquals(300, variants.getResolutionVariant(300, 60).getWidth(null));
+
+        ImageIcon missing = new AssetCache(1).icon("missing.png", 30, 20);
+        assertEquals(30, missing.getIconWidth());
+        assertEquals(20, missing.getIconHeight());
+    }
+}
@@ -0,0 +1,155 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Plays many scripted games without any interaction, for test rigs driving {@code CLIApp --batch}.
+ * <p>
+ * Each input line is one game: {@code validate seed guess...}, separated by whitespace, where validate is 1 to check
+ * the arithmetic of the guesses as the model does when errors are displayed, and seed picks the target: {@code -} for
+ * the first equation, {@code daily} for the puzzle of the day, or a number for the first target of
+ * {@link TargetScheduler#shuffled} with that seed. Blank lines and lines starting with {@code #} are skipped.
+ * <p>
+ * One line is written per game, {@code line<TAB>target<TAB>WON|LOST|UNFINISHED<TAB>attempts<TAB>results}, where the
+ * results are the G/O/X feedback of each scored guess, {@code E} and the error index of an invalid guess, or
+ * {@code -} for a guess after the game was over; a line that is not a game gives {@code line<TAB>ERROR<TAB>reason}.
+ * Games are played in chunks on worker threads and written in input order by an {@link OrderedChunkWriter}; only a
+ * few chunks are in flight at once, so memory stays bounded whatever the size of the input.
+ */
+public final class BatchPlay {
+    // the games handed to a worker at once
+    private static final int GAMES_PER_CHUNK = 1_024;
+
+    private final GameVariant variant;
+    private final EquationCorpus corpus;
+    private final int threads;
+
+    /**
+     * Creates a runner of games of the variant, drawing targets from a corpus of its length.
+     *
+     * @requires corpus.length() == variant.length() && !corpus.isEmpty() && threads >= 1
+     */
+    public BatchPlay(GameVariant variant, EquationCorpus corpus, int threads) {
+        if (corpus.length() != variant.length()) {
+            throw new IllegalArgumentException("The corpus holds equations of " + corpus.length() + " tiles, not " + variant.length());
+        }
+        this.variant = variant;
+        this.corpus = corpus;
+        this.threads = threads;
+    }
+
+    /**
+     * The totals of a batch.
+     */
+    public record Summary(long games, long wins, long losses, long guesses, long malformedLines) {
+        static final Summary EMPTY = new Summary(0, 0, 0, 0, 0);
+
+        Summary plus(Summary other) {
+            return new Summary(games + other.games, wins + other.wins, losses + other.losses,
+                    guesses + other.guesses, malformedLines + other.malformedLines);
+        }
+
+        @Override
+        public String toString() {
+            return "games: " + games + ", won: " + wins + ", lost: " + losses + ", unfinished: " + (games - wins - losses)
+                    + ", guesses: " + guesses + ", malformed lines: " + malformedLines;
+        }
+    }
+
+    /**
+     * Plays every game of the input, writing one line per game in input order, and returns the totals.
+     */
+    public Summary run(BufferedReader input, Writer output) throws IOException {
+        try (OrderedChunkWriter<Summary> chunks = new OrderedChunkWriter<>("numberle-batch", threads, output,
+                Summary.EMPTY, Summary::plus)) {
+            List<String> lines = new ArrayList<>(GAMES_PER_CHUNK);
+            long firstLine = 1;
+            String line;
+            while ((line = input.readLine()) != null) {
+                lines.add(line);
+                if (lines.size() == GAMES_PER_CHUNK) {
+                    submit(chunks, lines, firstLine);
+                    firstLine += lines.size();
+                    lines = new ArrayList<>(GAMES_PER_CHUNK);
+                }
+            }
+            if (!lines.isEmpty()) {
+                submit(chunks, lines, firstLine);
+            }
+            return chunks.finish();
+        }
+    }
+
+    private void submit(OrderedChunkWriter<Summary> chunks, List<String> lines, long firstLine) throws IOException {
+        chunks.submit(() -> play(lines, firstLine));
+    }
+
+    // Plays the games of a chunk of lines
+    private OrderedChunkWriter.Chunk<Summary> play(List<String> lines, long firstLine) {
+        StringBuilder output = new StringBuilder(lines.size() * 32);
+        long games = 0, wins = 0, losses = 0, guesses = 0, malformed = 0;
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            long lineNumber = firstLine + i;
+            String[] fields = line.split("\\s+");
+            int ordinal = fields.length < 2 ? -1 : targetOrdinal(fields[1]);
+            if (ordinal < 0 || !(fields[0].equals("0") || fields[0].equals("1"))) {
+                output.append(lineNumber).append("\tERROR\texpected: validate(0|1) seed(-|daily|number) guess...\n");
+                malformed++;
+                continue;
+            }
+            String[] gameGuesses = new String[fields.length - 2];
+            System.arraycopy(fields, 2, gameGuesses, 0, gameGuesses.length);
+            long target = corpus.code(ordinal);
+            GuessBatch.Result result = GuessBatch.replay(variant, target, gameGuesses, fields[0].equals("1"));
+
+            games++;
+            guesses += gameGuesses.length;
+            String outcome = "UNFINISHED";
+            if (result.won()) {
+                wins++;
+                outcome = "WON";
+            } else if (result.gameOver()) {
+                losses++;
+                outcome = "LOST";
+            }
+            output.append(lineNumber).append('\t').append(corpus.get(ordinal)).append('\t').append(outcome)
+                    .append('\t').append(result.attempts()).append('\t');
+            for (int g = 0; g < gameGuesses.length; g++) {
+                if (g > 0) {
+                    output.append(',');
+                }
+                int code = result.results()[g];
+                if (code == EquationValidator.VALID) {
+                    output.append(variant.engine().toString(result.patterns()[g]));
+                } else if (code == GuessBatch.GAME_OVER) {
+                    output.append('-');
+                } else {
+                    output.append('E').append(code);
+                }
+            }
+            output.append('\n');
+        }
+        return new OrderedChunkWriter.Chunk<>(output.toString(), new Summary(games, wins, losses, guesses, malformed));
+    }
+
+    // Returns the ordinal of the target picked by the seed field, or -1 if it is not a seed
+    private int targetOrdinal(String seed) {
+        if (seed.equals("-")) {
+            return 0;
+        }
+        if (seed.equals("daily")) {
+            return TargetScheduler.daily(TargetScheduler.DEFAULT_DAILY_SEED).next(corpus.size());
+        }
+        try {
+            return TargetScheduler.shuffled(Long.parseLong(seed)).next(corpus.size());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchPlayTest {
+
+    /**
+     * testBatchGames() Scenario:
+     * Play a won game, an unfinished game with an invalid guess, a game continued after it was won, a comment and a
+     * malformed line, and check the result line of each game and the totals.
+     */
+    @Test
+    public void testBatchGames() throws IOException {
+        String input = """
+                1 - 1+5=2+4 2+3*2=8
+                # a comment
+                1 - 1+1=3+0 1+5=2+4
+                0 - 2+3*2=8 1+5=2+4
+                1 seven 2+3*2=8
+                """;
+        StringWriter output = new StringWriter();
+        BatchPlay.Summary summary = new BatchPlay(GameVariant.CLASSIC, EquationCorpus.shared(), 1)
+                .run(new BufferedReader(new StringReader(input)), output);
+
+        String[] lines = output.toString().split("\n");
+        assertEquals(4, lines.length);
+        assertEquals("1\t2+3*2=8\tWON\t2\tXGXOGXX,GGGGGGG", lines[0]);
+        assertEquals("3\t2+3*2=8\tUNFINISHED\t1\tE" + EquationValidator.NOT_BALANCED + ",XGXOGXX", lines[1]);
+        assertEquals("4\t2+3*2=8\tWON\t1\tGGGGGGG,-", lines[2]);
+        assertTrue(lines[3].startsWith("5\tERROR\t"));
+        assertEquals(new BatchPlay.Summary(3, 2, 0, 6, 1), summary);
+    }
+
+    /**
+     * testParallelKeepsOrder() Scenario:
+     * Play thousands of seeded games on several threads, spanning many chunks, and check the output is identical to
+     * playing them on one thread.
+     */
+    @Test
+    public void testParallelKeepsOrder() throws IOException {
+        StringBuilder input = new StringBuilder();
+        for (int game = 0; game < 5_000; game++) {
+            input.append(game % 2).append(' ').append(game).append(" 1+5=2+4 2+3*2=8 9-6/3=7\n");
+        }
+        StringWriter serial = new StringWriter();
+        StringWriter parallel = new StringWriter();
+        BatchPlay.Summary expected = new BatchPlay(GameVariant.CLASSIC, EquationCorpus.shared(), 1)
+                .run(new BufferedReader(new StringReader(input.toString())), serial);
+        BatchPlay.Summary actual = new BatchPlay(GameVariant.CLASSIC, EquationCorpus.shared(), 4)
+                .run(new BufferedReader(new StringReader(input.toString())), parallel);
+
+        assertEquals(serial.toString(), parallel.toString());
+        assertEquals(expected, actual);
+        assertEquals(5_000, actual.games());
+    }
+}
@@ -0,0 +1,42 @@
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * An {@link EventDispatcher} that queues events and drains the queue in a single executor task.
+ * <p>
+ * Only the first event of a burst schedules a task, so however many events a guess or a replay publishes, the
+ * executor sees one task, e.g. one {@code SwingUtilities.invokeLater} instead of one per event.
+ */
+final class BatchingDispatcher extends EventDispatcher {
+    private final Executor executor;
+    private final Queue<NumberleEvent> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    BatchingDispatcher(Executor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    protected void dispatch(NumberleEvent event) {
+        queue.offer(event);
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            NumberleEvent event;
+            while ((event = queue.poll()) != null) {
+                deliver(event);
+            }
+            scheduled.set(false);
+            // an event queued after the last poll either scheduled a task of its own or is picked up here
+            if (queue.isEmpty() || !scheduled.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+}
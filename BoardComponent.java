@@ -0,0 +1,171 @@
+import javax.swing.*;
+import java.awt.*;
+import java.io.Serial;
+import java.util.Arrays;
+
+/**
+ * The game board painted as a single component, one tile per attempt and equation position.
+ * <p>
+ * The board keeps only a symbol and a state per tile in two flat arrays, and paints the tiles straight from them
+ * instead of laying out a text field per tile. Every change repaints the bounds of the tiles it touches, and painting
+ * skips the tiles outside the clip, so a guess costs one row of tiles rather than a pass over the whole board.
+ * Must be used on the event dispatch thread.
+ */
+public class BoardComponent extends JComponent {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    // the state of a tile
+    static final byte EMPTY = 0;
+    static final byte TYPED = 1;
+    static final byte GREEN = 2;
+    static final byte ORANGE = 3;
+    static final byte GREY = 4;
+
+    // the colors of the tile states, shared with the keyboard
+    static final Color GREEN_COLOR = new Color(61, 191, 165);   // correct position
+    static final Color ORANGE_COLOR = new Color(241, 155, 113); // correct symbol but in the wrong position
+    static final Color GREY_COLOR = new Color(165, 172, 195);   // symbol not in the equation at all
+    static final Color WHITE_COLOR = new Color(219, 223, 236);  // unused key
+    private static final Color BORDER_COLOR = new Color(122, 138, 153);
+
+    // the space around each tile
+    private static final int GAP = 2;
+
+    private static final Font TILE_FONT = new Font("Arial", Font.PLAIN, 20);
+
+    private final int rows;
+    private final int columns;
+
+    // the symbol of each tile, 0 when empty, and its state, row after row
+    private final char[] symbols;
+    private final byte[] states;
+
+    public BoardComponent(int rows, int columns) {
+        this.rows = rows;
+        this.columns = columns;
+        this.symbols = new char[rows * columns];
+        this.states = new byte[rows * columns];
+        setOpaque(true);
+        setBackground(UIManager.getColor("Panel.background"));
+        setPreferredSize(new Dimension(columns * 48, rows * 48));
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    // Returns the symbol of a tile, 0 when it is empty
+    public char getSymbol(int row, int column) {
+        return symbols[row * columns + column];
+    }
+
+    /**
+     * Types a symbol into a tile, or clears it with 0.
+     *
+     * @requires 0 <= row && row < getRows() && 0 <= column && column < getColumns()
+     */
+    public void setSymbol(int row, int column, char symbol) {
+        int tile = row * columns + column;
+        byte state = symbol == 0 ? EMPTY : TYPED;
+        if (symbols[tile] != symbol || states[tile] != state) {
+            symbols[tile] = symbol;
+            states[tile] = state;
+            repaint(tileBounds(row, column));
+        }
+    }
+
+    // Returns the symbols typed into a row, skipping the empty tiles
+    public String getRowText(int row) {
+        StringBuilder text = new StringBuilder(columns);
+        for (int column = 0; column < columns; column++) {
+            char symbol = symbols[row * columns + column];
+            if (symbol != 0) {
+                text.append(symbol);
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * Colors the tiles of a row with a packed feedback pattern, see {@link FeedbackEngine#stateAt}.
+     */
+    public void applyFeedback(int row, int pattern) {
+        for (int column = 0; column < columns; column++) {
+            states[row * columns + column] = switch (FeedbackEngine.stateAt(pattern, column)) {
+                case FeedbackEngine.GREEN -> GREEN;
+                case FeedbackEngine.ORANGE -> ORANGE;
+                default -> GREY;
+            };
+        }
+        repaint(rowBounds(row));
+    }
+
+    // Empties every tile
+    public void reset() {
+        Arrays.fill(symbols, (char) 0);
+        Arrays.fill(states, EMPTY);
+        repaint();
+    }
+
+    @Override
+    protected void paintComponent(Graphics graphics) {
+        Graphics2D g = (Graphics2D) graphics.create();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            Rectangle clip = g.getClipBounds();
+            if (clip == null) {
+                clip = new Rectangle(0, 0, getWidth(), getHeight());
+            }
+            g.setColor(getBackground());
+            g.fill(clip);
+            g.setFont(TILE_FONT);
+            FontMetrics metrics = g.getFontMetrics();
+            for (int row = 0; row < rows; row++) {
+                for (int column = 0; column < columns; column++) {
+                    Rectangle bounds = tileBounds(row, column);
+                    if (bounds.intersects(clip)) {
+                        paintTile(g, metrics, bounds, row * columns + column);
+                    }
+                }
+            }
+        } finally {
+            g.dispose();
+        }
+    }
+
+    private void paintTile(Graphics2D g, FontMetrics metrics, Rectangle bounds, int tile) {
+        g.setColor(switch (states[tile]) {
+            case GREEN -> GREEN_COLOR;
+            case ORANGE -> ORANGE_COLOR;
+            case GREY -> GREY_COLOR;
+            default -> Color.WHITE;
+        });
+        g.fillRect(bounds.x, bounds.y, bounds.width, bounds.height);
+        g.setColor(BORDER_COLOR);
+        g.drawRect(bounds.x, bounds.y, bounds.width - 1, bounds.height - 1);
+        if (symbols[tile] != 0) {
+            String text = String.valueOf(symbols[tile]);
+            g.setColor(Color.BLACK);
+            g.drawString(text, bounds.x + (bounds.width - metrics.stringWidth(text)) / 2,
+                    bounds.y + (bounds.height - metrics.getHeight()) / 2 + metrics.getAscent());
+        }
+    }
+
+    // The bounds of a tile for the current size, every tile has the same size
+    private Rectangle tileBounds(int row, int column) {
+        int width = getWidth() / columns;
+        int height = getHeight() / rows;
+        return new Rectangle(column * width + GAP, row * height + GAP, width - 2 * GAP, height - 2 * GAP);
+    }
+
+    private Rectangle rowBounds(int row) {
+        int height = getHeight() / rows;
+        return new Rectangle(0, row * height, getWidth(), height);
+    }
+}
@@ -0,0 +1,67 @@
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardComponentTest {
+
+    /**
+     * testBoardState() Scenario:
+     * Type a guess into a row, clear a tile, color the row with its feedback and paint the board into an image,
+     * checking the tile colors come from the feedback.
+     */
+    @Test
+    public void testBoardState() {
+        BoardComponent board = new BoardComponent(6, 7);
+        board.setSize(350, 300);
+        String guess = "1+5=2+4";
+        for (int i = 0; i < guess.length(); i++) {
+            board.setSymbol(0, i, guess.charAt(i));
+        }
+        assertEquals(guess, board.getRowText(0));
+        board.setSymbol(0, 6, (char) 0);
+        assertEquals("1+5=2+", board.getRowText(0));
+        board.setSymbol(0, 6, '4');
+
+        board.applyFeedback(0, FeedbackEngine.score(FeedbackEngine.encode(guess), FeedbackEngine.encode("2+3*2=8")));
+        BufferedImage image = new BufferedImage(350, 300, BufferedImage.TYPE_INT_RGB);
+        board.paint(image.createGraphics());
+        // the corner of the second tile is green, the corner of the first grey, an unused row white
+        assertEquals(BoardComponent.GREEN_COLOR.getRGB(), image.getRGB(50 + 5, 5));
+        assertEquals(BoardComponent.GREY_COLOR.getRGB(), image.getRGB(5, 5));
+        assertEquals(0xFFFFFFFF, image.getRGB(5, 55));
+
+        board.reset();
+        assertEquals("", board.getRowText(0));
+    }
+
+    /**
+     * testKeyboardKeys() Scenario:
+     * Apply the keyboard masks of two guesses and check green and grey keys keep their color while orange keys return
+     * to unused, and that presses fire the key label only while the keys are enabled.
+     */
+    @Test
+    public void testKeyboardKeys() {
+        KeyboardComponent keyboard = new KeyboardComponent();
+        keyboard.setSize(700, 100);
+        List<String> pressed = new ArrayList<>();
+        keyboard.addActionListener(e -> pressed.add(e.getActionCommand()));
+
+        keyboard.applyKeys(KeyboardState.keyBit('2'), KeyboardState.keyBit('='), KeyboardState.keyBit('1'));
+        keyboard.applyKeys(0, 0, KeyboardState.keyBit('2'));
+        BufferedImage image = new BufferedImage(700, 100, BufferedImage.TYPE_INT_RGB);
+        keyboard.paint(image.createGraphics());
+        // the digit keys are 70 pixels wide on the first row, '=' is the sixth of seven keys on the second
+        assertEquals(BoardComponent.GREEN_COLOR.getRGB(), image.getRGB(2 * 70 + 5, 5));
+        assertEquals(BoardComponent.GREY_COLOR.getRGB(), image.getRGB(70 + 5, 5));
+        assertEquals(BoardComponent.WHITE_COLOR.getRGB(), image.getRGB(5 * 100 + 5, 55));
+
+        keyboard.press("Enter");
+        keyboard.setKeysEnabled(false);
+        keyboard.press("1");
+        assertEquals(List.of("Enter"), pressed);
+    }
+}
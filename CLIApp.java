@@ -1,7 +1,53 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.Scanner;
 
 public class CLIApp {
+    // the buffer of the batch input and output
+    private static final int BUFFER_SIZE = 1 << 16;
+
     public static void main(String[] args) {
+        // Create a new instance of the NumberleModel class
+        INumberleModel model = new NumberleModel();
+
+        // --length n and --attempts n pick the variant, --daily plays the puzzle of the day,
+        // --seed n a reproducible shuffle of the equations, --render ansi|plain|json the format of the guesses,
+        // --batch [file] plays the games of a file or stdin without interaction, see BatchPlay, on --threads n workers
+        int length = FeedbackEngine.LENGTH;
+        int attempts = INumberleModel.MAX_ATTEMPTS;
+        TargetScheduler scheduler = null;
+        String batch = null;
+        int threads = 1;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--length" -> length = Integer.parseInt(args[++i]);
+                case "--attempts" -> attempts = Integer.parseInt(args[++i]);
+                case "--daily" -> scheduler = TargetScheduler.daily(TargetScheduler.DEFAULT_DAILY_SEED);
+                case "--seed" -> scheduler = TargetScheduler.shuffled(Long.parseLong(args[++i]));
+                case "--render" -> model.setRenderer(GuessRenderer.named(args[++i]));
+                case "--batch" -> batch = i + 1 < args.length && !args[i + 1].startsWith("--") ? args[++i] : "-";
+                case "--threads" -> threads = Math.max(1, Integer.parseInt(args[++i]));
+                default -> System.err.println("Ignoring unknown option: " + args[i]);
+            }
+        }
+        try {
+            model.setVariant(GameVariant.of(length, attempts));
+        } catch (IllegalArgumentException e) {
+            System.err.println("⚠️" + e.getMessage());
+            System.exit(2);
+        }
+        if (batch != null) {
+            runBatch(model.getVariant(), batch, threads);
+            return;
+        }
+
         System.out.println("  _   _                       _                     _             ____   _       ___ \n" +
                 " | \\ | |  _   _   _ __ ___   | |__     ___   _ __  | |   ___     / ___| | |     |_ _|\n" +
                 " |  \\| | | | | | | '_ ` _ \\  | '_ \\   / _ \\ | '__| | |  / _ \\   | |     | |      | | \n" +
@@ -9,8 +55,6 @@ public class CLIApp {
                 " |_| \\_|  \\__,_| |_| |_| |_| |_.__/   \\___| |_|    |_|  \\___|    \\____| |_____| |___|\n" +
                 "                                                                                     ");
         Scanner scanner = new Scanner(System.in);
-        // Create a new instance of the NumberleModel class
-        INumberleModel model = new NumberleModel();
 
         // read user input to determine the game settings
         int showEquation = readBinaryInput(scanner, "🚩Whether to show the equation (0=No, 1=Yes): ");
@@ -19,13 +63,35 @@ public class CLIApp {
 
         // initialize the model
         model.initialize(model, showEquation, validateInput, randomSelection);
+        if (scheduler != null) {
+            model.setTargetScheduler(scheduler);
+            model.restartGame();
+        }
         gameLogic(model, scanner);
         scanner.close();
     }
 
+    // Plays the games of a batch file, or of stdin for "-", writing the results to stdout and the totals to stderr
+    private static void runBatch(GameVariant variant, String input, int threads) {
+        long start = System.nanoTime();
+        try (BufferedReader games = input.equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8), BUFFER_SIZE)
+                : Files.newBufferedReader(Paths.get(input), StandardCharsets.UTF_8);
+             Writer output = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            BatchPlay.Summary summary = new BatchPlay(variant, variant.corpus(), threads).run(games, output);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.err.println(summary);
+            System.err.printf("played %d games in %.2f s (%.0f games/s)%n", summary.games(), seconds, summary.games() / seconds);
+        } catch (IOException e) {
+            System.err.println("Error running the batch: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
     private static void gameLogic(INumberleModel model, Scanner scanner) {
         System.out.println("\n✨✨Welcome to Numberle!✨✨" +
-                "\n🔢You have " + model.MAX_ATTEMPTS + " attempts to guess the equation!🔢");
+                "\n🔢You have " + model.getVariant().maxAttempts() + " attempts to guess the "
+                + model.getVariant().length() + "-tile equation!🔢");
 
         //enter the game logic
         while (!model.isGameOver()) {
@@ -0,0 +1,177 @@
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * The set of target equations still consistent with the feedback seen so far, kept as a bitset over the ordinals of
+ * a packed equation list.
+ * <p>
+ * Filtering tests every remaining target once against the guess, and is spread over the 64-ordinal words of the
+ * bitset in parallel when the set is large. Each filter only visits the targets left by the previous ones, so a game
+ * is followed by one filter per guess rather than a rescan of its whole history. Before a target is scored, the green
+ * tiles of the pattern are checked on all tiles at once with a few mask operations on the packed codes: the green
+ * positions must hold the guessed tiles and the other positions must not, which rules out most targets without
+ * running the full scoring.
+ */
+public final class CandidateSet {
+    // below this many candidates filtering stays on the calling thread
+    private static final int PARALLEL_THRESHOLD = 1 << 14;
+
+    // the lowest bit of every 4-bit tile
+    private static final long LOW_BITS = 0x1111_1111_1111_1111L;
+
+    private final TileEngine engine;
+    private final long[] codes;
+    private final long[] words;
+    private int count;
+
+    /**
+     * Creates a set holding every equation of the packed list of classic equations.
+     *
+     * @requires codes != null
+     * @ensures count() == codes.length
+     */
+    public CandidateSet(long[] codes) {
+        this(TileEngine.CLASSIC, codes);
+    }
+
+    /**
+     * Creates a set holding every equation of the packed list, all of the engine's length.
+     *
+     * @requires engine != null && codes != null
+     * @ensures count() == codes.length
+     */
+    public CandidateSet(TileEngine engine, long[] codes) {
+        this.engine = engine;
+        this.codes = codes;
+        this.words = new long[(codes.length + 63) >>> 6];
+        reset();
+    }
+
+    // Puts every equation back into the set
+    public void reset() {
+        Arrays.fill(words, -1L);
+        int tail = codes.length & 63;
+        if (tail != 0) {
+            words[words.length - 1] = (1L << tail) - 1;
+        }
+        count = codes.length;
+    }
+
+    // Creates a set over every equation of a corpus
+    public static CandidateSet of(EquationCorpus corpus) {
+        return new CandidateSet(corpus.engine(), corpus.codes());
+    }
+
+    /**
+     * Keeps only the targets that would have produced the pattern for the guess.
+     *
+     * @ensures count() <= \old(count())
+     */
+    public void filter(long guess, int pattern) {
+        // the tiles that must match the guess, and the lowest bit of each tile that must differ from it
+        long greenTiles = 0;
+        long otherTiles = 0;
+        for (int i = 0; i < engine.length(); i++) {
+            if (FeedbackEngine.stateAt(pattern, i) == FeedbackEngine.GREEN) {
+                greenTiles |= 0xFL << (i << 2);
+            } else {
+                otherTiles |= 1L << (i << 2);
+            }
+        }
+        long green = greenTiles;
+        long other = otherTiles;
+        IntStream range = IntStream.range(0, words.length);
+        if (count >= PARALLEL_THRESHOLD) {
+            range = range.parallel();
+        }
+        count = range.map(w -> filterWord(w, guess, pattern, green, other)).sum();
+    }
+
+    /**
+     * Replays the first n guesses of a game against the set, see {@link #filter}.
+     *
+     * @requires 0 <= n && n <= guesses.length && n <= patterns.length
+     */
+    public void filterAll(long[] guesses, int[] patterns, int n) {
+        for (int i = 0; i < n && count > 0; i++) {
+            filter(guesses[i], patterns[i]);
+        }
+    }
+
+    // Filters the 64 ordinals of one word and returns how many remain
+    private int filterWord(int w, long guess, int pattern, long greenTiles, long otherTiles) {
+        long word = words[w];
+        long kept = word;
+        while (word != 0) {
+            int bit = Long.numberOfTrailingZeros(word);
+            word &= word - 1;
+            long target = codes[(w << 6) | bit];
+            long diff = guess ^ target;
+            // fold every tile of the difference into its lowest bit: 1 where the tiles differ
+            long differs = (diff | diff >>> 1 | diff >>> 2 | diff >>> 3) & LOW_BITS;
+            if ((diff & greenTiles) != 0 || (differs & otherTiles) != otherTiles
+                    || engine.score(guess, target) != pattern) {
+                kept &= ~(1L << bit);
+            }
+        }
+        words[w] = kept;
+        return Long.bitCount(kept);
+    }
+
+    // Removes a single ordinal from the set
+    public void remove(int ordinal) {
+        long mask = 1L << ordinal;
+        if ((words[ordinal >>> 6] & mask) != 0) {
+            words[ordinal >>> 6] &= ~mask;
+            count--;
+        }
+    }
+
+    public boolean contains(int ordinal) {
+        return (words[ordinal >>> 6] & (1L << ordinal)) != 0;
+    }
+
+    public int count() {
+        return count;
+    }
+
+    // Returns the first ordinal at or after the given one that is still in the set, or -1
+    public int nextOrdinal(int from) {
+        int w = from >>> 6;
+        if (w >= words.length) {
+            return -1;
+        }
+        long word = words[w] & (-1L << from);
+        while (word == 0) {
+            if (++w == words.length) {
+                return -1;
+            }
+            word = words[w];
+        }
+        return (w << 6) | Long.numberOfTrailingZeros(word);
+    }
+
+    // Returns the ordinals still in the set, in ascending order
+    public int[] ordinals() {
+        int[] ordinals = new int[count];
+        int n = 0;
+        for (int i = nextOrdinal(0); i >= 0; i = nextOrdinal(i + 1)) {
+            ordinals[n++] = i;
+        }
+        return ordinals;
+    }
+
+    public TileEngine engine() {
+        return engine;
+    }
+
+    // Returns the packed equation of an ordinal
+    public long code(int ordinal) {
+        return codes[ordinal];
+    }
+
+    // Returns the number of equations the set ranges over
+    public int size() {
+        return codes.length;
+    }
+}
@@ -0,0 +1,124 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CandidateSetTest {
+
+    /**
+     * testMatchesBruteForce() Scenario:
+     * Filter the full corpus by the feedback of random guesses against random targets, one guess at a time and as a
+     * replayed history, and check both keep exactly the equations whose reference feedback matches every guess.
+     */
+    @Test
+    public void testMatchesBruteForce() throws IOException {
+        EquationCorpus corpus = EquationCorpus.shared();
+        Random random = new Random(19);
+        for (int game = 0; game < 5; game++) {
+            long target = corpus.code(random.nextInt(corpus.size()));
+            CandidateSet incremental = CandidateSet.of(corpus);
+            long[] guesses = new long[3];
+            int[] patterns = new int[3];
+            for (int i = 0; i < guesses.length; i++) {
+                guesses[i] = corpus.code(random.nextInt(corpus.size()));
+                patterns[i] = FeedbackEngine.score(guesses[i], target);
+                incremental.filter(guesses[i], patterns[i]);
+            }
+            CandidateSet replayed = CandidateSet.of(corpus);
+            replayed.filterAll(guesses, patterns, guesses.length);
+
+            List<Integer> expected = new ArrayList<>();
+            for (int ordinal = 0; ordinal < corpus.size(); ordinal++) {
+                String candidate = corpus.get(ordinal);
+                boolean consistent = true;
+                for (int i = 0; i < guesses.length && consistent; i++) {
+                    consistent = FeedbackEngine.referenceFeedback(FeedbackEngine.decode(guesses[i]), candidate)
+                            .equals(FeedbackEngine.toString(patterns[i]));
+                }
+                if (consistent) {
+                    expected.add(ordinal);
+                }
+            }
+            assertEquals(expected, toList(incremental.ordinals()));
+            assertEquals(expected, toList(replayed.ordinals()));
+            assertTrue(incremental.contains(corpus.indexOf(target)), "The target is always consistent.");
+        }
+    }
+
+    /**
+     * testEveryGuessAndTarget() Scenario:
+     * Filter a set over equations.txt, as the solver does, by the feedback of every equation guessed against every
+     * target, and check each filter keeps exactly the equations with the same reference feedback.
+     */
+    @Test
+    public void testEveryGuessAndTarget() throws IOException {
+        List<String> equations = Files.readAllLines(Paths.get("equations.txt"));
+        long[] codes = equations.stream().mapToLong(FeedbackEngine::encode).toArray();
+        CandidateSet set = new CandidateSet(codes);
+        for (String guess : equations) {
+            for (String target : equations) {
+                String feedback = FeedbackEngine.referenceFeedback(guess, target);
+                set.reset();
+                set.filter(FeedbackEngine.encode(guess), FeedbackEngine.score(FeedbackEngine.encode(guess), FeedbackEngine.encode(target)));
+
+                List<Integer> expected = new ArrayList<>();
+                for (int ordinal = 0; ordinal < equations.size(); ordinal++) {
+                    if (FeedbackEngine.referenceFeedback(guess, equations.get(ordinal)).equals(feedback)) {
+                        expected.add(ordinal);
+                    }
+                }
+                assertEquals(expected, toList(set.ordinals()), "Guess " + guess + " against target " + target);
+                assertEquals(expected.size(), set.count());
+            }
+        }
+    }
+
+    private static List<Integer> toList(int[] ordinals) {
+        List<Integer> list = new ArrayList<>();
+        for (int ordinal : ordinals) {
+            list.add(ordinal);
+        }
+        return list;
+    }
+
+    /**
+     * testModelConsistentTargets() Scenario:
+     * Play a 5 tile game whose target is 0+0=0 and check the consistent targets shrink with each guess, keep the
+     * target, follow guesses made after the first query, and start over with a new game.
+     */
+    @Test
+    public void testModelConsistentTargets() {
+        INumberleModel model = new NumberleModel();
+        model.setVariant(GameVariant.of(5, 8));
+        model.initialize(model, 1, 1, 0);
+        int all = model.countConsistentTargets();
+        assertTrue(all > 1);
+
+        model.processInput("1+2=3");
+        int afterOne = model.countConsistentTargets();
+        assertTrue(afterOne < all && afterOne >= 1);
+        assertTrue(model.isConsistentTarget("0+0=0"));
+        assertFalse(model.isConsistentTarget("1+2=3"), "A guess that was not all green cannot be the target.");
+        assertFalse(model.isConsistentTarget("9+9=9"), "An equation outside the corpus is never a target.");
+        for (String candidate : model.getConsistentTargets(afterOne)) {
+            assertEquals("XGXGX", FeedbackEngine.referenceFeedback("1+2=3", candidate));
+        }
+
+        model.processInput("1+2+3"); // an invalid guess does not filter
+        assertEquals(afterOne, model.countConsistentTargets());
+        model.processInput("0+0=0");
+        assertEquals(1, model.countConsistentTargets());
+        assertEquals(List.of("0+0=0"), model.getConsistentTargets(10));
+        assertEquals(List.of("1+2=3", "0+0=0"), model.getGuessHistory());
+
+        model.restartGame();
+        assertEquals(all, model.countConsistentTargets());
+        assertEquals(List.of(), model.getGuessHistory());
+    }
+}
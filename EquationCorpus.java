@@ -0,0 +1,341 @@
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.LongStream;
+
+/**
+ * An immutable list of target equations, loaded once and shared by every game.
+ * <p>
+ * Equations are held as packed tile codes (see {@link FeedbackEngine#encode}), either on the heap or read straight
+ * from a memory-mapped {@link EquationCorpusFile}, and an open-addressing hash table built on first use maps each code
+ * to its ordinal, so "is this a known equation" and ordinal lookups are O(1) without keeping any strings.
+ * The shared instance is swapped atomically by {@link #reload()}; games keep the corpus they started with, so a
+ * reload never blocks or changes a game in progress.
+ * <p>
+ * A corpus holds equations of a single length and decodes them with the {@link TileEngine} of that length. Every
+ * length of {@link GameVariant} has its own shared corpus and index, see {@link #shared(int)}.
+ */
+public final class EquationCorpus {
+    // the equation list read by default, and its binary form which is mapped instead when it is up to date
+    public static final String DEFAULT_FILE = "equations.txt";
+    public static final String DEFAULT_BINARY_FILE = "equations.bin";
+
+    // an empty corpus, used when the equation list cannot be read
+    public static final EquationCorpus EMPTY = new EquationCorpus(LongBuffer.allocate(0), null);
+
+    // the longest equations generated on first use when no equation list of their length exists
+    public static final int GENERATED_MAX_LENGTH = 8;
+
+    // the corpus of each length shared by every game, loaded on first use
+    private static final AtomicReferenceArray<EquationCorpus> shared = new AtomicReferenceArray<>(GameVariant.MAX_LENGTH + 1);
+
+    private final TileEngine engine;
+    private final int size;
+
+    // the packed equations, as longs or, for a file of up to 8 tiles, as unsigned ints; the other one is null
+    private final LongBuffer codes;
+    private final IntBuffer narrowCodes;
+
+    // the precomputed symbol multiset of each equation, null when it is computed on demand
+    private final LongBuffer symbolCounts;
+
+    // open-addressing table of ordinal + 1, 0 marks an empty slot, built by the first lookup
+    private volatile int[] index;
+
+    EquationCorpus(LongBuffer codes, LongBuffer symbolCounts) {
+        this(TileEngine.CLASSIC, codes, symbolCounts);
+    }
+
+    EquationCorpus(TileEngine engine, LongBuffer codes, LongBuffer symbolCounts) {
+        this.engine = engine;
+        this.codes = codes;
+        this.narrowCodes = null;
+        this.size = codes.limit();
+        this.symbolCounts = symbolCounts;
+    }
+
+    // Creates a corpus over 4 byte records, see EquationCorpusFile
+    EquationCorpus(TileEngine engine, IntBuffer narrowCodes, LongBuffer symbolCounts) {
+        this.engine = engine;
+        this.codes = null;
+        this.narrowCodes = narrowCodes;
+        this.size = narrowCodes.limit();
+        this.symbolCounts = symbolCounts;
+    }
+
+    /**
+     * Returns the shared corpus, reading {@link #DEFAULT_FILE} the first time it is needed.
+     */
+    public static EquationCorpus shared() throws IOException {
+        return shared(FeedbackEngine.LENGTH);
+    }
+
+    /**
+     * Returns the shared corpus of equations with the given number of tiles, reading {@link #defaultFile(int)} the
+     * first time it is needed. Without that file, equations of up to {@link #GENERATED_MAX_LENGTH} tiles are
+     * enumerated by {@link EquationGenerator}.
+     *
+     * @requires GameVariant.MIN_LENGTH <= length && length <= GameVariant.MAX_LENGTH
+     * @ensures \result.length() == length
+     */
+    public static EquationCorpus shared(int length) throws IOException {
+        if (length < GameVariant.MIN_LENGTH || length > GameVariant.MAX_LENGTH) {
+            throw new IllegalArgumentException("Games have equations of " + GameVariant.MIN_LENGTH + " to "
+                    + GameVariant.MAX_LENGTH + " tiles: " + length);
+        }
+        EquationCorpus corpus = shared.get(length);
+        if (corpus == null) {
+            synchronized (EquationCorpus.class) {
+                corpus = shared.get(length);
+                if (corpus == null) {
+                    corpus = loadDefault(length);
+                    shared.set(length, corpus);
+                }
+            }
+        }
+        return corpus;
+    }
+
+    /**
+     * Reads {@link #DEFAULT_FILE} again and makes it the shared corpus. Games started before keep the old corpus.
+     */
+    public static EquationCorpus reload() throws IOException {
+        EquationCorpus corpus = loadDefault(FeedbackEngine.LENGTH);
+        shared.set(FeedbackEngine.LENGTH, corpus);
+        return corpus;
+    }
+
+    // Returns the equation list of a length, equations.txt for the classic length and equations-N.txt otherwise
+    public static String defaultFile(int length) {
+        return length == FeedbackEngine.LENGTH ? DEFAULT_FILE : "equations-" + length + ".txt";
+    }
+
+    // Returns the binary corpus of a length, see EquationCorpusFile
+    public static String defaultBinaryFile(int length) {
+        return length == FeedbackEngine.LENGTH ? DEFAULT_BINARY_FILE : "equations-" + length + ".bin";
+    }
+
+    // Maps the binary corpus when it is at least as new as the equation list, otherwise parses the list
+    private static EquationCorpus loadDefault(int length) throws IOException {
+        Path text = Paths.get(defaultFile(length));
+        Path binary = Paths.get(defaultBinaryFile(length));
+        EquationCorpus corpus;
+        if (EquationCorpusFile.isCorpusFile(binary) && (!Files.exists(text)
+                || Files.getLastModifiedTime(binary).compareTo(Files.getLastModifiedTime(text)) >= 0)) {
+            long start = System.nanoTime();
+            corpus = EquationCorpusFile.map(binary);
+            NumberleMetrics.shared().recordCorpusLoad(System.nanoTime() - start);
+        } else if (!Files.exists(text) && length <= GENERATED_MAX_LENGTH && length != FeedbackEngine.LENGTH) {
+            long start = System.nanoTime();
+            corpus = generate(length);
+            NumberleMetrics.shared().recordCorpusLoad(System.nanoTime() - start);
+        } else {
+            corpus = load(text);
+        }
+        if (corpus.length() != length) {
+            throw new IOException(text + " holds equations of " + corpus.length() + " tiles, not " + length);
+        }
+        return corpus;
+    }
+
+    // Enumerates every valid equation of a length
+    private static EquationCorpus generate(int length) {
+        LongStream.Builder codes = LongStream.builder();
+        EquationGenerator.codes(length).forEachRemaining((long code) -> codes.add(code));
+        return new EquationCorpus(TileEngine.of(length), LongBuffer.wrap(codes.build().toArray()), null);
+    }
+
+    /**
+     * Reads a corpus from a text file with one equation per line, ignoring blank lines,
+     * or maps it if the file is in the {@link EquationCorpusFile} format.
+     */
+    public static EquationCorpus load(Path file) throws IOException {
+        long start = System.nanoTime();
+        EquationCorpus corpus = EquationCorpusFile.isCorpusFile(file) ? EquationCorpusFile.map(file) : parse(file);
+        NumberleMetrics.shared().recordCorpusLoad(System.nanoTime() - start);
+        return corpus;
+    }
+
+    // Parses a text corpus, the first equation setting the length of all of them
+    private static EquationCorpus parse(Path file) throws IOException {
+        List<String> lines = Files.readAllLines(file);
+        long[] codes = new long[lines.size()];
+        int count = 0;
+        TileEngine engine = null;
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (line.isEmpty()) {
+                continue;
+            }
+            try {
+                if (engine == null) {
+                    engine = TileEngine.of(line.length());
+                }
+                codes[count++] = engine.encode(line);
+            } catch (IllegalArgumentException e) {
+                throw new IOException(file + " line " + (i + 1) + ": " + e.getMessage(), e);
+            }
+        }
+        return new EquationCorpus(engine != null ? engine : TileEngine.CLASSIC, LongBuffer.wrap(Arrays.copyOf(codes, count)), null);
+    }
+
+    // Creates a corpus from equations in string form, all of the length of the first one
+    public static EquationCorpus of(List<String> equations) {
+        TileEngine engine = equations.isEmpty() ? TileEngine.CLASSIC : TileEngine.of(equations.get(0).length());
+        return new EquationCorpus(engine, LongBuffer.wrap(equations.stream().mapToLong(engine::encode).toArray()), null);
+    }
+
+    // Creates a corpus from packed equations of the classic length
+    public static EquationCorpus of(long[] codes) {
+        return of(TileEngine.CLASSIC, codes);
+    }
+
+    // Creates a corpus from packed equations of the engine's length
+    public static EquationCorpus of(TileEngine engine, long[] codes) {
+        return new EquationCorpus(engine, LongBuffer.wrap(codes.clone()), null);
+    }
+
+    // Returns the number of tiles of every equation
+    public int length() {
+        return engine.length();
+    }
+
+    public TileEngine engine() {
+        return engine;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    // Returns the packed equation of an ordinal
+    public long code(int ordinal) {
+        return codes != null ? codes.get(ordinal) : Integer.toUnsignedLong(narrowCodes.get(ordinal));
+    }
+
+    // Returns the equation of an ordinal in string form
+    public String get(int ordinal) {
+        return engine.decode(code(ordinal));
+    }
+
+    /**
+     * Returns the symbol multiset of an equation, see {@link FeedbackEngine#symbolCounts}.
+     */
+    public long symbolCounts(int ordinal) {
+        return symbolCounts != null ? symbolCounts.get(ordinal) : engine.symbolCounts(code(ordinal));
+    }
+
+    /**
+     * Returns the ordinal of a packed equation, or -1 if it is not in the corpus.
+     */
+    public int indexOf(long code) {
+        int[] table = index();
+        return table[slotOf(table, code)] - 1;
+    }
+
+    /**
+     * Returns the ordinal of an equation, or -1 if it is not in the corpus.
+     */
+    public int indexOf(CharSequence equation) {
+        int length = engine.length();
+        if (equation.length() != length) {
+            return -1;
+        }
+        long code = 0;
+        for (int i = 0; i < length; i++) {
+            int tile = FeedbackEngine.tileCode(equation.charAt(i));
+            if (tile < 0) {
+                return -1;
+            }
+            code |= (long) tile << (i << 2);
+        }
+        return indexOf(code);
+    }
+
+    // Checks whether the equation is a known target equation
+    public boolean contains(CharSequence equation) {
+        return indexOf(equation) >= 0;
+    }
+
+    // Returns the packed equations as an array, shared with the caller, which must not modify it
+    long[] codes() {
+        if (codes != null && codes.hasArray() && codes.arrayOffset() == 0 && codes.array().length == size) {
+            return codes.array();
+        }
+        long[] copy = new long[size];
+        if (codes != null) {
+            codes.get(0, copy);
+        } else {
+            for (int i = 0; i < size; i++) {
+                copy[i] = Integer.toUnsignedLong(narrowCodes.get(i));
+            }
+        }
+        return copy;
+    }
+
+    // Returns a read-only list view that decodes equations on access
+    public List<String> asList() {
+        return new EquationList();
+    }
+
+    // Returns the lookup table, building it on first use; concurrent first lookups may both build the same table
+    private int[] index() {
+        int[] table = index;
+        if (table == null) {
+            table = new int[Integer.highestOneBit(Math.max(2, size * 2 - 1)) << 1];
+            for (int ordinal = 0; ordinal < size; ordinal++) {
+                int slot = slotOf(table, code(ordinal));
+                if (table[slot] == 0) {
+                    table[slot] = ordinal + 1; // duplicates keep the first ordinal
+                }
+            }
+            index = table;
+        }
+        return table;
+    }
+
+    // Finds the slot of a code, which holds either that code or is empty
+    private int slotOf(int[] table, long code) {
+        int mask = table.length - 1;
+        long hash = code * 0x9E3779B97F4A7C15L;
+        int slot = (int) (hash ^ (hash >>> 32)) & mask;
+        while (table[slot] != 0 && code(table[slot] - 1) != code) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private final class EquationList extends AbstractList<String> implements RandomAccess {
+        @Override
+        public String get(int ordinal) {
+            return EquationCorpus.this.get(ordinal);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            return o instanceof CharSequence equation ? EquationCorpus.this.indexOf(equation) : -1;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return indexOf(o) >= 0;
+        }
+    }
+}
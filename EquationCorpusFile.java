@@ -0,0 +1,218 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * The binary format of an {@link EquationCorpus}, read through a memory-mapped file.
+ * <p>
+ * After a 32 byte header come the equations as records of packed tiles (4 bits per tile, see
+ * {@link FeedbackEngine#encode}): 4 byte records for up to {@link #NARROW_MAX_TILES} tiles, half the size of the
+ * text list, and 8 byte records for longer equations. They are optionally followed, from the next 8 byte boundary,
+ * by the symbol multiset of each equation (see {@link FeedbackEngine#symbolCounts}). Everything is little-endian and
+ * the records are read straight from the mapping, so opening a corpus costs a checksum pass over the file rather
+ * than parsing and encoding every line.
+ * <p>
+ * Usage: {@code java EquationCorpusFile encode [equations.txt] [equations.bin] [--counts]}
+ * or {@code java EquationCorpusFile decode [equations.bin] [equations.txt]}
+ */
+public final class EquationCorpusFile {
+    // header layout: magic, version, tiles per equation, flags, equation count, reserved, checksum of the records
+    private static final int MAGIC = 0x4345514E; // "NQEC"
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 32;
+
+    // flag of a file that holds the symbol multiset of each equation after the equations
+    private static final int SYMBOL_COUNTS = 1;
+
+    // the longest equations stored in 4 byte records, whose 32 bits hold 8 tiles
+    public static final int NARROW_MAX_TILES = 8;
+
+    // the largest corpus whose records and multisets still fit in a single mapped buffer
+    public static final int MAX_EQUATIONS = (Integer.MAX_VALUE - HEADER_SIZE) / 16;
+
+    private EquationCorpusFile() {
+    }
+
+    /**
+     * Checks whether a file starts with the magic number and version of the binary format. A file of an older version
+     * is not read, its text list is parsed instead.
+     */
+    public static boolean isCorpusFile(Path file) throws IOException {
+        if (!Files.isRegularFile(file) || Files.size(file) < HEADER_SIZE) {
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+            channel.read(header, 0);
+            return header.getInt(0) == MAGIC && header.getInt(4) == VERSION;
+        }
+    }
+
+    /**
+     * Maps a corpus file. The equations are read from the mapping on access and never copied onto the heap.
+     *
+     * @throws IOException if the file is not a corpus file, holds equations of an unsupported length or is damaged
+     */
+    public static EquationCorpus map(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                throw new IOException(file + " is not an equation corpus file");
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+            if (mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION) {
+                throw new IOException(file + " is not an equation corpus file");
+            }
+            int tiles = mapped.getInt(8);
+            if (tiles < TileEngine.MIN_LENGTH || tiles > TileEngine.MAX_LENGTH) {
+                throw new IOException(file + " holds equations of " + tiles + " tiles");
+            }
+            int flags = mapped.getInt(12);
+            int count = mapped.getInt(16);
+            int recordSize = recordSize(tiles);
+            if (count < 0 || channel.size() != fileSize(count, recordSize, flags)) {
+                throw new IOException(file + " is truncated");
+            }
+            if (mapped.getLong(24) != checksum(mapped, count * recordSize)) {
+                throw new IOException(file + " does not match its checksum");
+            }
+            LongBuffer symbolCounts = (flags & SYMBOL_COUNTS) != 0
+                    ? section(mapped, symbolCountsOffset(count, recordSize), count) : null;
+            if (recordSize == 4) {
+                // the 4 byte records are widened to longs on read
+                IntBuffer codes = mapped.slice(HEADER_SIZE, 4 * count).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+                return new EquationCorpus(TileEngine.of(tiles), codes, symbolCounts);
+            }
+            return new EquationCorpus(TileEngine.of(tiles), section(mapped, HEADER_SIZE, count), symbolCounts);
+        }
+    }
+
+    /**
+     * Writes a corpus file, with the symbol multiset of each equation if symbolCounts is set.
+     *
+     * @requires corpus.size() <= MAX_EQUATIONS
+     */
+    public static void write(EquationCorpus corpus, Path file, boolean symbolCounts) throws IOException {
+        int count = corpus.size();
+        if (count > MAX_EQUATIONS) {
+            throw new IllegalArgumentException("Too many equations for a corpus file: " + count);
+        }
+        int flags = symbolCounts ? SYMBOL_COUNTS : 0;
+        int recordSize = recordSize(corpus.length());
+        int countsOffset = symbolCountsOffset(count, recordSize);
+
+        // write into a temporary file first so a half-written corpus is never picked up
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize(count, recordSize, flags));
+            mapped.order(ByteOrder.LITTLE_ENDIAN);
+            for (int i = 0; i < count; i++) {
+                long code = corpus.code(i);
+                if (recordSize == 4) {
+                    mapped.putInt(HEADER_SIZE + 4 * i, (int) code);
+                } else {
+                    mapped.putLong(HEADER_SIZE + 8 * i, code);
+                }
+                if (symbolCounts) {
+                    mapped.putLong(countsOffset + 8 * i, corpus.engine().symbolCounts(code));
+                }
+            }
+            mapped.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, corpus.length()).putInt(12, flags)
+                    .putInt(16, count).putInt(20, 0).putLong(24, checksum(mapped, count * recordSize));
+            mapped.force();
+        }
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Writes a corpus as text, one equation per line, the format read by {@link EquationCorpus#load}.
+     */
+    public static void writeText(EquationCorpus corpus, Path file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < corpus.size(); i++) {
+                writer.write(corpus.get(i));
+                writer.newLine();
+            }
+        }
+    }
+
+    // Returns a long view of count records starting at the byte offset
+    private static LongBuffer section(ByteBuffer mapped, int offset, int count) {
+        return mapped.slice(offset, 8 * count).order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+    }
+
+    // Returns the bytes of one equation record of the given length
+    private static int recordSize(int tiles) {
+        return tiles <= NARROW_MAX_TILES ? 4 : 8;
+    }
+
+    // Returns the offset of the multisets, the end of the records rounded up to 8 bytes
+    private static int symbolCountsOffset(int count, int recordSize) {
+        return (HEADER_SIZE + recordSize * count + 7) & ~7;
+    }
+
+    private static long fileSize(int count, int recordSize, int flags) {
+        return (flags & SYMBOL_COUNTS) != 0 ? symbolCountsOffset(count, recordSize) + 8L * count
+                : HEADER_SIZE + (long) recordSize * count;
+    }
+
+    // CRC32 of the equation records, the multisets are derived from them
+    private static long checksum(ByteBuffer mapped, int recordBytes) {
+        CRC32 crc = new CRC32();
+        crc.update(mapped.slice(HEADER_SIZE, recordBytes));
+        return crc.getValue();
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || !(args[0].equals("encode") || args[0].equals("decode"))) {
+            System.err.println("Usage: java EquationCorpusFile encode [text file] [corpus file] [--counts]");
+            System.err.println("       java EquationCorpusFile decode [corpus file] [text file]");
+            System.exit(2);
+        }
+        boolean encode = args[0].equals("encode");
+        List<String> files = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                files.add(args[i]);
+            }
+        }
+        String source = files.size() > 0 ? files.get(0) : encode ? EquationCorpus.DEFAULT_FILE : EquationCorpus.DEFAULT_BINARY_FILE;
+        String destination = files.size() > 1 ? files.get(1) : encode ? EquationCorpus.DEFAULT_BINARY_FILE : EquationCorpus.DEFAULT_FILE;
+        Path textFile = Paths.get(encode ? source : destination);
+        Path corpusFile = Paths.get(encode ? destination : source);
+
+        long start = System.nanoTime();
+        if (encode) {
+            EquationCorpus corpus = EquationCorpus.load(textFile);
+            long parsed = System.nanoTime();
+            write(corpus, corpusFile, List.of(args).contains("--counts"));
+            long written = System.nanoTime();
+            EquationCorpus mapped = map(corpusFile);
+            System.out.printf("Parsed %d equations in %.1f ms, wrote %s in %.1f ms, mapped it in %.1f ms%n", corpus.size(),
+                    (parsed - start) / 1e6, corpusFile, (written - parsed) / 1e6, (System.nanoTime() - written) / 1e6);
+            if (mapped.size() != corpus.size()) {
+                System.err.println("⚠️ " + corpusFile + " does not hold every equation.");
+                System.exit(1);
+            }
+        } else {
+            EquationCorpus corpus = map(corpusFile);
+            writeText(corpus, textFile);
+            System.out.printf("Wrote %d equations to %s in %.1f ms%n", corpus.size(), textFile, (System.nanoTime() - start) / 1e6);
+        }
+    }
+}
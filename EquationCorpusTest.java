@@ -0,0 +1,79 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EquationCorpusTest {
+
+    /**
+     * testLookups() Scenario:
+     * Load equations.txt and check every equation is found at its own line, in string and packed form.
+     */
+    @Test
+    public void testLookups() throws IOException {
+        List<String> lines = Files.readAllLines(Paths.get("equations.txt"));
+        EquationCorpus corpus = EquationCorpus.load(Paths.get("equations.txt"));
+        assertEquals(lines.size(), corpus.size());
+        for (int i = 0; i < lines.size(); i++) {
+            assertEquals(lines.get(i), corpus.get(i));
+            assertEquals(i, corpus.indexOf(lines.get(i)));
+            assertEquals(i, corpus.indexOf(FeedbackEngine.encode(lines.get(i))));
+        }
+        assertEquals(lines, corpus.asList());
+        assertFalse(corpus.contains("1+1=3+0"));
+        assertFalse(corpus.contains("1+1=2"));
+        assertFalse(corpus.contains("1+1=2ab"));
+    }
+
+    /**
+     * testDuplicatesAndEmpty() Scenario:
+     * A duplicated equation keeps its first ordinal, and the empty corpus finds nothing.
+     */
+    @Test
+    public void testDuplicatesAndEmpty() {
+        EquationCorpus corpus = EquationCorpus.of(List.of("1+1=2+0", "2+3*2=8", "1+1=2+0"));
+        assertEquals(3, corpus.size());
+        assertEquals(0, corpus.indexOf("1+1=2+0"));
+        assertEquals(1, corpus.indexOf("2+3*2=8"));
+        assertTrue(EquationCorpus.EMPTY.isEmpty());
+        assertEquals(-1, EquationCorpus.EMPTY.indexOf("2+3*2=8"));
+    }
+
+    /**
+     * testBinaryRoundTrip() Scenario:
+     * Write equations.txt in the binary format with symbol counts, map it back and check every equation and multiset,
+     * check the file without counts holds 4 byte records, then damage one record and check the checksum rejects the file.
+     */
+    @Test
+    public void testBinaryRoundTrip(@TempDir Path dir) throws IOException {
+        EquationCorpus corpus = EquationCorpus.load(Paths.get("equations.txt"));
+        Path file = dir.resolve("equations.bin");
+        EquationCorpusFile.write(corpus, file, true);
+
+        EquationCorpus mapped = EquationCorpus.load(file);
+        assertEquals(corpus.asList(), mapped.asList());
+        Path records = dir.resolve("records.bin");
+        EquationCorpusFile.write(corpus, records, false);
+        assertEquals(32 + 4L * corpus.size(), Files.size(records), "Equations of 7 tiles should take 4 bytes each.");
+        assertEquals(corpus.asList(), EquationCorpusFile.map(records).asList());
+        for (int i = 0; i < corpus.size(); i++) {
+            assertEquals(i, mapped.indexOf(corpus.code(i)));
+            assertEquals(FeedbackEngine.symbolCounts(corpus.code(i)), mapped.symbolCounts(i));
+        }
+
+        Path text = dir.resolve("equations.txt");
+        EquationCorpusFile.writeText(mapped, text);
+        assertEquals(Files.readAllLines(Paths.get("equations.txt")), Files.readAllLines(text));
+
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[40] ^= 1;
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> EquationCorpusFile.map(file));
+    }
+}
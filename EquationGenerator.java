@@ -0,0 +1,301 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Serial;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Enumerates every equation of a given number of tiles, {@link FeedbackEngine#LENGTH} by default, accepted by
+ * {@code NumberleModel.isValidEquation} with input validation switched on.
+ * <p>
+ * An accepted equation reads {@code L=R}, optionally followed by extra '=' tiles (which {@code String.split} drops),
+ * where both sides start and end with a digit, no two operators are adjacent, at least one operator appears, and
+ * both sides evaluate to the same value according to {@link RationalEvaluator}.
+ * <p>
+ * Candidates are built tile by tile so invalid prefixes are pruned before they are extended. The search space is
+ * split on the first tiles into fork-join tasks, and results are streamed back in lexicographic tile order with
+ * only a bounded window of tasks in flight, so the full list is never held in memory.
+ * <p>
+ * Usage: {@code java EquationGenerator [output file] [--length n]}
+ */
+public final class EquationGenerator {
+    // tile codes of the symbols, see FeedbackEngine.ALPHABET
+    private static final int PLUS = 10;
+    private static final int EQUALS = 14;
+
+    // the evaluator shared with NumberleModel.isValidEquation
+    private static final IEquationEvaluator EVALUATOR = RationalEvaluator.INSTANCE;
+
+    // the number of leading tiles each streamed chunk is keyed by, and the tile its subtasks split on
+    private static final int CHUNK_PREFIX = 2;
+    private static final int SPLIT_DEPTH = 3;
+
+    private EquationGenerator() {
+    }
+
+    /**
+     * Returns an ordered iterator over the packed codes of every valid equation.
+     */
+    public static PrimitiveIterator.OfLong codes() {
+        return codes(FeedbackEngine.LENGTH);
+    }
+
+    /**
+     * Returns an ordered iterator over the packed codes of every valid equation of the given number of tiles.
+     *
+     * @requires TileEngine.MIN_LENGTH <= tiles && tiles <= TileEngine.MAX_LENGTH
+     */
+    public static PrimitiveIterator.OfLong codes(int tiles) {
+        return new ChunkIterator(ForkJoinPool.commonPool(), TileEngine.of(tiles).length());
+    }
+
+    /**
+     * Returns an ordered, lazily generated stream of every valid equation.
+     */
+    public static Stream<String> equations() {
+        Spliterator.OfLong spliterator = Spliterators.spliteratorUnknownSize(codes(),
+                Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+        return StreamSupport.longStream(spliterator, false).mapToObj(FeedbackEngine::decode);
+    }
+
+    /**
+     * Counts every valid equation without keeping any of them.
+     */
+    public static long count() {
+        return count(FeedbackEngine.LENGTH);
+    }
+
+    // Counts every valid equation of the given number of tiles
+    public static long count(int tiles) {
+        PrimitiveIterator.OfLong codes = codes(tiles);
+        long count = 0;
+        while (codes.hasNext()) {
+            codes.nextLong();
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Writes every valid equation to the writer, one per line, and returns the number written.
+     */
+    public static long writeTo(Writer writer) throws IOException {
+        return writeTo(writer, FeedbackEngine.LENGTH);
+    }
+
+    // Writes every valid equation of the given number of tiles, one per line, and returns the number written
+    public static long writeTo(Writer writer, int tiles) throws IOException {
+        TileEngine engine = TileEngine.of(tiles);
+        PrimitiveIterator.OfLong codes = codes(tiles);
+        long count = 0;
+        while (codes.hasNext()) {
+            writer.write(engine.decode(codes.nextLong()));
+            writer.write('\n');
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    // Consumes chunk tasks in prefix order, keeping at most a window of them running ahead of the reader
+    private static final class ChunkIterator implements PrimitiveIterator.OfLong {
+        private final ForkJoinPool pool;
+        private final int tiles;
+        private final List<Long> prefixes = new ArrayList<>();
+        private final ArrayDeque<ForkJoinTask<long[]>> pending = new ArrayDeque<>();
+        private final int window;
+        private int nextPrefix;
+        private long[] current = new long[0];
+        private int position;
+
+        ChunkIterator(ForkJoinPool pool, int tiles) {
+            this.pool = pool;
+            this.tiles = tiles;
+            this.window = Math.max(2, pool.getParallelism() * 2);
+            collectPrefixes(0, 0, new State(tiles), prefixes);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (position == current.length) {
+                while (pending.size() < window && nextPrefix < prefixes.size()) {
+                    long prefix = prefixes.get(nextPrefix++);
+                    pending.add(pool.submit(new SearchTask(prefix, CHUNK_PREFIX, tiles)));
+                }
+                if (pending.isEmpty()) {
+                    return false;
+                }
+                current = pending.poll().join();
+                position = 0;
+            }
+            return true;
+        }
+
+        @Override
+        public long nextLong() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current[position++];
+        }
+    }
+
+    // Collects every prefix of CHUNK_PREFIX tiles that can still be extended into a valid equation
+    private static void collectPrefixes(long code, int length, State state, List<Long> out) {
+        if (length == CHUNK_PREFIX) {
+            out.add(code);
+            return;
+        }
+        for (int tile = 0; tile <= EQUALS; tile++) {
+            if (state.accepts(tile, length)) {
+                collectPrefixes(code | (long) tile << (length << 2), length + 1, state.next(tile, length), out);
+            }
+        }
+    }
+
+    // Searches every equation that starts with the given prefix, forking one subtask per tile at SPLIT_DEPTH
+    private static final class SearchTask extends RecursiveTask<long[]> {
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        private final long prefix;
+        private final int length;
+        private final int tiles;
+
+        SearchTask(long prefix, int length, int tiles) {
+            this.prefix = prefix;
+            this.length = length;
+            this.tiles = tiles;
+        }
+
+        @Override
+        protected long[] compute() {
+            State state = State.of(prefix, length, tiles);
+            if (length < SPLIT_DEPTH) {
+                List<SearchTask> subtasks = new ArrayList<>();
+                for (int tile = 0; tile <= EQUALS; tile++) {
+                    if (state.accepts(tile, length)) {
+                        subtasks.add(new SearchTask(prefix | (long) tile << (length << 2), length + 1, tiles));
+                    }
+                }
+                invokeAll(subtasks);
+                LongStream.Builder results = LongStream.builder();
+                for (SearchTask subtask : subtasks) {
+                    for (long code : subtask.join()) {
+                        results.add(code);
+                    }
+                }
+                return results.build().toArray();
+            }
+            LongStream.Builder results = LongStream.builder();
+            search(prefix, length, state, results);
+            return results.build().toArray();
+        }
+    }
+
+    // Depth-first search over the remaining tiles, checking the arithmetic once all tiles are placed
+    private static void search(long code, int length, State state, LongStream.Builder results) {
+        if (length == state.tiles()) {
+            if (state.isComplete()) {
+                // trailing equal signs are not part of the right side
+                int end = length;
+                while (FeedbackEngine.tileAt(code, end - 1) == EQUALS) {
+                    end--;
+                }
+                if (EVALUATOR.isBalanced(code, end)) {
+                    results.add(code);
+                }
+            }
+            return;
+        }
+        for (int tile = 0; tile <= EQUALS; tile++) {
+            if (state.accepts(tile, length)) {
+                search(code | (long) tile << (length << 2), length + 1, state.next(tile, length), results);
+            }
+        }
+    }
+
+    // The syntactic state of a prefix, used to prune tiles that can never lead to a valid equation
+    private record State(int tiles, int equalsIndex, boolean trailing, boolean lastIsOperator, boolean hasOperator) {
+        State(int tiles) {
+            this(tiles, -1, false, true, false);
+        }
+
+        static State of(long code, int length, int tiles) {
+            State state = new State(tiles);
+            for (int i = 0; i < length; i++) {
+                state = state.next(FeedbackEngine.tileAt(code, i), i);
+            }
+            return state;
+        }
+
+        boolean accepts(int tile, int position) {
+            int remaining = tiles - position - 1; // tiles left after this one
+            if (trailing) {
+                return tile == EQUALS;
+            }
+            if (tile == EQUALS) {
+                // '=' must follow a digit, and the left side needs a right side of at least one digit
+                return !lastIsOperator && (equalsIndex >= 0 || remaining >= 1);
+            }
+            if (tile >= PLUS) {
+                // an operator must follow a digit and be followed by one
+                return !lastIsOperator && remaining >= 1 && (equalsIndex >= 0 || remaining >= 3);
+            }
+            // a digit; the left side must leave room for '=' and a right side digit
+            return equalsIndex >= 0 || remaining >= 2;
+        }
+
+        State next(int tile, int position) {
+            if (tile == EQUALS) {
+                return equalsIndex >= 0 ? new State(tiles, equalsIndex, true, false, hasOperator)
+                        : new State(tiles, position, false, true, hasOperator);
+            }
+            boolean operator = tile >= PLUS;
+            return new State(tiles, equalsIndex, false, operator, hasOperator || operator);
+        }
+
+        boolean isComplete() {
+            return equalsIndex >= 0 && hasOperator && !lastIsOperator;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        long start = System.nanoTime();
+        String output = null;
+        int tiles = FeedbackEngine.LENGTH;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--length")) {
+                tiles = Integer.parseInt(args[++i]);
+            } else {
+                output = args[i];
+            }
+        }
+        long count;
+        if (output != null) {
+            try (Writer writer = Files.newBufferedWriter(Paths.get(output), StandardCharsets.UTF_8)) {
+                count = writeTo(writer, tiles);
+            }
+        } else {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+            count = writeTo(writer, tiles);
+        }
+        System.err.printf("Generated %d equations in %d ms%n", count, (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,30 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EquationGeneratorTest {
+
+    /**
+     * testCoversEquationList() Scenario:
+     * Generate the full equation space and check every equation in equations.txt is part of it, without duplicates.
+     */
+    @Test
+    public void testCoversEquationList() throws IOException {
+        List<String> generated = EquationGenerator.equations().collect(Collectors.toList());
+        Set<String> unique = new HashSet<>(generated);
+        assertEquals(generated.size(), unique.size(), "Generated equations should be distinct.");
+        assertEquals(generated.size(), EquationGenerator.count(), "Counting should agree with streaming.");
+
+        for (String equation : Files.readAllLines(Paths.get("equations.txt"))) {
+            assertTrue(unique.contains(equation), "Generated equations should contain " + equation);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+import java.util.List;
+
+/**
+ * Single-pass validation of a guessed equation.
+ * <p>
+ * The characters are classified in one traversal, which records everything the validation rules need and packs the
+ * tiles for the evaluator, so no regular expression, split or substring is involved. The result is the index of the
+ * first failed rule into {@link #ERROR_MESSAGES}, checked in the same order as the original regex based validation,
+ * or {@link #VALID}.
+ */
+public final class EquationValidator {
+    // the result of a valid equation
+    public static final int VALID = -1;
+
+    // the error indices, in the order the rules are checked
+    public static final int ILLEGAL_CHARACTER = 0;
+    public static final int TOO_SHORT = 1;
+    public static final int TOO_LONG = 2;
+    public static final int MISSING_EQUALS = 3;
+    public static final int MISSING_OPERATOR = 4;
+    public static final int CONSECUTIVE_OPERATORS = 5;
+    public static final int NOT_BALANCED = 6;
+
+    // the message of each error index
+    public static final List<String> ERROR_MESSAGES = List.of(
+            "⚠️ The equation contains illegal characters.",
+            "⚠️ The equation is too short; it must be at least 7 characters long.",
+            "⚠️ The equation is too long; it must not exceed 7 characters.",
+            "⚠️ The equation must contain an equal sign.",
+            "⚠️ The equation lacks an operator.",
+            "⚠️ Operators in the equation appear consecutively.",
+            "⚠️ The calculated results on both sides of the equality do not match."
+    );
+
+    // tile codes of the symbols, see FeedbackEngine.ALPHABET
+    private static final int PLUS = 10;
+    private static final int EQUALS = 14;
+
+    private EquationValidator() {
+    }
+
+    /**
+     * Returns the message of an error index for equations of the given number of tiles.
+     *
+     * @requires 0 <= error && error < ERROR_MESSAGES.size()
+     */
+    public static String message(int error, int length) {
+        String message = ERROR_MESSAGES.get(error);
+        if ((error == TOO_SHORT || error == TOO_LONG) && length != FeedbackEngine.LENGTH) {
+            return message.replace(FeedbackEngine.LENGTH + " characters", length + " characters");
+        }
+        return message;
+    }
+
+    /**
+     * Validates an equation of {@link FeedbackEngine#LENGTH} tiles.
+     *
+     * @requires equation != null && evaluator != null
+     * @ensures \result == VALID || (ILLEGAL_CHARACTER <= \result && \result <= NOT_BALANCED)
+     * @ensures !checkArithmetic ==> \result != NOT_BALANCED
+     */
+    public static int validate(CharSequence equation, boolean checkArithmetic, IEquationEvaluator evaluator) {
+        return validate(equation, FeedbackEngine.LENGTH, checkArithmetic, evaluator);
+    }
+
+    /**
+     * Validates an equation that must have exactly {@code tiles} tiles.
+     *
+     * @requires equation != null && evaluator != null && tiles <= RationalEvaluator.MAX_TILES
+     */
+    public static int validate(CharSequence equation, int tiles, boolean checkArithmetic, IEquationEvaluator evaluator) {
+        int length = equation.length();
+        boolean illegal = false;
+        boolean hasEquals = false;
+        boolean hasOperator = false;    // an operator that is followed by another character
+        boolean consecutive = false;
+        boolean lastIsOperator = false;
+        int end = 0;                    // the length without trailing equal signs
+        long code = 0;
+
+        for (int i = 0; i < length; i++) {
+            int tile = FeedbackEngine.tileCode(equation.charAt(i));
+            if (tile < 0) {
+                illegal = true;
+                break; // an illegal character outranks every other rule
+            }
+            boolean operator = tile >= PLUS && tile < EQUALS;
+            hasEquals |= tile == EQUALS;
+            hasOperator |= operator && i < length - 1;
+            consecutive |= operator && lastIsOperator;
+            lastIsOperator = operator;
+            if (tile != EQUALS) {
+                end = i + 1;
+            }
+            if (i < tiles) {
+                code |= (long) tile << (i << 2);
+            }
+        }
+
+        if (illegal) {
+            return ILLEGAL_CHARACTER;
+        } else if (length < tiles) {
+            return TOO_SHORT;
+        } else if (length > tiles) {
+            return TOO_LONG;
+        } else if (!hasEquals) {
+            return MISSING_EQUALS;
+        } else if (!hasOperator) {
+            return MISSING_OPERATOR;
+        } else if (consecutive) {
+            return CONSECUTIVE_OPERATORS;
+        } else if (checkArithmetic && !evaluator.isBalanced(code, end)) {
+            return NOT_BALANCED;
+        }
+        return VALID;
+    }
+}
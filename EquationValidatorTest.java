@@ -0,0 +1,66 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EquationValidatorTest {
+
+    // the patterns of the original regex based validation, used as the reference
+    private static final Pattern VALID_CHARS_PATTERN = Pattern.compile("^[0-9\\+\\-\\*/=]*$");
+    private static final Pattern EQUAL_SIGN_PATTERN = Pattern.compile("=");
+    private static final Pattern ARITHMETIC_OPERATORS_PATTERN = Pattern.compile(".*[\\+\\-\\*/].");
+    private static final Pattern OPERATOR_SEQUENCE_PATTERN = Pattern.compile("[\\+\\-\\*/]{2,}");
+
+    /**
+     * testMatchesRegexValidation() Scenario:
+     * Validate random inputs of different lengths, with and without illegal characters, and check the error index
+     * matches the original regex based rules in every case.
+     */
+    @Test
+    public void testMatchesRegexValidation() {
+        Random random = new Random(7);
+        String symbols = "0123456789+-*/=0123456789+-*/==x ";
+        for (int n = 0; n < 300_000; n++) {
+            char[] chars = new char[random.nextInt(10)];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = symbols.charAt(random.nextInt(random.nextInt(8) == 0 ? symbols.length() : symbols.length() - 2));
+            }
+            String equation = new String(chars);
+            for (boolean checkArithmetic : new boolean[]{true, false}) {
+                assertEquals(referenceValidate(equation, checkArithmetic),
+                        EquationValidator.validate(equation, checkArithmetic, RationalEvaluator.INSTANCE),
+                        "Error index should match the regex rules for: " + equation);
+            }
+        }
+    }
+
+    /**
+     * testValidEquation() Scenario:
+     * Check a valid equation passes, and an unbalanced one only fails when the arithmetic is checked.
+     */
+    @Test
+    public void testValidEquation() {
+        assertEquals(EquationValidator.VALID, EquationValidator.validate("2+3*2=8", true, RationalEvaluator.INSTANCE));
+        assertEquals(EquationValidator.NOT_BALANCED, EquationValidator.validate("1+2=3+4", true, RationalEvaluator.INSTANCE));
+        assertEquals(EquationValidator.VALID, EquationValidator.validate("1+2=3+4", false, RationalEvaluator.INSTANCE));
+    }
+
+    // The original validation steps, returning the first failed error index or -1
+    private static int referenceValidate(String equation, boolean checkArithmetic) {
+        if (!VALID_CHARS_PATTERN.matcher(equation).matches()) return 0;
+        if (equation.length() < 7) return 1;
+        if (equation.length() > 7) return 2;
+        if (!EQUAL_SIGN_PATTERN.matcher(equation).find()) return 3;
+        if (!ARITHMETIC_OPERATORS_PATTERN.matcher(equation).find()) return 4;
+        if (OPERATOR_SEQUENCE_PATTERN.matcher(equation).find()) return 5;
+        if (checkArithmetic) {
+            String[] parts = equation.split("=");
+            if (parts.length != 2 || parts[0].isEmpty() || parts[1].isEmpty()) return 6;
+            String trimmed = parts[0] + "=" + parts[1];
+            if (!RationalEvaluator.INSTANCE.isBalanced(trimmed, trimmed.length())) return 6;
+        }
+        return -1;
+    }
+}
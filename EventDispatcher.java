@@ -0,0 +1,74 @@
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+
+/**
+ * Delivers the events of a model to its listeners.
+ * <p>
+ * The dispatcher decides on which thread and when listeners run: {@link #synchronous()} calls them before the model
+ * method returns, {@link #batched(Executor)} hands bursts of events to an executor such as the Swing event thread,
+ * and {@link #ringBuffer(int)} passes them through a lock-free queue to a consumer thread of its own.
+ * Publishing to a dispatcher without listeners does nothing, and models skip building the event altogether.
+ */
+public abstract class EventDispatcher implements AutoCloseable {
+    private final List<NumberleListener> listeners = new CopyOnWriteArrayList<>();
+
+    public void addListener(NumberleListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(NumberleListener listener) {
+        listeners.remove(listener);
+    }
+
+    // Checks whether any listener is attached, so callers can skip building events nobody receives
+    public boolean hasListeners() {
+        return !listeners.isEmpty();
+    }
+
+    /**
+     * Publishes an event; listeners receive events in the order they were published.
+     *
+     * @requires event != null
+     */
+    public final void publish(NumberleEvent event) {
+        if (!listeners.isEmpty()) {
+            dispatch(event);
+        }
+    }
+
+    // Hands an event over for delivery
+    protected abstract void dispatch(NumberleEvent event);
+
+    // Delivers an event to every listener in the order they were added
+    protected final void deliver(NumberleEvent event) {
+        for (NumberleListener listener : listeners) {
+            listener.onEvent(event);
+        }
+    }
+
+    // Stops delivering events, events published afterwards may be dropped
+    @Override
+    public void close() {
+    }
+
+    // Returns a dispatcher that calls the listeners on the publishing thread
+    public static EventDispatcher synchronous() {
+        return new EventDispatcher() {
+            @Override
+            protected void dispatch(NumberleEvent event) {
+                deliver(event);
+            }
+        };
+    }
+
+    // Returns a dispatcher that queues events and delivers each burst in one task on the executor
+    public static EventDispatcher batched(Executor executor) {
+        return new BatchingDispatcher(executor);
+    }
+
+    // Returns a dispatcher that delivers events on its own thread through a ring buffer of the given capacity
+    public static EventDispatcher ringBuffer(int capacity) {
+        return new RingBufferDispatcher(capacity);
+    }
+}
@@ -0,0 +1,171 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventDispatcherTest {
+
+    /**
+     * testOneEventPerGuess() Scenario:
+     * Play an invalid guess, a valid guess and the winning guess, and check the model publishes exactly one event for
+     * each, carrying the feedback, the keyboard and the game status.
+     */
+    @Test
+    public void testOneEventPerGuess() {
+        List<NumberleEvent> events = new ArrayList<>();
+        INumberleModel model = new NumberleModel();
+        model.addListener(events::add);
+        model.initialize(model, 1, 1, 0);
+        NumberleEvent.GameStarted started = assertInstanceOf(NumberleEvent.GameStarted.class, events.get(0));
+        assertEquals("2+3*2=8", started.targetEquation(), "The event should carry the target for listeners on other threads.");
+
+        model.processInput("1+1=3+0");
+        NumberleEvent.GuessRejected rejected = assertInstanceOf(NumberleEvent.GuessRejected.class, events.get(1));
+        assertEquals(List.of(EquationValidator.NOT_BALANCED), rejected.errorIndices());
+
+        model.processInput("1+5=2+4");
+        NumberleEvent.GuessEvaluated guess = assertInstanceOf(NumberleEvent.GuessEvaluated.class, events.get(2));
+        assertEquals(model.getFeedback(), guess.feedback());
+        assertEquals(0, guess.attempt());
+        assertFalse(guess.gameOver());
+        assertEquals(NumberleEvent.keyBit('+') | NumberleEvent.keyBit('2'), guess.correctPositions());
+        assertEquals(NumberleEvent.keyBit('='), guess.wrongPositions());
+        assertEquals(NumberleEvent.keyBit('1') | NumberleEvent.keyBit('4') | NumberleEvent.keyBit('5'), guess.notInEquation());
+        assertEquals(guess.correctPositions() | guess.wrongPositions() | guess.notInEquation(), guess.newlyUsed());
+
+        model.processInput("2+3*2=8");
+        guess = assertInstanceOf(NumberleEvent.GuessEvaluated.class, events.get(3));
+        assertTrue(guess.gameWon() && guess.gameOver());
+        assertEquals(1, guess.attempt());
+        assertEquals(4, events.size());
+    }
+
+    /**
+     * testAsyncDispatchersKeepOrder() Scenario:
+     * Publish events from several threads through the batched and the ring buffer dispatchers and check every event
+     * arrives, and the events of each thread arrive in the order they were published.
+     */
+    @Test
+    public void testAsyncDispatchersKeepOrder() throws InterruptedException {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try (EventDispatcher batched = EventDispatcher.batched(executor); EventDispatcher ring = EventDispatcher.ringBuffer(8)) {
+            for (EventDispatcher dispatcher : List.of(batched, ring)) {
+                int threads = 4, perThread = 2_000;
+                List<NumberleEvent> received = Collections.synchronizedList(new ArrayList<>());
+                CountDownLatch done = new CountDownLatch(threads * perThread);
+                dispatcher.addListener(event -> {
+                    received.add(event);
+                    done.countDown();
+                });
+
+                List<Thread> publishers = new ArrayList<>();
+                for (int t = 0; t < threads; t++) {
+                    int thread = t;
+                    publishers.add(new Thread(() -> {
+                        for (int i = 0; i < perThread; i++) {
+                            dispatcher.publish(new NumberleEvent.GuessRejected("t" + thread, List.of(i)));
+                        }
+                    }));
+                }
+                publishers.forEach(Thread::start);
+                assertTrue(done.await(10, TimeUnit.SECONDS), "Every event should be delivered.");
+
+                int[] last = {-1, -1, -1, -1};
+                for (NumberleEvent event : received) {
+                    NumberleEvent.GuessRejected rejected = (NumberleEvent.GuessRejected) event;
+                    int thread = rejected.input().charAt(1) - '0';
+                    int i = rejected.errorIndices().get(0);
+                    assertEquals(last[thread] + 1, i, "Events of a thread should keep their order.");
+                    last[thread] = i;
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * testRingCloseWhileFull() Scenario:
+     * Hold the consumer of a ring of 2 slots in its listener while a publisher fills the ring and waits, close the
+     * ring, and check the events claimed before close arrive once each and in order, and a later event is dropped.
+     */
+    @Test
+    public void testRingCloseWhileFull() throws InterruptedException {
+        EventDispatcher ring = EventDispatcher.ringBuffer(2);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch gate = new CountDownLatch(1);
+        List<Integer> received = Collections.synchronizedList(new ArrayList<>());
+        ring.addListener(event -> {
+            entered.countDown();
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            received.add(((NumberleEvent.GuessRejected) event).errorIndices().get(0));
+        });
+
+        Thread publisher = new Thread(() -> {
+            for (int i = 0; i < 6; i++) {
+                ring.publish(new NumberleEvent.GuessRejected("1+1=3+0", List.of(i)));
+            }
+        });
+        publisher.start();
+        assertTrue(entered.await(10, TimeUnit.SECONDS));
+        Thread.sleep(50); // the publisher fills the ring and waits for a slot
+        Thread closer = new Thread(ring::close);
+        closer.start();
+        Thread.sleep(50);
+        gate.countDown();
+        closer.join(10_000);
+        publisher.join(10_000);
+        assertFalse(publisher.isAlive(), "The publisher should not wait forever on a closed ring.");
+
+        // the consumer took event 0 and two more fill the ring, so the publisher was waiting to claim event 3
+        int delivered = received.size();
+        assertTrue(delivered >= 4, "The events claimed before close should be delivered: " + received);
+        for (int i = 0; i < delivered; i++) {
+            assertEquals(i, received.get(i), "Events should be delivered once each and in order: " + received);
+        }
+        ring.publish(new NumberleEvent.GuessRejected("1+1=3+0", List.of(6)));
+        Thread.sleep(50);
+        assertEquals(delivered, received.size(), "An event published after close should be dropped.");
+    }
+
+    /**
+     * testControllerProcessesInBackground() Scenario:
+     * Submit guesses through a controller backed by a single background thread and check the model runs on that
+     * thread, the futures report the validity, and the outcome of each guess reaches the listener as one event.
+     */
+    @Test
+    public void testControllerProcessesInBackground() throws Exception {
+        ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "numberle-model"));
+        try {
+            List<String> threads = Collections.synchronizedList(new ArrayList<>());
+            List<NumberleEvent> events = Collections.synchronizedList(new ArrayList<>());
+            INumberleModel model = new NumberleModel();
+            model.addListener(event -> {
+                threads.add(Thread.currentThread().getName());
+                events.add(event);
+            });
+            NumberleController controller = new NumberleController(model, worker);
+            controller.initializeGame(true, true, false);
+
+            assertFalse(controller.submitInput("1+1=3+0").get(10, TimeUnit.SECONDS));
+            assertTrue(controller.submitInput("1+5=2+4").get(10, TimeUnit.SECONDS));
+            assertEquals(3, events.size());
+            assertInstanceOf(NumberleEvent.GuessRejected.class, events.get(1));
+            assertEquals("XGXOGXX", assertInstanceOf(NumberleEvent.GuessEvaluated.class, events.get(2)).feedback());
+            assertEquals(List.of("numberle-model", "numberle-model", "numberle-model"), threads);
+        } finally {
+            worker.shutdown();
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/**
+ * Allocation-free feedback scoring for Numberle equations.
+ * <p>
+ * Equations are encoded into a {@code long} with 4 bits per tile (tile i occupies bits 4i..4i+3),
+ * and the G/O/X feedback of a guess is packed into a base-3 {@code int}, where the digit of tile i
+ * has weight 3^i and takes one of {@link #GREY}, {@link #ORANGE} or {@link #GREEN}.
+ * The scoring rules are the same as the original string based evaluation: green tiles are matched first,
+ * then the remaining tiles are marked orange from left to right while unmatched copies of the symbol are left.
+ */
+public final class FeedbackEngine {
+    // the number of tiles in an equation
+    public static final int LENGTH = 7;
+
+    // the tile alphabet, the index of a symbol is its 4-bit tile code
+    public static final String ALPHABET = "0123456789+-*/=";
+
+    // the base-3 digit of each tile state
+    public static final int GREY = 0;
+    public static final int ORANGE = 1;
+    public static final int GREEN = 2;
+
+    // powers of three used as the weight of each tile, up to the longest engine
+    private static final int[] POW3 = new int[TileEngine.MAX_LENGTH + 1];
+
+    // the pattern where every tile is green
+    public static final int ALL_GREEN;
+
+    // the number of distinct patterns, every pattern is in [0, PATTERN_COUNT)
+    public static final int PATTERN_COUNT;
+
+    // maps an ASCII character to its tile code, -1 for characters outside the alphabet
+    private static final byte[] TILE_CODES = new byte[128];
+
+    static {
+        POW3[0] = 1;
+        for (int i = 1; i < POW3.length; i++) {
+            POW3[i] = POW3[i - 1] * 3;
+        }
+        PATTERN_COUNT = POW3[LENGTH];
+        ALL_GREEN = PATTERN_COUNT - 1;
+
+        java.util.Arrays.fill(TILE_CODES, (byte) -1);
+        for (int i = 0; i < ALPHABET.length(); i++) {
+            TILE_CODES[ALPHABET.charAt(i)] = (byte) i;
+        }
+    }
+
+    private FeedbackEngine() {
+    }
+
+    /**
+     * Returns the tile code of a character.
+     *
+     * @ensures \result == ALPHABET.indexOf(c)
+     */
+    public static int tileCode(char c) {
+        return c < 128 ? TILE_CODES[c] : -1;
+    }
+
+    /**
+     * Encodes an equation into its packed tile representation.
+     *
+     * @requires equation != null && equation.length() == LENGTH
+     * @ensures decode(\result).equals(equation.toString())
+     */
+    public static long encode(CharSequence equation) {
+        if (equation.length() != LENGTH) {
+            throw new IllegalArgumentException("Equation must be " + LENGTH + " characters long: " + equation);
+        }
+        long code = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            int tile = tileCode(equation.charAt(i));
+            if (tile < 0) {
+                throw new IllegalArgumentException("Illegal character in equation: " + equation);
+            }
+            code |= (long) tile << (i << 2);
+        }
+        return code;
+    }
+
+    /**
+     * Decodes a packed equation back into its string form.
+     */
+    public static String decode(long code) {
+        char[] chars = new char[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            chars[i] = ALPHABET.charAt(tileAt(code, i));
+        }
+        return new String(chars);
+    }
+
+    // Returns the tile code at the given position of a packed equation
+    public static int tileAt(long code, int index) {
+        return (int) (code >>> (index << 2)) & 0xF;
+    }
+
+    /**
+     * Returns the symbol multiset of a packed equation: the number of tiles with each tile code, 4 bits per code.
+     *
+     * @ensures (\result >>> (4 * c)) & 0xF == number of tiles i with tileAt(code, i) == c
+     */
+    public static long symbolCounts(long code) {
+        long counts = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            counts += 1L << (tileAt(code, i) << 2);
+        }
+        return counts;
+    }
+
+    /**
+     * Scores a packed guess against a packed target without allocating.
+     * <p>
+     * The unmatched symbols of the target are counted into a single {@code long}, 4 bits per tile code,
+     * so the orange pass is a lookup rather than a scan of the target.
+     *
+     * @ensures 0 <= \result && \result < PATTERN_COUNT
+     */
+    public static int score(long guess, long target) {
+        int pattern = 0;
+        int greens = 0;
+        long counts = 0;
+
+        // first check for correct positions, counting the unmatched target symbols
+        for (int i = 0; i < LENGTH; i++) {
+            int shift = i << 2;
+            int g = (int) (guess >>> shift) & 0xF;
+            int t = (int) (target >>> shift) & 0xF;
+            if (g == t) {
+                pattern += GREEN * POW3[i];
+                greens |= 1 << i;
+            } else {
+                counts += 1L << (t << 2);
+            }
+        }
+
+        // then check for wrong positions from left to right
+        for (int i = 0; i < LENGTH; i++) {
+            if ((greens & (1 << i)) != 0) continue;
+            int countShift = ((int) (guess >>> (i << 2)) & 0xF) << 2;
+            if (((counts >>> countShift) & 0xF) != 0) {
+                pattern += ORANGE * POW3[i];
+                counts -= 1L << countShift;
+            }
+        }
+        return pattern;
+    }
+
+    // Returns 3^n, the number of patterns of n tiles
+    static int pow3(int n) {
+        return POW3[n];
+    }
+
+    // Returns the state (GREY, ORANGE or GREEN) of a tile in a packed pattern of any length
+    public static int stateAt(int pattern, int index) {
+        return pattern / POW3[index] % 3;
+    }
+
+    /**
+     * Converts a packed pattern into the G/O/X feedback string.
+     *
+     * @requires 0 <= pattern && pattern < PATTERN_COUNT
+     * @ensures \result.length() == LENGTH
+     */
+    public static String toString(int pattern) {
+        char[] chars = new char[LENGTH];
+        for (int i = 0; i < LENGTH; i++) {
+            chars[i] = switch (pattern % 3) {
+                case GREEN -> 'G';
+                case ORANGE -> 'O';
+                default -> 'X';
+            };
+            pattern /= 3;
+        }
+        return new String(chars);
+    }
+
+    // The original string based evaluation, kept as the reference the packed engine is checked against
+    static String referenceFeedback(String input, String targetEquation) {
+        StringBuilder feedback = new StringBuilder(" ".repeat(input.length()));
+        char[] inputChars = input.toCharArray();
+        char[] targetChars = targetEquation.toCharArray();
+
+        // first check for correct positions
+        for (int i = 0; i < inputChars.length; i++) {
+            if (inputChars[i] == targetChars[i]) {
+                feedback.setCharAt(i, 'G');
+                targetChars[i] = ' ';
+            }
+        }
+
+        // then check for wrong positions
+        for (int i = 0; i < inputChars.length; i++) {
+            if (feedback.charAt(i) == 'G') continue;
+            for (int j = 0; j < targetChars.length; j++) {
+                if (inputChars[i] == targetChars[j] && targetChars[j] != ' ') {
+                    feedback.setCharAt(i, 'O');
+                    targetChars[j] = ' ';
+                    break;
+                }
+            }
+        }
+
+        // finally, mark the remaining characters as not in the equation
+        for (int i = 0; i < feedback.length(); i++) {
+            if (feedback.charAt(i) != 'G' && feedback.charAt(i) != 'O') {
+                feedback.setCharAt(i, 'X');
+            }
+        }
+        return feedback.toString();
+    }
+}
@@ -0,0 +1,55 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeedbackEngineTest {
+
+    /**
+     * testMatchesReference() Scenario:
+     * Score every pair of equations in equations.txt and check the packed pattern matches the string based feedback.
+     */
+    @Test
+    public void testMatchesReference() throws IOException {
+        List<String> equations = Files.readAllLines(Paths.get("equations.txt"));
+        for (String guess : equations) {
+            long guessCode = FeedbackEngine.encode(guess);
+            for (String target : equations) {
+                int pattern = FeedbackEngine.score(guessCode, FeedbackEngine.encode(target));
+                assertEquals(FeedbackEngine.referenceFeedback(guess, target), FeedbackEngine.toString(pattern),
+                        "Feedback should match the reference for guess " + guess + " and target " + target);
+            }
+        }
+    }
+
+    /**
+     * testRepeatedSymbols() Scenario:
+     * Check that repeated symbols are only marked orange as many times as they remain unmatched in the target.
+     */
+    @Test
+    public void testRepeatedSymbols() {
+        assertEquals(FeedbackEngine.ALL_GREEN, score("2+3*2=8", "2+3*2=8"), "A correct guess should be all green.");
+        assertEquals("OGXGXXX", FeedbackEngine.toString(score("1+1=2+0", "4+3=1*4")), "Only the first unmatched 1 should be orange.");
+        assertEquals("GXXXGGG", FeedbackEngine.toString(score("1111=11", "12+3=11")), "Matched 1s should not be reused as orange.");
+    }
+
+    /**
+     * testEncodeRoundTrip() Scenario:
+     * Check that encoding and decoding an equation gives back the same string, and illegal input is rejected.
+     */
+    @Test
+    public void testEncodeRoundTrip() {
+        assertEquals("9/3+2=5", FeedbackEngine.decode(FeedbackEngine.encode("9/3+2=5")));
+        assertThrows(IllegalArgumentException.class, () -> FeedbackEngine.encode("1+2=3%4"));
+        assertThrows(IllegalArgumentException.class, () -> FeedbackEngine.encode("1+2=3"));
+    }
+
+    // Helper method to score two equations in string form
+    private static int score(String guess, String target) {
+        return FeedbackEngine.score(FeedbackEngine.encode(guess), FeedbackEngine.encode(target));
+    }
+}
@@ -0,0 +1,228 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32;
+
+/**
+ * Precomputed guess x target feedback matrix over an equation list.
+ * <p>
+ * Entry (g, t) is the packed {@link FeedbackEngine} pattern of equation g guessed against equation t,
+ * stored as a {@code short} in a memory-mapped file. The file header records the equation count and a
+ * checksum of the equation list, so a matrix built for a different list is never used by mistake.
+ * <p>
+ * The file takes {@code 2 * n * n} bytes, about 2.6 GB for the 36054 equations of {@link EquationGenerator}, so it is
+ * mapped as several buffers of whole rows, each under the 2 GB limit of a single mapping. A list may hold up to
+ * {@link #MAX_EQUATIONS} equations, as long as the disk has room for the file.
+ * <p>
+ * Usage: {@code java FeedbackMatrix build|verify [equations.txt] [feedback.matrix]}
+ */
+public final class FeedbackMatrix {
+    // default locations of the equation list and the matrix file
+    public static final String DEFAULT_EQUATIONS = "equations.txt";
+    public static final String DEFAULT_MATRIX = "feedback.matrix";
+
+    // header layout: magic, version, equation count, checksum of the equation list
+    private static final int MAGIC = 0x4E464D58; // "NFMX"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 4 + 4 + 8;
+
+    // the largest mapped buffer of rows
+    private static final long SEGMENT_BYTES = 1L << 30;
+
+    // the largest list whose rows still fit in a mapped buffer one at a time
+    public static final int MAX_EQUATIONS = (int) (SEGMENT_BYTES / 2);
+
+    // the rows of the matrix, rowsPerSegment rows per buffer
+    private final ByteBuffer[] segments;
+    private final int rowsPerSegment;
+    private final int size;
+
+    private FeedbackMatrix(ByteBuffer[] segments, int rowsPerSegment, int size) {
+        this.segments = segments;
+        this.rowsPerSegment = rowsPerSegment;
+        this.size = size;
+    }
+
+    /**
+     * Returns the packed feedback pattern of the guess ordinal scored against the target ordinal.
+     *
+     * @requires 0 <= guess && guess < size() && 0 <= target && target < size()
+     * @ensures 0 <= \result && \result < FeedbackEngine.PATTERN_COUNT
+     */
+    public int lookup(int guess, int target) {
+        return segments[guess / rowsPerSegment].getShort(((guess % rowsPerSegment) * size + target) << 1);
+    }
+
+    // Returns the number of equations the matrix is indexed by
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Loads the matrix for the equation list from the file, building and saving it first
+     * if the file is missing or was built for a different list.
+     *
+     * @requires equations != null && matrixFile != null
+     * @ensures \result.size() == equations.size()
+     */
+    public static FeedbackMatrix loadOrBuild(List<String> equations, Path matrixFile) throws IOException {
+        FeedbackMatrix matrix = load(equations, matrixFile);
+        return matrix != null ? matrix : build(equations, matrixFile);
+    }
+
+    /**
+     * Maps an existing matrix file, returning null if it is missing or does not match the equation list.
+     */
+    public static FeedbackMatrix load(List<String> equations, Path matrixFile) throws IOException {
+        return load(equations, matrixFile, SEGMENT_BYTES);
+    }
+
+    // Maps the rows in buffers of at most segmentBytes, see load(List, Path)
+    static FeedbackMatrix load(List<String> equations, Path matrixFile, long segmentBytes) throws IOException {
+        if (!Files.isRegularFile(matrixFile)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(matrixFile, StandardOpenOption.READ)) {
+            int n = equations.size();
+            if (channel.size() != fileSize(n)) {
+                return null;
+            }
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION || header.getInt(8) != n
+                    || header.getLong(12) != checksum(equations)) {
+                return null;
+            }
+            int rowsPerSegment = rowsPerSegment(n, segmentBytes);
+            return new FeedbackMatrix(mapRows(channel, FileChannel.MapMode.READ_ONLY, n, rowsPerSegment), rowsPerSegment, n);
+        }
+    }
+
+    /**
+     * Builds the matrix in parallel, one row per guess, and saves it to the file.
+     *
+     * @requires equations != null && equations.size() <= MAX_EQUATIONS
+     * @ensures \result.size() == equations.size()
+     */
+    public static FeedbackMatrix build(List<String> equations, Path matrixFile) throws IOException {
+        return build(equations, matrixFile, SEGMENT_BYTES);
+    }
+
+    // Builds the matrix writing and mapping its rows in buffers of at most segmentBytes, see build(List, Path)
+    static FeedbackMatrix build(List<String> equations, Path matrixFile, long segmentBytes) throws IOException {
+        int n = equations.size();
+        if (n > MAX_EQUATIONS) {
+            throw new IllegalArgumentException("Too many equations for a feedback matrix: " + n);
+        }
+        long[] codes = new long[n];
+        for (int i = 0; i < n; i++) {
+            codes[i] = FeedbackEngine.encode(equations.get(i));
+        }
+
+        // write into a temporary file first so a half-built matrix is never picked up
+        Path tempFile = matrixFile.resolveSibling(matrixFile.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+            header.order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, n).putLong(12, checksum(equations));
+            header.force();
+            int rowsPerSegment = rowsPerSegment(n, segmentBytes);
+            ByteBuffer[] segments = mapRows(channel, FileChannel.MapMode.READ_WRITE, n, rowsPerSegment);
+            // rows are disjoint, so absolute puts from parallel workers never overlap
+            IntStream.range(0, n).parallel().forEach(g -> {
+                ByteBuffer segment = segments[g / rowsPerSegment];
+                int offset = ((g % rowsPerSegment) * n) << 1;
+                for (int t = 0; t < n; t++) {
+                    segment.putShort(offset + (t << 1), (short) FeedbackEngine.score(codes[g], codes[t]));
+                }
+            });
+            for (ByteBuffer segment : segments) {
+                ((MappedByteBuffer) segment).force();
+            }
+        }
+        Files.move(tempFile, matrixFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return load(equations, matrixFile, segmentBytes);
+    }
+
+    // Returns how many rows of n entries fit in a buffer of segmentBytes, at least one
+    private static int rowsPerSegment(int n, long segmentBytes) {
+        return (int) Math.max(1, Math.min(n, segmentBytes / Math.max(1, 2L * n)));
+    }
+
+    // Maps the rows after the header, rowsPerSegment rows per buffer
+    private static ByteBuffer[] mapRows(FileChannel channel, FileChannel.MapMode mode, int n, int rowsPerSegment) throws IOException {
+        ByteBuffer[] segments = new ByteBuffer[(n + rowsPerSegment - 1) / rowsPerSegment];
+        for (int i = 0; i < segments.length; i++) {
+            long firstRow = (long) i * rowsPerSegment;
+            long rows = Math.min(rowsPerSegment, n - firstRow);
+            segments[i] = channel.map(mode, HEADER_SIZE + 2L * n * firstRow, 2L * n * rows).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        return segments;
+    }
+
+    /**
+     * Cross-checks every entry against the reference string feedback and returns the number of mismatches.
+     */
+    public int verify(List<String> equations) {
+        if (equations.size() != size) {
+            return size * size;
+        }
+        return IntStream.range(0, size).parallel().map(g -> {
+            int mismatches = 0;
+            for (int t = 0; t < size; t++) {
+                String expected = FeedbackEngine.referenceFeedback(equations.get(g), equations.get(t));
+                if (!expected.equals(FeedbackEngine.toString(lookup(g, t)))) {
+                    mismatches++;
+                }
+            }
+            return mismatches;
+        }).sum();
+    }
+
+    private static long fileSize(int n) {
+        return HEADER_SIZE + 2L * n * n;
+    }
+
+    // CRC32 of the equation list, one equation per line
+    private static long checksum(List<String> equations) {
+        CRC32 crc = new CRC32();
+        for (String equation : equations) {
+            crc.update(equation.getBytes(StandardCharsets.UTF_8));
+            crc.update('\n');
+        }
+        return crc.getValue();
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || !(args[0].equals("build") || args[0].equals("verify"))) {
+            System.err.println("Usage: java FeedbackMatrix build|verify [equations file] [matrix file]");
+            System.exit(2);
+        }
+        Path equationsFile = Paths.get(args.length > 1 ? args[1] : DEFAULT_EQUATIONS);
+        Path matrixFile = Paths.get(args.length > 2 ? args[2] : DEFAULT_MATRIX);
+        List<String> equations = Files.readAllLines(equationsFile);
+
+        long start = System.nanoTime();
+        FeedbackMatrix matrix = args[0].equals("build") ? build(equations, matrixFile) : load(equations, matrixFile);
+        if (matrix == null) {
+            System.err.println("⚠️ " + matrixFile + " is missing or was built for a different equation list.");
+            System.exit(1);
+        }
+        System.out.printf("Loaded %d x %d matrix in %d ms%n", matrix.size(), matrix.size(), (System.nanoTime() - start) / 1_000_000);
+
+        int mismatches = matrix.verify(equations);
+        System.out.println(mismatches == 0 ? "Matrix matches the reference feedback." : "⚠️ " + mismatches + " entries do not match the reference feedback.");
+        System.exit(mismatches == 0 ? 0 : 1);
+    }
+}
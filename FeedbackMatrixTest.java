@@ -0,0 +1,84 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FeedbackMatrixTest {
+
+    /**
+     * testBuildAndLoad() Scenario:
+     * Build the matrix of a small equation list and check every entry matches the feedback engine, that no temporary
+     * file is left behind, and that loading the saved file gives the same entries.
+     */
+    @Test
+    public void testBuildAndLoad(@TempDir Path directory) throws IOException {
+        List<String> equations = List.of("2+3*2=8", "1+5=2+4", "9-6/3=7", "1+1=3+0", "12+3=15");
+        Path file = directory.resolve("feedback.matrix");
+        FeedbackMatrix built = FeedbackMatrix.build(equations, file);
+
+        assertEquals(List.of(file), list(directory), "Only the matrix should remain after the build.");
+        FeedbackMatrix loaded = FeedbackMatrix.load(equations, file);
+        assertNotNull(loaded);
+        assertEquals(equations.size(), loaded.size());
+        for (int g = 0; g < equations.size(); g++) {
+            for (int t = 0; t < equations.size(); t++) {
+                int expected = FeedbackEngine.score(FeedbackEngine.encode(equations.get(g)), FeedbackEngine.encode(equations.get(t)));
+                assertEquals(expected, built.lookup(g, t));
+                assertEquals(expected, loaded.lookup(g, t));
+            }
+        }
+        assertEquals(0, loaded.verify(equations));
+    }
+
+    /**
+     * testRowsSpanSegments() Scenario:
+     * Build and load a matrix whose rows are mapped two at a time, so the lookups cross several buffers, and check it
+     * still matches the reference feedback.
+     */
+    @Test
+    public void testRowsSpanSegments(@TempDir Path directory) throws IOException {
+        List<String> equations = List.of("2+3*2=8", "1+5=2+4", "9-6/3=7", "1+1=3+0", "12+3=15");
+        Path file = directory.resolve("feedback.matrix");
+        long twoRows = 2L * 2 * equations.size();
+        FeedbackMatrix.build(equations, file, twoRows);
+
+        FeedbackMatrix loaded = FeedbackMatrix.load(equations, file, twoRows);
+        assertNotNull(loaded);
+        assertEquals(0, loaded.verify(equations));
+        assertEquals(0, FeedbackMatrix.load(equations, file).verify(equations), "The layout should not depend on the segments.");
+    }
+
+    /**
+     * testRebuildForChangedList() Scenario:
+     * Build a matrix, change one equation of the list, and check the stored checksum no longer matches, so the file
+     * is not loaded and loadOrBuild replaces it with a matrix of the new list.
+     */
+    @Test
+    public void testRebuildForChangedList(@TempDir Path directory) throws IOException {
+        List<String> equations = List.of("2+3*2=8", "1+5=2+4", "9-6/3=7");
+        Path file = directory.resolve("feedback.matrix");
+        FeedbackMatrix.build(equations, file);
+
+        List<String> changed = new ArrayList<>(equations);
+        changed.set(1, "1+1=3+0");
+        assertNull(FeedbackMatrix.load(changed, file), "A matrix of another list of the same size should be rejected.");
+        FeedbackMatrix rebuilt = FeedbackMatrix.loadOrBuild(changed, file);
+        assertEquals(0, rebuilt.verify(changed));
+        assertNotNull(FeedbackMatrix.load(changed, file));
+        assertNull(FeedbackMatrix.load(equations, file));
+        assertNull(FeedbackMatrix.load(equations, directory.resolve("missing.matrix")));
+    }
+
+    private static List<Path> list(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.toList();
+        }
+    }
+}
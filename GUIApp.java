@@ -1,18 +1,70 @@
 public class GUIApp {
+    // the line printed by --first-frame, read by the startup benchmark
+    public static final String FIRST_FRAME = "first frame after ms: ";
+
     public static void main(String[] args) {
+        // --length n and --attempts n pick the size of the board
+        int length = FeedbackEngine.LENGTH;
+        int attempts = INumberleModel.MAX_ATTEMPTS;
+        boolean firstFrame = false;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--length") && i + 1 < args.length) {
+                length = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--attempts") && i + 1 < args.length) {
+                attempts = Integer.parseInt(args[++i]);
+            } else if (args[i].equals("--first-frame")) {
+                firstFrame = true;
+            }
+        }
+        GameVariant variant;
+        try {
+            variant = GameVariant.of(length, attempts);
+        } catch (IllegalArgumentException e) {
+            System.err.println("⚠️" + e.getMessage());
+            System.exit(2);
+            return;
+        }
+        if (firstFrame) {
+            exitOnFirstFrame();
+        }
+        // the icons of the main frame are read while the settings dialog is shown
+        AssetCache.shared().preload(AssetCache.FRAME_ASSETS);
 
         javax.swing.SwingUtilities.invokeLater(
                 new Runnable() {
                     public void run() {
-                        createAndShowGUI();
+                        createAndShowGUI(variant);
                     }
                 }
         );
     }
 
+    // Prints the time from the start of the JVM to the first window on screen and exits, for the startup benchmark
+    private static void exitOnFirstFrame() {
+        long jvmStart = java.lang.management.ManagementFactory.getRuntimeMXBean().getStartTime();
+        java.awt.Toolkit.getDefaultToolkit().addAWTEventListener(event -> {
+            if (event.getID() == java.awt.event.WindowEvent.WINDOW_OPENED) {
+                System.out.println(FIRST_FRAME + (System.currentTimeMillis() - jvmStart));
+                System.exit(0);
+            }
+        }, java.awt.AWTEvent.WINDOW_EVENT_MASK);
+    }
+
     public static void createAndShowGUI() {
-        INumberleModel model = new NumberleModel();
-        NumberleController controller = new NumberleController(model);
-        NumberleView view = new NumberleView(model, controller);
+        createAndShowGUI(GameVariant.CLASSIC);
+    }
+
+    public static void createAndShowGUI(GameVariant variant) {
+        // events are delivered on the event dispatch thread, a burst of them in one task
+        INumberleModel model = new NumberleModel(EventDispatcher.batched(javax.swing.SwingUtilities::invokeLater));
+        model.setVariant(variant);
+        // guesses are validated and scored on one background thread, so the event dispatch thread never waits on the model
+        java.util.concurrent.ExecutorService worker = java.util.concurrent.Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "numberle-model");
+            thread.setDaemon(true);
+            return thread;
+        });
+        NumberleController controller = new NumberleController(model, worker);
+        NumberleView view = new NumberleView(model, controller, variant);
     }
 }
\ No newline at end of file
@@ -0,0 +1,149 @@
+import java.util.Set;
+
+/**
+ * One headless Numberle game hosted by {@link NumberleSessionManager}.
+ * <p>
+ * A session plays by the same {@link GameState} rules as {@code NumberleModel.processInput}, but keeps only the
+ * game state and its target ordinal instead of an observable object graph: the target as a packed code, the last
+ * feedback pattern, and the keyboard as one packed {@link KeyboardState}. Methods synchronize on the session, so
+ * each game is guarded by its own lock and sessions never contend with each other.
+ */
+public final class GameSession {
+    // the result of processInput once the game is over
+    public static final int GAME_OVER = GameState.GAME_OVER;
+
+    private final NumberleSessionManager manager;
+    private final GameVariant variant;
+    private final TileEngine engine;
+    // the setting flags of GameSnapshot, so a snapshot carries them unchanged
+    private final byte settings;
+    private final TargetScheduler scheduler;
+
+    private int targetOrdinal;
+
+    // the target, attempts, keyboard and guesses of the game
+    private final GameState game;
+
+    // the time of the last request, read by the idle eviction
+    private volatile long lastAccess;
+
+    GameSession(NumberleSessionManager manager, boolean showEquation, boolean validateInput, TargetScheduler scheduler) {
+        this.manager = manager;
+        this.variant = manager.getVariant();
+        this.engine = variant.engine();
+        this.scheduler = scheduler;
+        this.settings = (byte) ((showEquation ? GameSnapshot.SHOW_EQUATION : 0) | (validateInput ? GameSnapshot.VALIDATE_INPUT : 0)
+                | (scheduler.mode() != TargetScheduler.Mode.FIRST ? GameSnapshot.RANDOM_SELECTION : 0));
+        this.game = new GameState(variant, NumberleMetrics.shared());
+        restartGame();
+    }
+
+    // Resumes the game of a snapshot taken by a manager of the same variant and corpus, see NumberleSessionManager.restore
+    GameSession(NumberleSessionManager manager, GameSnapshot snapshot, TargetScheduler scheduler) {
+        this.manager = manager;
+        this.variant = manager.getVariant();
+        this.engine = variant.engine();
+        this.scheduler = scheduler;
+        this.settings = (byte) snapshot.settings();
+        this.game = new GameState(variant, NumberleMetrics.shared());
+        targetOrdinal = snapshot.targetOrdinal();
+        game.restore(snapshot);
+    }
+
+    /**
+     * Starts a new game with a new target.
+     *
+     * @ensures getRemainingAttempts() == getVariant().maxAttempts() && !isGameWon() && getFeedback() == null
+     */
+    public synchronized void restartGame() {
+        EquationCorpus corpus = manager.getCorpus();
+        targetOrdinal = scheduler.next(corpus.size());
+        game.start(corpus.code(targetOrdinal));
+    }
+
+    /**
+     * Processes a guess and returns {@link EquationValidator#VALID}, the error index of an invalid guess,
+     * or {@link #GAME_OVER}. Invalid guesses do not use up an attempt.
+     *
+     * @requires input != null
+     */
+    public synchronized int processInput(String input) {
+        return game.play(input, (settings & GameSnapshot.VALIDATE_INPUT) != 0);
+    }
+
+    public synchronized boolean isGameOver() {
+        return game.isGameOver();
+    }
+
+    public synchronized boolean isGameWon() {
+        return game.isGameWon();
+    }
+
+    public synchronized int getRemainingAttempts() {
+        return game.remainingAttempts();
+    }
+
+    // Returns the G/O/X feedback of the last guess, or null before the first guess
+    public synchronized String getFeedback() {
+        return game.feedbackPattern() < 0 ? null : engine.toString(game.feedbackPattern());
+    }
+
+    public synchronized int getFeedbackPattern() {
+        return game.feedbackPattern();
+    }
+
+    public synchronized String getTargetEquation() {
+        return engine.decode(game.targetCode());
+    }
+
+    public synchronized int getTargetOrdinal() {
+        return targetOrdinal;
+    }
+
+    public GameVariant getVariant() {
+        return variant;
+    }
+
+    public boolean getDisplayTargetEquation() {
+        return (settings & GameSnapshot.SHOW_EQUATION) != 0;
+    }
+
+    public boolean getDisplayErrorIfInvalid() {
+        return (settings & GameSnapshot.VALIDATE_INPUT) != 0;
+    }
+
+    // Returns the packed keyboard, see KeyboardState
+    public synchronized long getKeyboard() {
+        return game.keyboard();
+    }
+
+    // The keyboard getters return read-only snapshots, later guesses do not change them
+    public synchronized Set<Character> getCorrectPositions() {
+        return KeyboardState.keys(KeyboardState.correctPositions(game.keyboard()));
+    }
+
+    public synchronized Set<Character> getWrongPositions() {
+        return KeyboardState.keys(KeyboardState.wrongPositions(game.keyboard()));
+    }
+
+    public synchronized Set<Character> getNotInEquation() {
+        return KeyboardState.keys(KeyboardState.notInEquation(game.keyboard()));
+    }
+
+    public synchronized Set<Character> getUnused() {
+        return KeyboardState.keys(KeyboardState.unused(game.keyboard()));
+    }
+
+    // Captures the game as a fixed-size record, see GameSnapshot
+    public synchronized GameSnapshot snapshot() {
+        return game.snapshot(settings, targetOrdinal);
+    }
+
+    void touch(long now) {
+        lastAccess = now;
+    }
+
+    long lastAccess() {
+        return lastAccess;
+    }
+}
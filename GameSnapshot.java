@@ -0,0 +1,181 @@
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * A game in progress frozen into a fixed-size binary record, so an idle game can be written to disk or moved to
+ * another node and resumed later.
+ * <p>
+ * The record holds only what the game cannot recompute: the variant, the settings, the target as an ordinal and its
+ * packed code, the remaining attempts, the packed {@link KeyboardState} and the packed tiles of every guess. Feedback
+ * is scored again from the target on restore, and the guesses were validated when they were played, so they are not
+ * validated again. The target code guards against restoring into a different corpus.
+ * <p>
+ * Layout, little-endian, {@link #SIZE} bytes whatever the variant: magic, version, tiles, attempts, flags, remaining
+ * attempts, guess count, reserved, target ordinal, target code, keyboard, checksum of the rest, reserved, then one
+ * 8 byte slot per possible guess.
+ */
+public final class GameSnapshot {
+    // the flags of the settings and the game status
+    public static final int SHOW_EQUATION = 1;
+    public static final int VALIDATE_INPUT = 2;
+    public static final int RANDOM_SELECTION = 4;
+    private static final int GAME_WON = 8;
+
+    private static final int MAGIC = 0x5347514E; // "NQGS"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 40;
+    private static final int CHECKSUM = 32;
+
+    // the size of every record
+    public static final int SIZE = HEADER_SIZE + 8 * GameVariant.MAX_MAX_ATTEMPTS;
+
+    private final GameVariant variant;
+    private final int settings;
+    private final boolean gameWon;
+    private final int remainingAttempts;
+    private final int targetOrdinal;
+    private final long targetCode;
+    private final long keyboard;
+    private final long[] guesses;
+
+    /**
+     * Captures a game. The guesses are copied.
+     *
+     * @requires guessCount + remainingAttempts <= variant.maxAttempts()
+     */
+    GameSnapshot(GameVariant variant, int settings, boolean gameWon, int remainingAttempts, int targetOrdinal,
+                 long targetCode, long keyboard, long[] guesses, int guessCount) {
+        if (remainingAttempts < 0 || guessCount + remainingAttempts > variant.maxAttempts()) {
+            throw new IllegalArgumentException("A game of " + variant.maxAttempts() + " attempts cannot have "
+                    + guessCount + " guesses and " + remainingAttempts + " attempts left");
+        }
+        this.variant = variant;
+        this.settings = settings & (SHOW_EQUATION | VALIDATE_INPUT | RANDOM_SELECTION);
+        this.gameWon = gameWon;
+        this.remainingAttempts = remainingAttempts;
+        this.targetOrdinal = targetOrdinal;
+        this.targetCode = targetCode;
+        this.keyboard = keyboard;
+        this.guesses = Arrays.copyOf(guesses, guessCount);
+    }
+
+    public GameVariant variant() {
+        return variant;
+    }
+
+    // Returns the setting flags, SHOW_EQUATION, VALIDATE_INPUT and RANDOM_SELECTION
+    public int settings() {
+        return settings;
+    }
+
+    public boolean gameWon() {
+        return gameWon;
+    }
+
+    public int remainingAttempts() {
+        return remainingAttempts;
+    }
+
+    public int targetOrdinal() {
+        return targetOrdinal;
+    }
+
+    public long targetCode() {
+        return targetCode;
+    }
+
+    public long keyboard() {
+        return keyboard;
+    }
+
+    public int guessCount() {
+        return guesses.length;
+    }
+
+    // Returns the packed tiles of a guess, 0 for the first
+    public long guess(int index) {
+        return guesses[index];
+    }
+
+    // Returns the packed feedback of a guess, scored again from the target
+    public int pattern(int index) {
+        return variant.engine().score(guesses[index], targetCode);
+    }
+
+    /**
+     * Writes the record at the position of the buffer and advances it by {@link #SIZE}.
+     *
+     * @requires buffer.remaining() >= SIZE
+     */
+    public void writeTo(ByteBuffer buffer) {
+        ByteBuffer record = buffer.slice(buffer.position(), SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        record.putInt(0, MAGIC)
+                .put(4, (byte) VERSION)
+                .put(5, (byte) variant.length())
+                .put(6, (byte) variant.maxAttempts())
+                .put(7, (byte) (settings | (gameWon ? GAME_WON : 0)))
+                .put(8, (byte) remainingAttempts)
+                .put(9, (byte) guesses.length)
+                .putShort(10, (short) 0)
+                .putInt(12, targetOrdinal)
+                .putLong(16, targetCode)
+                .putLong(24, keyboard)
+                .putInt(36, 0);
+        for (int i = 0; i < GameVariant.MAX_MAX_ATTEMPTS; i++) {
+            record.putLong(HEADER_SIZE + 8 * i, i < guesses.length ? guesses[i] : 0);
+        }
+        record.putInt(CHECKSUM, checksum(record));
+        buffer.position(buffer.position() + SIZE);
+    }
+
+    public byte[] toBytes() {
+        byte[] bytes = new byte[SIZE];
+        writeTo(ByteBuffer.wrap(bytes));
+        return bytes;
+    }
+
+    /**
+     * Reads a record at the position of the buffer and advances it by {@link #SIZE}.
+     *
+     * @throws IllegalArgumentException if the bytes are not a snapshot or are damaged
+     */
+    public static GameSnapshot readFrom(ByteBuffer buffer) {
+        if (buffer.remaining() < SIZE) {
+            throw new IllegalArgumentException("A game snapshot takes " + SIZE + " bytes, only " + buffer.remaining() + " left");
+        }
+        ByteBuffer record = buffer.slice(buffer.position(), SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        if (record.getInt(0) != MAGIC || record.get(4) != VERSION) {
+            throw new IllegalArgumentException("Not a game snapshot");
+        }
+        if (record.getInt(CHECKSUM) != checksum(record)) {
+            throw new IllegalArgumentException("The game snapshot is damaged");
+        }
+        GameVariant variant = new GameVariant(record.get(5), record.get(6));
+        int flags = record.get(7);
+        int guessCount = record.get(9);
+        if (guessCount < 0 || guessCount > variant.maxAttempts()) {
+            throw new IllegalArgumentException("The game snapshot holds " + guessCount + " guesses");
+        }
+        long[] guesses = new long[guessCount];
+        for (int i = 0; i < guessCount; i++) {
+            guesses[i] = record.getLong(HEADER_SIZE + 8 * i);
+        }
+        buffer.position(buffer.position() + SIZE);
+        return new GameSnapshot(variant, flags, (flags & GAME_WON) != 0, record.get(8), record.getInt(12),
+                record.getLong(16), record.getLong(24), guesses, guessCount);
+    }
+
+    public static GameSnapshot fromBytes(byte[] bytes) {
+        return readFrom(ByteBuffer.wrap(bytes));
+    }
+
+    // The checksum of every byte of the record but the checksum itself
+    private static int checksum(ByteBuffer record) {
+        CRC32 crc = new CRC32();
+        crc.update(record.slice(0, CHECKSUM));
+        crc.update(record.slice(CHECKSUM + 4, SIZE - CHECKSUM - 4));
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,78 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameSnapshotTest {
+
+    /**
+     * testModelRoundTrip() Scenario:
+     * Play two guesses of a classic game, snapshot it to bytes and restore it into a fresh model, then check the
+     * state matches and the restored game plays on to a win. The target is fixed to 2+3*2=8.
+     */
+    @Test
+    public void testModelRoundTrip() {
+        INumberleModel model = new NumberleModel();
+        model.initialize(model, 1, 1, 0);
+        model.processInput("1+5=2+4");
+        model.processInput("3+3*2=9");
+        byte[] bytes = model.snapshot().toBytes();
+        assertEquals(GameSnapshot.SIZE, bytes.length);
+
+        INumberleModel restored = new NumberleModel();
+        restored.restore(GameSnapshot.fromBytes(bytes));
+        assertEquals(model.getTargetEquation(), restored.getTargetEquation());
+        assertEquals(4, restored.getRemainingAttempts());
+        assertEquals(model.getFeedback(), restored.getFeedback());
+        assertEquals(model.getCurrentGuess().toString(), restored.getCurrentGuess().toString());
+        assertEquals(model.getCorrectPositions(), restored.getCorrectPositions());
+        assertEquals(model.getWrongPositions(), restored.getWrongPositions());
+        assertEquals(model.getNotInEquation(), restored.getNotInEquation());
+        assertEquals(model.getUnused(), restored.getUnused());
+        assertEquals(List.of("1+5=2+4", "3+3*2=9"), restored.getGuessHistory());
+        assertTrue(restored.getDisplayErrorIfInvalid());
+        assertFalse(restored.getUseRandomSelection());
+
+        assertTrue(restored.processInput("2+3*2=8"));
+        assertTrue(restored.isGameWon());
+        assertEquals(3, restored.snapshot().guessCount());
+    }
+
+    /**
+     * testSessionEviction() Scenario:
+     * Evict an idle session to a map of snapshots, restore it into another manager and check the game continues
+     * where it stopped. A snapshot from a different variant or a damaged record is rejected.
+     */
+    @Test
+    public void testSessionEviction() throws IOException {
+        try (NumberleSessionManager manager = NumberleSessionManager.fromFile(Paths.get("equations.txt"), 1_000);
+             NumberleSessionManager other = NumberleSessionManager.fromFile(Paths.get("equations.txt"), 1_000)) {
+            long id = manager.createSession(false, true, false);
+            assertEquals(EquationValidator.VALID, manager.get(id).processInput("1+5=2+4"));
+            long keyboard = manager.get(id).getKeyboard();
+
+            Map<Long, byte[]> disk = new HashMap<>();
+            assertEquals(1, manager.evictIdle(System.currentTimeMillis() + 2_000, (key, snapshot) -> disk.put(key, snapshot.toBytes())));
+            assertNull(manager.get(id));
+
+            GameSession session = other.get(other.restore(GameSnapshot.fromBytes(disk.get(id))));
+            assertEquals("XGXOGXX", session.getFeedback());
+            assertEquals(5, session.getRemainingAttempts());
+            assertEquals(keyboard, session.getKeyboard());
+            assertTrue(session.getDisplayErrorIfInvalid());
+            assertEquals(EquationValidator.VALID, session.processInput("2+3*2=8"));
+            assertTrue(session.isGameWon());
+
+            byte[] damaged = disk.get(id).clone();
+            damaged[GameSnapshot.SIZE - 1] ^= 1;
+            assertThrows(IllegalArgumentException.class, () -> GameSnapshot.fromBytes(damaged));
+            GameSnapshot shortGame = new GameSnapshot(GameVariant.of(5, 6), 0, false, 6, 0, 0, 0, new long[0], 0);
+            assertThrows(IllegalArgumentException.class, () -> other.restore(shortGame));
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/**
+ * The state of one game and the rules of a guess, shared by {@link NumberleModel}, {@link GameSession} and
+ * {@link GuessBatch} so every front end plays by the same rules.
+ * <p>
+ * A guess is first validated, and an invalid guess changes nothing. A valid guess uses up an attempt, is scored
+ * against the target, is recorded with its feedback, updates the packed {@link KeyboardState}, and ends the game when
+ * it is the target or the last attempt. Once the game is over every guess is refused with {@link #GAME_OVER}.
+ * Not thread safe, the owner guards it.
+ */
+final class GameState {
+    // the result of play once the game is over
+    static final int GAME_OVER = -2;
+
+    private final GameVariant variant;
+    private final TileEngine engine;
+
+    // the counters and timings to record the guesses in, null for none
+    private final NumberleMetrics metrics;
+
+    private long targetCode;
+    private int remainingAttempts;
+    private boolean gameWon;
+
+    // the keyboard of the last guess, and every key used in any guess of this game
+    private long keyboard = KeyboardState.EMPTY;
+
+    // the packed feedback of the last guess, -1 before the first guess
+    private int feedbackPattern = -1;
+
+    // the packed tiles and feedback of the guesses of this game, in order
+    private final long[] guesses;
+    private final int[] patterns;
+    private int guessCount;
+
+    GameState(GameVariant variant, NumberleMetrics metrics) {
+        this.variant = variant;
+        this.engine = variant.engine();
+        this.metrics = metrics;
+        this.guesses = new long[variant.maxAttempts()];
+        this.patterns = new int[variant.maxAttempts()];
+        this.remainingAttempts = variant.maxAttempts();
+    }
+
+    /**
+     * Starts a new game against the packed target.
+     *
+     * @ensures remainingAttempts() == variant().maxAttempts() && !isGameWon() && guessCount() == 0
+     */
+    void start(long targetCode) {
+        this.targetCode = targetCode;
+        remainingAttempts = variant.maxAttempts();
+        gameWon = false;
+        keyboard = KeyboardState.EMPTY;
+        feedbackPattern = -1;
+        guessCount = 0;
+    }
+
+    /**
+     * Plays a guess and returns {@link EquationValidator#VALID}, the error index of an invalid guess, or
+     * {@link #GAME_OVER}. The arithmetic is only checked when checkArithmetic is set.
+     *
+     * @requires input != null
+     */
+    int play(CharSequence input, boolean checkArithmetic) {
+        // guesses are sampled per thread, so short games and sessions are timed too
+        if (metrics == null || !metrics.timeGuess()) {
+            return playGuess(input, checkArithmetic);
+        }
+        long start = System.nanoTime();
+        int result = playGuess(input, checkArithmetic);
+        metrics.recordGuessTime(System.nanoTime() - start);
+        return result;
+    }
+
+    private int playGuess(CharSequence input, boolean checkArithmetic) {
+        if (isGameOver()) {
+            return GAME_OVER;
+        }
+        int error = EquationValidator.validate(input, engine.length(), checkArithmetic, RationalEvaluator.INSTANCE);
+        if (error != EquationValidator.VALID) {
+            if (metrics != null) {
+                metrics.recordValidationFailure(error);
+            }
+            return error;
+        }
+        long guess = engine.encode(input);
+        remainingAttempts--;
+        feedbackPattern = engine.score(guess, targetCode);
+        guesses[guessCount] = guess;
+        patterns[guessCount] = feedbackPattern;
+        guessCount++;
+        keyboard = KeyboardState.update(keyboard, guess, feedbackPattern, engine.length());
+        gameWon = guess == targetCode;
+        if (metrics != null) {
+            metrics.recordGuess();
+            if (gameWon) {
+                metrics.recordWin(variant.maxAttempts() - remainingAttempts);
+            } else if (remainingAttempts <= 0) {
+                metrics.recordLoss();
+            }
+        }
+        return EquationValidator.VALID;
+    }
+
+    /**
+     * Resumes the game of a snapshot of the same variant. The feedback of the guesses is scored from the target.
+     *
+     * @requires snapshot.variant().equals(variant())
+     */
+    void restore(GameSnapshot snapshot) {
+        targetCode = snapshot.targetCode();
+        remainingAttempts = snapshot.remainingAttempts();
+        gameWon = snapshot.gameWon();
+        keyboard = snapshot.keyboard();
+        guessCount = snapshot.guessCount();
+        for (int i = 0; i < guessCount; i++) {
+            guesses[i] = snapshot.guess(i);
+            patterns[i] = snapshot.pattern(i);
+        }
+        feedbackPattern = guessCount == 0 ? -1 : patterns[guessCount - 1];
+    }
+
+    // Captures the game as a fixed-size record with the settings and ordinal of its owner, see GameSnapshot
+    GameSnapshot snapshot(int settings, int targetOrdinal) {
+        return new GameSnapshot(variant, settings, gameWon, remainingAttempts, targetOrdinal, targetCode, keyboard,
+                guesses, guessCount);
+    }
+
+    GameVariant variant() {
+        return variant;
+    }
+
+    TileEngine engine() {
+        return engine;
+    }
+
+    long targetCode() {
+        return targetCode;
+    }
+
+    int remainingAttempts() {
+        return remainingAttempts;
+    }
+
+    boolean isGameWon() {
+        return gameWon;
+    }
+
+    boolean isGameOver() {
+        return remainingAttempts <= 0 || gameWon;
+    }
+
+    // Returns the packed keyboard, see KeyboardState
+    long keyboard() {
+        return keyboard;
+    }
+
+    int feedbackPattern() {
+        return feedbackPattern;
+    }
+
+    int guessCount() {
+        return guessCount;
+    }
+
+    // Returns the packed tiles of guess i
+    long guess(int i) {
+        return guesses[i];
+    }
+
+    // Returns the packed feedback of guess i
+    int pattern(int i) {
+        return patterns[i];
+    }
+}
@@ -0,0 +1,52 @@
+import java.io.IOException;
+
+/**
+ * The shape of a game: the number of tiles of every equation and the number of guesses allowed.
+ * <p>
+ * Each length has its own {@link TileEngine} and its own shared {@link EquationCorpus}, read from
+ * {@link EquationCorpus#defaultFile(int)}, so variants of different lengths never share a target list or an index.
+ * Equations of up to {@link EquationCorpus#GENERATED_MAX_LENGTH} tiles are generated when no list ships for them;
+ * the longer lengths need their list, and {@link INumberleModel#setVariant} refuses a variant whose corpus cannot be
+ * loaded.
+ *
+ * @param length      the number of tiles, from {@link #MIN_LENGTH} to {@link #MAX_LENGTH}
+ * @param maxAttempts the number of valid guesses of a game, from 1 to {@link #MAX_MAX_ATTEMPTS}
+ */
+public record GameVariant(int length, int maxAttempts) {
+    // the playable equation lengths, every length a TileEngine encodes
+    public static final int MIN_LENGTH = TileEngine.MIN_LENGTH;
+    public static final int MAX_LENGTH = TileEngine.MAX_LENGTH;
+
+    // the most attempts a game may allow
+    public static final int MAX_MAX_ATTEMPTS = 20;
+
+    // the original game: 7 tiles and 6 attempts
+    public static final GameVariant CLASSIC = new GameVariant(FeedbackEngine.LENGTH, INumberleModel.MAX_ATTEMPTS);
+
+    public GameVariant {
+        if (length < MIN_LENGTH || length > MAX_LENGTH) {
+            throw new IllegalArgumentException("Games have equations of " + MIN_LENGTH + " to " + MAX_LENGTH + " tiles: " + length);
+        }
+        if (maxAttempts < 1 || maxAttempts > MAX_MAX_ATTEMPTS) {
+            throw new IllegalArgumentException("A game must allow 1 to " + MAX_MAX_ATTEMPTS + " attempts: " + maxAttempts);
+        }
+    }
+
+    // Returns the classic variant when it matches, so the common case never allocates
+    public static GameVariant of(int length, int maxAttempts) {
+        return length == CLASSIC.length && maxAttempts == CLASSIC.maxAttempts ? CLASSIC : new GameVariant(length, maxAttempts);
+    }
+
+    public TileEngine engine() {
+        return TileEngine.of(length);
+    }
+
+    public boolean isClassic() {
+        return length == CLASSIC.length;
+    }
+
+    // Returns the shared corpus of the length, see EquationCorpus.shared(int)
+    public EquationCorpus corpus() throws IOException {
+        return EquationCorpus.shared(length);
+    }
+}
@@ -0,0 +1,151 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameVariantTest {
+
+    /**
+     * testEnginesMatchReference() Scenario:
+     * For every length an engine encodes, score random tile strings against each other and check the packed pattern matches
+     * the string based feedback, and that the classic engine agrees with FeedbackEngine.
+     */
+    @Test
+    public void testEnginesMatchReference() {
+        Random random = new Random(18);
+        for (int length = TileEngine.MIN_LENGTH; length <= TileEngine.MAX_LENGTH; length++) {
+            TileEngine engine = TileEngine.of(length);
+            assertEquals(FeedbackEngine.pow3(length), engine.patternCount());
+            for (int i = 0; i < 2_000; i++) {
+                // a small alphabet so repeated symbols are common
+                String guess = randomTiles(random, length, "12+=");
+                String target = randomTiles(random, length, "12+=");
+                long guessCode = engine.encode(guess);
+                assertEquals(guess, engine.decode(guessCode));
+                int pattern = engine.score(guessCode, engine.encode(target));
+                assertEquals(FeedbackEngine.referenceFeedback(guess, target), engine.toString(pattern),
+                        "Feedback should match the reference for guess " + guess + " and target " + target);
+                if (length == FeedbackEngine.LENGTH) {
+                    assertEquals(FeedbackEngine.score(guessCode, engine.encode(target)), pattern);
+                }
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> TileEngine.of(4));
+        assertThrows(IllegalArgumentException.class, () -> TileEngine.of(13));
+        assertThrows(IllegalArgumentException.class, () -> new GameVariant(GameVariant.MAX_LENGTH + 1, 6),
+                "A length without a loadable corpus should not be playable.");
+        assertThrows(IllegalArgumentException.class, () -> new GameVariant(7, 0));
+    }
+
+    private static String randomTiles(Random random, int length, String symbols) {
+        StringBuilder tiles = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            tiles.append(symbols.charAt(random.nextInt(symbols.length())));
+        }
+        return tiles.toString();
+    }
+
+    /**
+     * testShortVariant() Scenario:
+     * Play a game of 5 tiles and 8 attempts without random selection, whose target is the first generated equation
+     * 0+0=0, and check the validation, attempts, feedback and error messages follow the variant.
+     */
+    @Test
+    public void testShortVariant() {
+        INumberleModel model = new NumberleModel();
+        model.setVariant(GameVariant.of(5, 8));
+        model.initialize(model, 1, 1, 0);
+
+        assertEquals("0+0=0", model.getTargetEquation());
+        assertEquals(8, model.getRemainingAttempts());
+        assertFalse(model.processInput("1+2=3+0"), "A classic length guess should be too long.");
+        assertEquals(List.of(EquationValidator.TOO_LONG), model.getErrorIndices());
+        assertTrue(model.getErrorMessages().get(EquationValidator.TOO_LONG).contains("5 characters"));
+
+        assertTrue(model.processInput("1+2=3"));
+        assertEquals("XGXGX", model.getFeedback());
+        assertEquals(7, model.getRemainingAttempts());
+        assertTrue(model.processInput("0+0=0"));
+        assertTrue(model.isGameWon());
+
+        GuessBatch.Result replay = model.processBatch("0+0=0", new String[]{"1+2=3", "0+0=0"});
+        assertTrue(replay.won());
+        assertEquals(2, replay.attempts());
+        assertEquals(8, replay.maxAttempts());
+    }
+
+    /**
+     * testEveryLengthStarts() Scenario:
+     * For every playable length, start a game without random selection and check its target has the length and wins
+     * it. The corpora of up to 8 tiles that do not ship are generated on first use, and a longer length without its
+     * equation list is refused by setVariant with the length in the message.
+     */
+    @Test
+    public void testEveryLengthStarts() {
+        for (int length = GameVariant.MIN_LENGTH; length <= GameVariant.MAX_LENGTH; length++) {
+            INumberleModel model = new NumberleModel();
+            GameVariant variant = GameVariant.of(length, 6);
+            if (length > EquationCorpus.GENERATED_MAX_LENGTH && !Files.exists(Path.of(EquationCorpus.defaultFile(length)))
+                    && !Files.exists(Path.of(EquationCorpus.defaultBinaryFile(length)))) {
+                IllegalArgumentException refused = assertThrows(IllegalArgumentException.class, () -> model.setVariant(variant));
+                assertTrue(refused.getMessage().contains(length + " tiles"), refused.getMessage());
+                continue;
+            }
+            model.setVariant(variant);
+            model.initialize(model, 1, 1, 0);
+
+            String target = model.getTargetEquation();
+            assertEquals(length, target.length(), "The target should have " + length + " tiles.");
+            assertTrue(model.processInput(target));
+            assertTrue(model.isGameWon());
+        }
+    }
+
+    /**
+     * testVariantWaitsForNextGame() Scenario:
+     * Switch a classic game to 5 tiles and 8 attempts after the first guess, and check the game in progress keeps
+     * its 7 tiles until the next restartGame starts a game of the new variant.
+     */
+    @Test
+    public void testVariantWaitsForNextGame() {
+        INumberleModel model = new NumberleModel();
+        model.initialize(model, 1, 1, 0);
+        assertTrue(model.processInput("1+5=2+4"));
+
+        model.setVariant(GameVariant.of(5, 8));
+        assertEquals(GameVariant.CLASSIC, model.getVariant());
+        assertTrue(model.processInput("2+3*2=8"), "The game in progress should still take 7 tiles.");
+        assertTrue(model.isGameWon());
+
+        model.restartGame();
+        assertEquals(5, model.getVariant().length());
+        assertEquals("0+0=0", model.getTargetEquation());
+        assertEquals(8, model.getRemainingAttempts());
+        assertTrue(model.processInput("0+0=0"));
+    }
+
+    /**
+     * testCorpusFileOfLength() Scenario:
+     * Write a corpus of 9 tile equations to the binary format, map it back and check its length and lookups.
+     */
+    @Test
+    public void testCorpusFileOfLength(@TempDir Path directory) throws IOException {
+        EquationCorpus corpus = EquationCorpus.of(List.of("12+34=046", "1+2+3=006", "12*3=0036"));
+        assertEquals(9, corpus.length());
+        Path file = directory.resolve("equations-9.bin");
+        EquationCorpusFile.write(corpus, file, true);
+
+        EquationCorpus mapped = EquationCorpus.load(file);
+        assertEquals(9, mapped.length());
+        assertEquals(3, mapped.size());
+        assertEquals(corpus.get(1), mapped.get(1));
+        assertEquals(2, mapped.indexOf("12*3=0036"));
+        assertEquals(-1, mapped.indexOf("2+3*2=8"), "An equation of another length should not be found.");
+    }
+}
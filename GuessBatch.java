@@ -0,0 +1,77 @@
+import java.util.stream.IntStream;
+
+/**
+ * Replays whole games of recorded guesses with the rules of {@code NumberleModel.processInput}, see {@link GameState},
+ * but none of its bookkeeping: no events, no metrics and no current guess string, only the packed feedback of each
+ * guess.
+ * <p>
+ * {@link #replay} plays one game on the calling thread, and {@link #replayAll} spreads many games over the
+ * common fork-join pool, each worker replaying whole games so games never share state.
+ */
+public final class GuessBatch {
+    // the result of a guess made after the game was over
+    public static final int GAME_OVER = GameState.GAME_OVER;
+
+    // the pattern of a guess that was not scored
+    public static final int NOT_SCORED = -1;
+
+    private GuessBatch() {
+    }
+
+    /**
+     * The outcome of one replayed game. results[i] is {@link EquationValidator#VALID}, the error index of an invalid
+     * guess or {@link #GAME_OVER}, and patterns[i] is the packed feedback of guess i or {@link #NOT_SCORED}.
+     */
+    public record Result(int[] patterns, int[] results, int attempts, boolean won, int maxAttempts) {
+
+        // Checks whether the game ended within the guesses, either won or out of attempts
+        public boolean gameOver() {
+            return won || attempts >= maxAttempts;
+        }
+    }
+
+    /**
+     * Replays the guesses against the packed target; invalid guesses do not use up an attempt, and guesses after
+     * the game is over are not scored. The arithmetic is only checked when checkArithmetic is set, as in the model.
+     *
+     * @requires guesses != null && every guess != null
+     * @ensures \result.patterns().length == guesses.length && \result.results().length == guesses.length
+     */
+    public static Result replay(long target, CharSequence[] guesses, boolean checkArithmetic) {
+        return replay(GameVariant.CLASSIC, target, guesses, checkArithmetic);
+    }
+
+    /**
+     * Replays the guesses of a game of the variant, see {@link #replay(long, CharSequence[], boolean)}.
+     *
+     * @requires guesses != null && every guess != null
+     */
+    public static Result replay(GameVariant variant, long target, CharSequence[] guesses, boolean checkArithmetic) {
+        GameState game = new GameState(variant, null);
+        game.start(target);
+        int[] patterns = new int[guesses.length];
+        int[] results = new int[guesses.length];
+        for (int i = 0; i < guesses.length; i++) {
+            results[i] = game.play(guesses[i], checkArithmetic);
+            patterns[i] = results[i] == EquationValidator.VALID ? game.feedbackPattern() : NOT_SCORED;
+        }
+        return new Result(patterns, results, game.guessCount(), game.isGameWon(), variant.maxAttempts());
+    }
+
+    /**
+     * Replays many games in parallel, game i being guesses[i] against targets[i].
+     *
+     * @requires targets.length == guesses.length
+     * @ensures \result[i].equals(replay(FeedbackEngine.encode(targets[i]), guesses[i], checkArithmetic)) in content
+     */
+    public static Result[] replayAll(String[] targets, String[][] guesses, boolean checkArithmetic) {
+        if (targets.length != guesses.length) {
+            throw new IllegalArgumentException("Every game needs a target: " + targets.length + " targets, " + guesses.length + " games");
+        }
+        Result[] results = new Result[targets.length];
+        // the stream splits the games into chunks, one fork-join task per chunk
+        IntStream.range(0, targets.length).parallel()
+                .forEach(i -> results[i] = replay(FeedbackEngine.encode(targets[i]), guesses[i], checkArithmetic));
+        return results;
+    }
+}
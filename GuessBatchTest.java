@@ -0,0 +1,70 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GuessBatchTest {
+
+    /**
+     * testMatchesProcessInput() Scenario:
+     * Replay random games mixing valid, unbalanced and malformed guesses, and check the batch agrees with playing the
+     * same guesses through processInput one at a time.
+     */
+    @Test
+    public void testMatchesProcessInput() throws IOException {
+        List<String> equations = Files.readAllLines(Paths.get("equations.txt"));
+        String[] invalid = {"1+1=3+0", "12345", "1+1=2+0+", "1++2=30", "abcdefg"};
+        Random random = new Random(11);
+        INumberleModel model = new NumberleModel();
+        for (int game = 0; game < 100; game++) {
+            model.initialize(model, 1, game % 2, 0);
+            String[] guesses = new String[10];
+            for (int i = 0; i < guesses.length; i++) {
+                guesses[i] = random.nextInt(3) == 0 ? invalid[random.nextInt(invalid.length)]
+                        : random.nextInt(8) == 0 ? model.getTargetEquation() : equations.get(random.nextInt(equations.size()));
+            }
+
+            GuessBatch.Result result = model.processBatch(model.getTargetEquation(), guesses);
+            for (int i = 0; i < guesses.length; i++) {
+                if (model.isGameOver()) {
+                    assertEquals(GuessBatch.GAME_OVER, result.results()[i]);
+                    continue;
+                }
+                boolean valid = model.processInput(guesses[i]);
+                assertEquals(valid, result.results()[i] == EquationValidator.VALID);
+                assertEquals(valid ? model.getFeedbackPattern() : GuessBatch.NOT_SCORED, result.patterns()[i]);
+            }
+            assertEquals(model.isGameWon(), result.won());
+            assertEquals(model.isGameOver(), result.gameOver());
+            assertEquals(INumberleModel.MAX_ATTEMPTS - model.getRemainingAttempts(), result.attempts());
+        }
+    }
+
+    /**
+     * testReplayAll() Scenario:
+     * Replay many games in parallel and check each result equals replaying that game alone.
+     */
+    @Test
+    public void testReplayAll() throws IOException {
+        List<String> equations = Files.readAllLines(Paths.get("equations.txt"));
+        Random random = new Random(13);
+        String[] targets = new String[5_000];
+        String[][] guesses = new String[targets.length][];
+        for (int g = 0; g < targets.length; g++) {
+            targets[g] = equations.get(random.nextInt(equations.size()));
+            guesses[g] = random.ints(random.nextInt(8), 0, equations.size()).mapToObj(equations::get).toArray(String[]::new);
+        }
+        GuessBatch.Result[] results = GuessBatch.replayAll(targets, guesses, true);
+        for (int g = 0; g < targets.length; g++) {
+            GuessBatch.Result expected = GuessBatch.replay(FeedbackEngine.encode(targets[g]), guesses[g], true);
+            assertArrayEquals(expected.patterns(), results[g].patterns());
+            assertArrayEquals(expected.results(), results[g].results());
+            assertEquals(expected.won(), results[g].won());
+        }
+    }
+}
@@ -0,0 +1,92 @@
+/**
+ * Formats a scored guess for one kind of output, from the packed guess and feedback pattern the model keeps.
+ * <p>
+ * Renderers append to a buffer owned by the caller, so a caller can reuse one buffer for every guess, and nothing
+ * is formatted until some output actually asks for it. The standard renderers are stateless and thread safe.
+ */
+public interface GuessRenderer {
+    // colored tiles for a terminal, one escape code and reset per tile
+    GuessRenderer ANSI = (engine, guess, pattern, out) -> {
+        for (int i = 0; i < engine.length(); i++) {
+            out.append(switch (FeedbackEngine.stateAt(pattern, i)) {
+                case FeedbackEngine.GREEN -> "\033[32m";  // Green
+                case FeedbackEngine.ORANGE -> "\033[93m"; // Bright Yellow (for a vivid orange-like color)
+                default -> "\033[90m";                    // Bright Black (for gray)
+            }).append(symbolAt(guess, i)).append("\033[0m");
+        }
+    };
+
+    // the guess and its G/O/X feedback, such as 1+5=2+4 XGXOGXX
+    GuessRenderer PLAIN = (engine, guess, pattern, out) -> {
+        appendSymbols(engine, guess, out);
+        out.append(' ');
+        appendFeedback(engine, pattern, out);
+    };
+
+    // a JSON object, such as {"guess":"1+5=2+4","feedback":"XGXOGXX"}; no symbol needs escaping
+    GuessRenderer JSON = (engine, guess, pattern, out) -> {
+        out.append("{\"guess\":\"");
+        appendSymbols(engine, guess, out);
+        out.append("\",\"feedback\":\"");
+        appendFeedback(engine, pattern, out);
+        out.append("\"}");
+    };
+
+    // HTML for Swing text components such as a JLabel, each tile on the background color of the board
+    GuessRenderer SWING = (engine, guess, pattern, out) -> {
+        out.append("<html>");
+        for (int i = 0; i < engine.length(); i++) {
+            out.append(switch (FeedbackEngine.stateAt(pattern, i)) {
+                case FeedbackEngine.GREEN -> "<span style='background:#3dbfa5'>";
+                case FeedbackEngine.ORANGE -> "<span style='background:#f19b71'>";
+                default -> "<span style='background:#a5acc3'>";
+            }).append(symbolAt(guess, i)).append("</span>");
+        }
+        out.append("</html>");
+    };
+
+    /**
+     * Appends a guess with its feedback.
+     *
+     * @requires guess is packed by the engine && 0 <= pattern && pattern < engine.patternCount()
+     */
+    void render(TileEngine engine, long guess, int pattern, StringBuilder out);
+
+    // Renders a guess into a new string, for one-off output
+    default String render(TileEngine engine, long guess, int pattern) {
+        StringBuilder out = new StringBuilder(engine.length() * 2);
+        render(engine, guess, pattern, out);
+        return out.toString();
+    }
+
+    // Returns the standard renderer with the name, case insensitive: ansi, plain, json or swing
+    static GuessRenderer named(String name) {
+        return switch (name.toLowerCase()) {
+            case "ansi" -> ANSI;
+            case "plain" -> PLAIN;
+            case "json" -> JSON;
+            case "swing" -> SWING;
+            default -> throw new IllegalArgumentException("Unknown renderer: " + name);
+        };
+    }
+
+    private static char symbolAt(long guess, int i) {
+        return FeedbackEngine.ALPHABET.charAt(FeedbackEngine.tileAt(guess, i));
+    }
+
+    private static void appendSymbols(TileEngine engine, long guess, StringBuilder out) {
+        for (int i = 0; i < engine.length(); i++) {
+            out.append(symbolAt(guess, i));
+        }
+    }
+
+    private static void appendFeedback(TileEngine engine, int pattern, StringBuilder out) {
+        for (int i = 0; i < engine.length(); i++) {
+            out.append(switch (FeedbackEngine.stateAt(pattern, i)) {
+                case FeedbackEngine.GREEN -> 'G';
+                case FeedbackEngine.ORANGE -> 'O';
+                default -> 'X';
+            });
+        }
+    }
+}
@@ -0,0 +1,56 @@
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GuessRendererTest {
+
+    /**
+     * testStandardRenderers() Scenario:
+     * Render the guess 1+5=2+4 against the target 2+3*2=8 with every standard renderer and check the output.
+     */
+    @Test
+    public void testStandardRenderers() {
+        TileEngine engine = TileEngine.CLASSIC;
+        long guess = engine.encode("1+5=2+4");
+        int pattern = engine.score(guess, engine.encode("2+3*2=8"));
+
+        assertEquals("1+5=2+4 XGXOGXX", GuessRenderer.PLAIN.render(engine, guess, pattern));
+        assertEquals("{\"guess\":\"1+5=2+4\",\"feedback\":\"XGXOGXX\"}", GuessRenderer.JSON.render(engine, guess, pattern));
+        String ansi = GuessRenderer.ANSI.render(engine, guess, pattern);
+        assertTrue(ansi.startsWith("\033[90m1\033[0m\033[32m+\033[0m"), "Each tile should carry its own color and reset.");
+        assertEquals(7 * ("\033[90m".length() + 1 + "\033[0m".length()), ansi.length());
+        String html = GuessRenderer.SWING.render(engine, guess, pattern);
+        assertTrue(html.startsWith("<html><span style='background:#a5acc3'>1</span>") && html.endsWith("</html>"));
+        assertSame(GuessRenderer.JSON, GuessRenderer.named("Json"));
+        assertThrows(IllegalArgumentException.class, () -> GuessRenderer.named("xml"));
+    }
+
+    /**
+     * testModelRendersOnDemand() Scenario:
+     * Play two guesses and check the current guess is rendered by the chosen renderer into the same reused buffer,
+     * and that any earlier guess can be rendered on request.
+     */
+    @Test
+    public void testModelRendersOnDemand() {
+        INumberleModel model = new NumberleModel();
+        model.initialize(model, 1, 1, 0);
+        assertEquals("       ", model.getCurrentGuess().toString());
+
+        model.processInput("1+5=2+4");
+        model.setRenderer(GuessRenderer.PLAIN);
+        StringBuilder buffer = model.getCurrentGuess();
+        assertEquals("1+5=2+4 XGXOGXX", buffer.toString());
+
+        model.processInput("2+3*2=8");
+        assertSame(buffer, model.getCurrentGuess());
+        assertEquals("2+3*2=8 GGGGGGG", buffer.toString());
+
+        StringBuilder out = new StringBuilder();
+        model.renderGuess(0, GuessRenderer.JSON, out);
+        assertEquals("{\"guess\":\"1+5=2+4\",\"feedback\":\"XGXOGXX\"}", out.toString());
+        assertThrows(IndexOutOfBoundsException.class, () -> model.renderGuess(2, GuessRenderer.PLAIN, new StringBuilder()));
+
+        model.restartGame();
+        assertEquals("       ", model.getCurrentGuess().toString());
+    }
+}
@@ -0,0 +1,23 @@
+/**
+ * Decides whether an equation is arithmetically balanced.
+ * <p>
+ * Shared by {@code NumberleModel.isValidEquation} and bulk validators such as {@link EquationGenerator},
+ * so every caller applies the same arithmetic rules.
+ */
+public interface IEquationEvaluator {
+
+    /**
+     * Checks whether the first {@code end} characters of the equation read as {@code left=right}, where both sides are
+     * well-formed expressions over the digits and {@code + - * /} that evaluate to the same value.
+     *
+     * @requires equation != null && 0 <= end && end <= equation.length()
+     */
+    boolean isBalanced(CharSequence equation, int end);
+
+    /**
+     * Checks the first {@code end} tiles of an equation packed as by {@link FeedbackEngine#encode}.
+     *
+     * @requires 0 <= end && end <= 16
+     */
+    boolean isBalanced(long code, int end);
+}
@@ -3,7 +3,7 @@ import java.util.Scanner;
 import java.util.Set;
 
 public interface INumberleModel {
-    // Constants for the game attempts
+    // Constants for the game attempts of the classic variant, see getVariant for the current game
     int MAX_ATTEMPTS = 6;
 
     void initialize(INumberleModel model, int showEquation, int validateInput, int randomSelection);
@@ -12,6 +12,22 @@ public interface INumberleModel {
 
     boolean processInput(String input);
 
+    GuessBatch.Result processBatch(String targetEquation, String[] guesses);
+
+    // The targets consistent with the feedback of the current game, for hints and for checking claimed targets
+    int countConsistentTargets();
+
+    List<String> getConsistentTargets(int limit);
+
+    boolean isConsistentTarget(String equation);
+
+    List<String> getGuessHistory();
+
+    // Captures the game in progress as a fixed-size record, and resumes one without validating its guesses again
+    GameSnapshot snapshot();
+
+    void restore(GameSnapshot snapshot);
+
     boolean isGameOver();
 
     boolean isGameWon();
@@ -20,6 +36,13 @@ public interface INumberleModel {
 
     StringBuilder getCurrentGuess();
 
+    // Formats the guesses of the current game, see GuessRenderer
+    void renderGuess(int index, GuessRenderer renderer, StringBuilder out);
+
+    void setRenderer(GuessRenderer renderer);
+
+    GuessRenderer getRenderer();
+
     int getRemainingAttempts();
 
     void setDisplayTargetEquation(boolean displayTargetEquation);
@@ -28,6 +51,16 @@ public interface INumberleModel {
 
     void setUseRandomSelection(boolean useRandomSelection);
 
+    // Replaces the scheduler picking the targets of the following games, for a seeded or daily game
+    void setTargetScheduler(TargetScheduler scheduler);
+
+    TargetScheduler getTargetScheduler();
+
+    // Switches the equation length and number of attempts from the next restartGame on, refusing a length without equations
+    void setVariant(GameVariant variant);
+
+    GameVariant getVariant();
+
     boolean getDisplayTargetEquation();
 
     boolean getDisplayErrorIfInvalid();
@@ -44,7 +77,13 @@ public interface INumberleModel {
 
     String getFeedback();
 
+    int getFeedbackPattern();
+
     List<Integer> getErrorIndices();
 
     List<String> getErrorMessages();
+
+    void addListener(NumberleListener listener);
+
+    void removeListener(NumberleListener listener);
 }
\ No newline at end of file
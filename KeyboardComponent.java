@@ -0,0 +1,173 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.io.Serial;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The on-screen keyboard painted as a single component: the digits on the first row, the operators with Delete and
+ * Enter on the second.
+ * <p>
+ * The color of each symbol key is one byte, indexed by its tile code (see {@link FeedbackEngine#tileCode}), and is
+ * updated from the {@link KeyboardState} masks of each guess. Only the keys whose color changes are repainted.
+ * Pressing a key, with the mouse or through {@link #press}, fires an action event whose command is the key label.
+ * Must be used on the event dispatch thread.
+ */
+public class KeyboardComponent extends JComponent {
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    // the labels of the keys, row by row
+    private static final String[][] KEYS = {
+            {"0", "1", "2", "3", "4", "5", "6", "7", "8", "9"},
+            {"Delete", "+", "-", "*", "/", "=", "Enter"}};
+
+    private static final Color BORDER_COLOR = new Color(180, 186, 200);
+    private static final Font KEY_FONT = new Font("Arial", Font.BOLD, 20);
+
+    // the color state of each symbol key, see BoardComponent, EMPTY for an unused key
+    private final byte[] keyStates = new byte[KeyboardState.KEYS];
+    private final List<ActionListener> listeners = new CopyOnWriteArrayList<>();
+    private boolean keysEnabled = true;
+
+    public KeyboardComponent() {
+        setOpaque(true);
+        setBackground(UIManager.getColor("Panel.background"));
+        setPreferredSize(new Dimension(700, 100));
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                for (int row = 0; row < KEYS.length; row++) {
+                    for (int column = 0; column < KEYS[row].length; column++) {
+                        if (keyBounds(row, column).contains(e.getPoint())) {
+                            press(KEYS[row][column]);
+                            return;
+                        }
+                    }
+                }
+            }
+        });
+    }
+
+    public void addActionListener(ActionListener listener) {
+        listeners.add(listener);
+    }
+
+    // Fires the action of a key, unless the keys are disabled
+    public void press(String key) {
+        if (!keysEnabled) {
+            return;
+        }
+        ActionEvent event = new ActionEvent(this, ActionEvent.ACTION_PERFORMED, key);
+        for (ActionListener listener : listeners) {
+            listener.actionPerformed(event);
+        }
+    }
+
+    // Enables or disables every key, disabled keys are painted faded and ignore presses
+    public void setKeysEnabled(boolean enabled) {
+        if (keysEnabled != enabled) {
+            keysEnabled = enabled;
+            repaint();
+        }
+    }
+
+    public boolean isKeysEnabled() {
+        return keysEnabled;
+    }
+
+    /**
+     * Applies the keyboard masks of a guess. A green or grey key keeps its color; any other key turns green if it is
+     * in the correct position, grey if it is not in the equation, orange if it is in the wrong position and back to
+     * unused otherwise.
+     */
+    public void applyKeys(int correctPositions, int wrongPositions, int notInEquation) {
+        for (int code = 0; code < keyStates.length; code++) {
+            byte state = keyStates[code];
+            if (state == BoardComponent.GREEN || state == BoardComponent.GREY) {
+                continue;
+            }
+            int key = 1 << code;
+            byte next = (correctPositions & key) != 0 ? BoardComponent.GREEN
+                    : (notInEquation & key) != 0 ? BoardComponent.GREY
+                    : (wrongPositions & key) != 0 ? BoardComponent.ORANGE
+                    : BoardComponent.EMPTY;
+            if (next != state) {
+                keyStates[code] = next;
+                repaintKey(FeedbackEngine.ALPHABET.charAt(code));
+            }
+        }
+    }
+
+    // Returns every key to unused and enables the keys
+    public void reset() {
+        Arrays.fill(keyStates, BoardComponent.EMPTY);
+        keysEnabled = true;
+        repaint();
+    }
+
+    private void repaintKey(char symbol) {
+        for (int row = 0; row < KEYS.length; row++) {
+            for (int column = 0; column < KEYS[row].length; column++) {
+                if (KEYS[row][column].length() == 1 && KEYS[row][column].charAt(0) == symbol) {
+                    repaint(keyBounds(row, column));
+                }
+            }
+        }
+    }
+
+    @Override
+    protected void paintComponent(Graphics graphics) {
+        Graphics2D g = (Graphics2D) graphics.create();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            Rectangle clip = g.getClipBounds();
+            if (clip == null) {
+                clip = new Rectangle(0, 0, getWidth(), getHeight());
+            }
+            g.setColor(getBackground());
+            g.fill(clip);
+            g.setFont(KEY_FONT);
+            FontMetrics metrics = g.getFontMetrics();
+            for (int row = 0; row < KEYS.length; row++) {
+                for (int column = 0; column < KEYS[row].length; column++) {
+                    Rectangle bounds = keyBounds(row, column);
+                    if (bounds.intersects(clip)) {
+                        paintKey(g, metrics, bounds, KEYS[row][column]);
+                    }
+                }
+            }
+        } finally {
+            g.dispose();
+        }
+    }
+
+    private void paintKey(Graphics2D g, FontMetrics metrics, Rectangle bounds, String label) {
+        byte state = label.length() == 1 ? keyStates[FeedbackEngine.tileCode(label.charAt(0))] : BoardComponent.EMPTY;
+        g.setColor(switch (state) {
+            case BoardComponent.GREEN -> BoardComponent.GREEN_COLOR;
+            case BoardComponent.ORANGE -> BoardComponent.ORANGE_COLOR;
+            case BoardComponent.GREY -> BoardComponent.GREY_COLOR;
+            default -> BoardComponent.WHITE_COLOR;
+        });
+        g.fillRect(bounds.x, bounds.y, bounds.width, bounds.height);
+        g.setColor(BORDER_COLOR);
+        g.drawRect(bounds.x, bounds.y, bounds.width - 1, bounds.height - 1);
+        g.setColor(keysEnabled ? Color.BLACK : Color.GRAY);
+        g.drawString(label, bounds.x + (bounds.width - metrics.stringWidth(label)) / 2,
+                bounds.y + (bounds.height - metrics.getHeight()) / 2 + metrics.getAscent());
+    }
+
+    // The bounds of a key, the keys of a row share its width equally
+    private Rectangle keyBounds(int row, int column) {
+        int height = getHeight() / KEYS.length;
+        int count = KEYS[row].length;
+        int x = column * getWidth() / count;
+        return new Rectangle(x, row * height, (column + 1) * getWidth() / count - x, height);
+    }
+}
@@ -0,0 +1,139 @@
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.IntSupplier;
+
+/**
+ * The keyboard of a game packed into a single {@code long}.
+ * <p>
+ * Each of the four keyboard sets is a 15-bit mask over {@link FeedbackEngine#ALPHABET}, bit i standing for the
+ * symbol with tile code i: the keys in the correct position, in the wrong position and not in the equation for the
+ * last guess, and every key used in any guess of the game. The unused keys are the complement of the used ones.
+ * {@link #update} applies a whole guess at once, and the {@code Set<Character>} views read the masks without boxing.
+ */
+public final class KeyboardState {
+    // the number of keys, and the mask holding all of them
+    public static final int KEYS = FeedbackEngine.ALPHABET.length();
+    public static final int ALL_KEYS = (1 << KEYS) - 1;
+
+    // the state of a new game, where every key is unused
+    public static final long EMPTY = 0;
+
+    // the bit offset of each mask
+    private static final int CORRECT = 0;
+    private static final int WRONG = KEYS;
+    private static final int ABSENT = 2 * KEYS;
+    private static final int USED = 3 * KEYS;
+
+    private KeyboardState() {
+    }
+
+    /**
+     * Applies a scored guess. The sets of the last guess are rebuilt from its tiles in order, a key going to the first
+     * set it qualifies for: correct, then wrong position unless already correct, then absent unless in either.
+     *
+     * @requires 0 <= pattern && pattern < FeedbackEngine.PATTERN_COUNT
+     * @ensures unused(\result) == unused(state) & ~(every key of the guess)
+     */
+    public static long update(long state, long guess, int pattern) {
+        return update(state, guess, pattern, FeedbackEngine.LENGTH);
+    }
+
+    // Applies a scored guess of the given number of tiles, see update(long, long, int)
+    public static long update(long state, long guess, int pattern, int length) {
+        int correct = 0, wrong = 0, absent = 0, used = usedKeys(state);
+        for (int i = 0; i < length; i++) {
+            int key = 1 << FeedbackEngine.tileAt(guess, i);
+            switch (FeedbackEngine.stateAt(pattern, i)) {
+                case FeedbackEngine.GREEN -> correct |= key;
+                case FeedbackEngine.ORANGE -> wrong |= key & ~correct;
+                default -> absent |= key & ~correct & ~wrong;
+            }
+            used |= key;
+        }
+        return pack(correct, wrong, absent, used);
+    }
+
+    private static long pack(int correct, int wrong, int absent, int used) {
+        return (long) correct << CORRECT | (long) wrong << WRONG | (long) absent << ABSENT | (long) used << USED;
+    }
+
+    public static int correctPositions(long state) {
+        return (int) (state >>> CORRECT) & ALL_KEYS;
+    }
+
+    public static int wrongPositions(long state) {
+        return (int) (state >>> WRONG) & ALL_KEYS;
+    }
+
+    public static int notInEquation(long state) {
+        return (int) (state >>> ABSENT) & ALL_KEYS;
+    }
+
+    public static int usedKeys(long state) {
+        return (int) (state >>> USED) & ALL_KEYS;
+    }
+
+    public static int unused(long state) {
+        return ~usedKeys(state) & ALL_KEYS;
+    }
+
+    /**
+     * Returns the mask bit of a keyboard symbol, 0 for characters outside the alphabet.
+     */
+    public static int keyBit(char key) {
+        int tile = FeedbackEngine.tileCode(key);
+        return tile < 0 ? 0 : 1 << tile;
+    }
+
+    // Returns a read-only set of the keys of a mask, in keyboard order
+    public static Set<Character> keys(int mask) {
+        return new KeySet(() -> mask);
+    }
+
+    // Returns a read-only set that always reflects the current value of the mask, in keyboard order
+    public static Set<Character> view(IntSupplier mask) {
+        return new KeySet(mask);
+    }
+
+    private static final class KeySet extends AbstractSet<Character> {
+        private final IntSupplier mask;
+
+        KeySet(IntSupplier mask) {
+            this.mask = mask;
+        }
+
+        @Override
+        public int size() {
+            return Integer.bitCount(mask.getAsInt());
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return o instanceof Character key && (mask.getAsInt() & keyBit(key)) != 0;
+        }
+
+        @Override
+        public Iterator<Character> iterator() {
+            return new Iterator<>() {
+                private int remaining = mask.getAsInt();
+
+                @Override
+                public boolean hasNext() {
+                    return remaining != 0;
+                }
+
+                @Override
+                public Character next() {
+                    if (remaining == 0) {
+                        throw new NoSuchElementException();
+                    }
+                    int tile = Integer.numberOfTrailingZeros(remaining);
+                    remaining &= remaining - 1;
+                    return FeedbackEngine.ALPHABET.charAt(tile);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,61 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class KeyboardStateTest {
+
+    /**
+     * testMatchesSetSemantics() Scenario:
+     * Play random games over equations.txt and check the packed keyboard matches the original LinkedHashSet
+     * bookkeeping after every guess.
+     */
+    @Test
+    public void testMatchesSetSemantics() throws IOException {
+        List<String> equations = Files.readAllLines(Paths.get("equations.txt"));
+        Random random = new Random(7);
+        for (int game = 0; game < 200; game++) {
+            String target = equations.get(random.nextInt(equations.size()));
+            long state = KeyboardState.EMPTY;
+            Set<Character> correct = new LinkedHashSet<>(), wrong = new LinkedHashSet<>(), absent = new LinkedHashSet<>();
+            Set<Character> unused = new LinkedHashSet<>(Arrays.asList('0', '1', '2', '3', '4', '5', '6', '7', '8', '9', '+', '-', '*', '/', '='));
+            for (int guess = 0; guess < INumberleModel.MAX_ATTEMPTS; guess++) {
+                String input = equations.get(random.nextInt(equations.size()));
+                String feedback = FeedbackEngine.referenceFeedback(input, target);
+
+                // the original updateSets
+                correct.clear();
+                wrong.clear();
+                absent.clear();
+                for (int i = 0; i < input.length(); i++) {
+                    char ch = input.charAt(i);
+                    switch (feedback.charAt(i)) {
+                        case 'G' -> correct.add(ch);
+                        case 'O' -> {
+                            if (!correct.contains(ch)) wrong.add(ch);
+                        }
+                        default -> {
+                            if (!correct.contains(ch) && !wrong.contains(ch)) absent.add(ch);
+                        }
+                    }
+                    unused.remove(ch);
+                }
+
+                long code = FeedbackEngine.encode(input);
+                state = KeyboardState.update(state, code, FeedbackEngine.score(code, FeedbackEngine.encode(target)));
+                assertEquals(correct, KeyboardState.keys(KeyboardState.correctPositions(state)));
+                assertEquals(wrong, KeyboardState.keys(KeyboardState.wrongPositions(state)));
+                assertEquals(absent, KeyboardState.keys(KeyboardState.notInEquation(state)));
+                assertEquals(unused, KeyboardState.keys(KeyboardState.unused(state)));
+            }
+        }
+    }
+}
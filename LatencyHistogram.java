@@ -0,0 +1,121 @@
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free latency histogram with log-linear buckets.
+ * <p>
+ * Values below 16 get a bucket each; above that every power of two is split into 16 sub-buckets, so a recorded
+ * value is reported within 1/16 of its true size, the same trade-off as an HDR histogram with one significant
+ * hex digit.
+ * <p>
+ * The buckets are striped: each stripe is its own array of counters, and a thread always records into the stripe of
+ * its id, so threads recording the same latency, which lands in the same bucket, mostly increment different cache
+ * lines instead of contending on one. Reading sums the stripes. Recording is one atomic increment on the thread's
+ * stripe plus two {@link LongAdder} updates, cheap enough for hot paths under load.
+ */
+public final class LatencyHistogram {
+    // the sub-buckets per power of two
+    private static final int SUB_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = (64 - SUB_BITS + 1) * SUB_BUCKETS;
+
+    // the number of stripes, the smallest power of two at least the number of cores, at most 16
+    private static final int STRIPES = Math.min(16, Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1)));
+
+    private final AtomicLongArray[] stripes = new AtomicLongArray[STRIPES];
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new AtomicLongArray(BUCKETS);
+        }
+    }
+
+    /**
+     * Records one value, usually a duration in nanoseconds.
+     *
+     * @requires value >= 0
+     */
+    public void record(long value) {
+        stripes[stripeOf(Thread.currentThread())].incrementAndGet(bucketOf(Math.max(0, value)));
+        total.increment();
+        sum.add(value);
+    }
+
+    // Returns the number of recorded values
+    public long count() {
+        return total.sum();
+    }
+
+    // Returns the mean of the recorded values, 0 when nothing was recorded
+    public double mean() {
+        long n = total.sum();
+        return n == 0 ? 0 : (double) sum.sum() / n;
+    }
+
+    /**
+     * Returns the value below which the given fraction of the recorded values fall, as the upper bound of its bucket.
+     *
+     * @requires 0 <= fraction && fraction <= 1
+     */
+    public long percentile(double fraction) {
+        long n = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i < BUCKETS; i++) {
+                long count = stripe.get(i);
+                snapshot[i] += count;
+                n += count;
+            }
+        }
+        if (n == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(BUCKETS - 1);
+    }
+
+    // Clears every bucket
+    public void reset() {
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i < BUCKETS; i++) {
+                stripe.set(i, 0);
+            }
+        }
+        total.reset();
+        sum.reset();
+    }
+
+    // Spreads the thread ids over the stripes, so threads created one after another land on different stripes
+    private static int stripeOf(Thread thread) {
+        long id = thread.getId() * 0x9E3779B97F4A7C15L;
+        return (int) (id >>> 32) & (STRIPES - 1);
+    }
+
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    private static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BITS - 1;
+        long sub = bucket % SUB_BUCKETS;
+        long lower = (SUB_BUCKETS + sub) << (exponent - SUB_BITS);
+        return lower + (1L << (exponent - SUB_BITS)) - 1;
+    }
+}
@@ -1,4 +1,6 @@
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public class NumberleController {
 
@@ -6,8 +8,21 @@ public class NumberleController {
 
     private NumberleView view;
 
+    // runs every change to the model, one at a time and in submission order
+    private final Executor executor;
+
+    // Creates a controller that changes the model on the calling thread
     public NumberleController(INumberleModel model) {
+        this(model, Runnable::run);
+    }
+
+    /**
+     * Creates a controller that changes the model on the executor, which must run tasks one at a time in order,
+     * such as a single thread executor. The view learns the outcome from the events of the model.
+     */
+    public NumberleController(INumberleModel model, Executor executor) {
         this.model = model;
+        this.executor = executor;
     }
 
     public void setView(NumberleView view) {
@@ -18,6 +33,11 @@ public class NumberleController {
         return model.processInput(input);
     }
 
+    // Validates and scores a guess on the executor, completing with whether the guess was valid
+    public CompletableFuture<Boolean> submitInput(String input) {
+        return CompletableFuture.supplyAsync(() -> model.processInput(input), executor);
+    }
+
     public boolean isGameOver() {
         return model.isGameOver();
     }
@@ -36,13 +56,13 @@ public class NumberleController {
 
     //initialize the game
     public void initializeGame(boolean showEquation, boolean validateInput, boolean randomSelection) {
-        model.initialize(model, showEquation ? 1 : 0, validateInput ? 1 : 0, randomSelection ? 1 : 0);
+        executor.execute(() -> model.initialize(model, showEquation ? 1 : 0, validateInput ? 1 : 0, randomSelection ? 1 : 0));
 
     }
 
     //restart the game
     public void restartGame() {
-        model.restartGame();
+        executor.execute(model::restartGame);
     }
 
     public boolean getDisplayTargetEquation() {
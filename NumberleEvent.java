@@ -0,0 +1,44 @@
+import java.util.List;
+
+/**
+ * The events an {@link INumberleModel} publishes to its {@link NumberleListener}s, one per state change.
+ * <p>
+ * Keyboard sets are carried as 15-bit masks over {@link FeedbackEngine#ALPHABET}, the same masks as
+ * {@link KeyboardState} (see {@link #keyBit}), so an event is a handful of primitives rather than copies of the sets.
+ */
+public sealed interface NumberleEvent {
+
+    /**
+     * A new game was started by initialize, restartGame or restore. The variant gives the size of the board, and the
+     * target is carried along so a listener on another thread never reads it from the model.
+     */
+    record GameStarted(boolean displayTargetEquation, boolean displayErrorIfInvalid, boolean useRandomSelection,
+                       int remainingAttempts, GameVariant variant, String targetEquation) implements NumberleEvent {
+    }
+
+    /**
+     * A guess was rejected and did not use up an attempt. The error indices are empty unless errors are displayed.
+     */
+    record GuessRejected(String input, List<Integer> errorIndices) implements NumberleEvent {
+    }
+
+    /**
+     * A guess was scored. The attempt is the row of the guess on the board, 0 for the first guess; the keyboard
+     * masks are the sets after the guess, and newlyUsed holds the keys that left the unused set with this guess.
+     */
+    record GuessEvaluated(String input, int feedbackPattern, int attempt, int remainingAttempts, boolean gameWon, boolean gameOver,
+                          int correctPositions, int wrongPositions, int notInEquation, int newlyUsed) implements NumberleEvent {
+
+        // Returns the G/O/X feedback of the guess, one letter per tile of the input
+        public String feedback() {
+            return TileEngine.of(input.length()).toString(feedbackPattern);
+        }
+    }
+
+    /**
+     * Returns the mask bit of a keyboard symbol, 0 for characters outside the alphabet.
+     */
+    static int keyBit(char key) {
+        return KeyboardState.keyBit(key);
+    }
+}
@@ -0,0 +1,322 @@
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A small HTTP/JSON front end for the games of a {@link NumberleSessionManager}, built on the JDK's own HTTP server.
+ * <p>
+ * Connections are multiplexed by the server's selector thread, and each request runs on a virtual thread when the
+ * runtime has them (JDK 21+), otherwise on a small fixed pool, so clients never hold a thread of their own.
+ * Every endpoint records its latency, reported as p50/p99 by {@code GET /stats}.
+ * <pre>
+ * POST   /sessions?showEquation=1&amp;validateInput=1&amp;randomSelection=1  start a game
+ * POST   /sessions?daily=1             start the puzzle of the day, the same on every server
+ * GET    /sessions/{id}                the whole game state
+ * POST   /sessions/{id}/restart        restartGame
+ * POST   /sessions/{id}/guess?input=.. processInput, the guess may also be sent as the body
+ * GET    /sessions/{id}/feedback       getFeedback
+ * GET    /sessions/{id}/remaining      getRemainingAttempts
+ * GET    /sessions/{id}/keyboard       the four keyboard sets
+ * DELETE /sessions/{id}                end the game
+ * GET    /stats                        latency per endpoint
+ * GET    /metrics                      the gameplay metrics of {@link NumberleMetrics} as text
+ * </pre>
+ * Usage: {@code java NumberleHttpServer [port]}
+ */
+public class NumberleHttpServer implements AutoCloseable {
+    // the endpoints whose latency is recorded
+    private static final String[] ENDPOINTS = {"create", "state", "restart", "guess", "feedback", "remaining", "keyboard", "close"};
+
+    // the daily puzzle is stateless, so one scheduler serves every session
+    private static final TargetScheduler DAILY = TargetScheduler.daily(TargetScheduler.DEFAULT_DAILY_SEED);
+
+    private final NumberleSessionManager manager;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, LatencyHistogram> latencies;
+
+    /**
+     * Creates a server for the sessions of the manager on the port, 0 picks a free port.
+     */
+    public NumberleHttpServer(NumberleSessionManager manager, int port) throws IOException {
+        this.manager = manager;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        this.executor = newRequestExecutor();
+        Map<String, LatencyHistogram> histograms = new LinkedHashMap<>();
+        for (String endpoint : ENDPOINTS) {
+            histograms.put(endpoint, new LatencyHistogram());
+        }
+        this.latencies = Collections.unmodifiableMap(histograms);
+
+        server.createContext("/sessions", this::handleSessions);
+        server.createContext("/stats", this::handleStats);
+        server.createContext("/metrics", this::handleMetrics);
+        server.setExecutor(executor);
+    }
+
+    // Uses a virtual thread per request when the runtime has them, otherwise a small fixed pool
+    private static ExecutorService newRequestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()), runnable -> {
+                Thread thread = new Thread(runnable, "numberle-http");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    // Returns the port the server listens on
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Routes /sessions and /sessions/{id}[/action]
+    private void handleSessions(HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        String[] path = exchange.getRequestURI().getPath().split("/");
+        String method = exchange.getRequestMethod();
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+        String endpoint = null;
+        try {
+            if (path.length == 2) {
+                endpoint = "create";
+                if (!method.equals("POST")) {
+                    send(exchange, 405, error("Use POST to start a game"));
+                    return;
+                }
+                long id = query.containsKey("daily") && flag(query, "daily")
+                        ? manager.createSession(flag(query, "showEquation"), flag(query, "validateInput"), DAILY)
+                        : manager.createSession(flag(query, "showEquation"), flag(query, "validateInput"), flag(query, "randomSelection"));
+                send(exchange, 201, state(id, manager.get(id)));
+                return;
+            }
+
+            long id;
+            try {
+                id = Long.parseLong(path[2]);
+            } catch (NumberFormatException e) {
+                send(exchange, 404, error("Unknown session: " + path[2]));
+                return;
+            }
+            GameSession session = manager.get(id);
+            String action = path.length > 3 ? path[3] : "";
+            endpoint = switch (action) {
+                case "" -> method.equals("DELETE") ? "close" : "state";
+                case "restart", "guess", "feedback", "remaining", "keyboard" -> action;
+                default -> null;
+            };
+            if (endpoint == null) {
+                send(exchange, 404, error("Unknown action: " + action));
+                return;
+            }
+            if ((endpoint.equals("restart") || endpoint.equals("guess")) && !method.equals("POST")) {
+                // these change the game, so a GET or a prefetch must never trigger them
+                send(exchange, 405, error("Use POST to " + (endpoint.equals("guess") ? "send a guess" : "restart a game")));
+                return;
+            }
+            if (session == null) {
+                send(exchange, 404, error("Unknown session: " + id));
+                return;
+            }
+
+            switch (endpoint) {
+                case "close" -> send(exchange, 200, "{\"closed\":" + manager.close(id) + "}");
+                case "state" -> send(exchange, 200, state(id, session));
+                case "restart" -> {
+                    session.restartGame();
+                    send(exchange, 200, state(id, session));
+                }
+                case "guess" -> {
+                    String input = query.containsKey("input") ? query.get("input") : readBody(exchange);
+                    int result = session.processInput(input);
+                    StringBuilder json = new StringBuilder("{\"valid\":").append(result == EquationValidator.VALID);
+                    if (result == GameSession.GAME_OVER) {
+                        json.append(",\"message\":").append(quote("The game is over."));
+                    } else if (result != EquationValidator.VALID && session.getDisplayErrorIfInvalid()) {
+                        json.append(",\"error\":").append(result)
+                                .append(",\"message\":").append(quote(EquationValidator.message(result, session.getVariant().length())));
+                    }
+                    json.append(",\"state\":").append(state(id, session)).append('}');
+                    send(exchange, 200, json.toString());
+                }
+                case "feedback" -> send(exchange, 200, "{\"feedback\":" + quote(session.getFeedback()) + "}");
+                case "remaining" -> send(exchange, 200, "{\"remainingAttempts\":" + session.getRemainingAttempts() + "}");
+                default -> send(exchange, 200, keyboard(session, new StringBuilder()).toString());
+            }
+        } finally {
+            exchange.close();
+            if (endpoint != null) {
+                latencies.get(endpoint).record(System.nanoTime() - start);
+            }
+        }
+    }
+
+    // Reports the request count and p50/p99 latency in microseconds of each endpoint
+    private void handleStats(HttpExchange exchange) throws IOException {
+        try {
+            StringBuilder json = new StringBuilder("{");
+            for (Map.Entry<String, LatencyHistogram> entry : latencies.entrySet()) {
+                LatencyHistogram histogram = entry.getValue();
+                if (json.length() > 1) {
+                    json.append(',');
+                }
+                json.append(quote(entry.getKey())).append(":{\"count\":").append(histogram.count())
+                        .append(",\"p50Micros\":").append(histogram.percentile(0.50) / 1_000.0)
+                        .append(",\"p99Micros\":").append(histogram.percentile(0.99) / 1_000.0).append('}');
+            }
+            json.append(",\"sessions\":").append(manager.size()).append('}');
+            send(exchange, 200, json.toString());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        try {
+            byte[] bytes = NumberleMetrics.shared().snapshot().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(bytes);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    // Returns the latency histogram of an endpoint
+    public LatencyHistogram getLatency(String endpoint) {
+        return latencies.get(endpoint);
+    }
+
+    private static String state(long id, GameSession session) {
+        StringBuilder json = new StringBuilder("{\"session\":").append(id)
+                .append(",\"remainingAttempts\":").append(session.getRemainingAttempts())
+                .append(",\"gameOver\":").append(session.isGameOver())
+                .append(",\"gameWon\":").append(session.isGameWon())
+                .append(",\"feedback\":").append(quote(session.getFeedback()));
+        if (session.getDisplayTargetEquation()) {
+            json.append(",\"targetEquation\":").append(quote(session.getTargetEquation()));
+        }
+        json.append(",\"keyboard\":");
+        return keyboard(session, json).append('}').toString();
+    }
+
+    private static StringBuilder keyboard(GameSession session, StringBuilder json) {
+        return json.append("{\"correctPositions\":").append(quote(keys(session.getCorrectPositions())))
+                .append(",\"wrongPositions\":").append(quote(keys(session.getWrongPositions())))
+                .append(",\"notInEquation\":").append(quote(keys(session.getNotInEquation())))
+                .append(",\"unused\":").append(quote(keys(session.getUnused()))).append('}');
+    }
+
+    private static String keys(Set<Character> keys) {
+        StringBuilder builder = new StringBuilder(keys.size());
+        for (char key : keys) {
+            builder.append(key);
+        }
+        return builder.toString();
+    }
+
+    private static String error(String message) {
+        return "{\"error\":" + quote(message) + "}";
+    }
+
+    // Writes a JSON string literal, or null
+    static String quote(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder json = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        return json.append('"').toString();
+    }
+
+    private static boolean flag(Map<String, String> query, String name) {
+        String value = query.getOrDefault(name, "1");
+        return value.equals("1") || value.equalsIgnoreCase("true");
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            String name = URLDecoder.decode(equals < 0 ? pair : pair.substring(0, equals), StandardCharsets.UTF_8);
+            String value = equals < 0 ? "" : URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8);
+            query.put(name, value);
+        }
+        return query;
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream body = exchange.getRequestBody()) {
+            return new String(body.readAllBytes(), StandardCharsets.UTF_8).trim();
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream body = exchange.getResponseBody()) {
+            body.write(bytes);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        NumberleSessionManager manager = NumberleSessionManager.fromFile(Paths.get("equations.txt"), TimeUnit.MINUTES.toMillis(30));
+        manager.startEviction(TimeUnit.MINUTES.toMillis(1));
+        NumberleHttpServer server = new NumberleHttpServer(manager, port);
+        server.start();
+        System.out.println("Numberle server listening on http://localhost:" + server.getPort());
+    }
+}
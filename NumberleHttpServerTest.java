@@ -0,0 +1,88 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Paths;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NumberleHttpServerTest {
+
+    private NumberleHttpServer server;
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    // Start a server on a free localhost port before each test
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new NumberleHttpServer(NumberleSessionManager.fromFile(Paths.get("equations.txt"), 60_000), 0);
+        server.start();
+    }
+
+    // Stop the server after each test
+    @AfterEach
+    void tearDown() {
+        server.close();
+        server = null;
+    }
+
+    /**
+     * testPlayOverHttp() Scenario:
+     * Start a game without random selection, send an invalid and a valid guess, and check the feedback, attempts and stats,
+     * and that a guess or restart sent with GET is refused.
+     */
+    @Test
+    public void testPlayOverHttp() throws Exception {
+        HttpResponse<String> created = send("POST", "/sessions?randomSelection=0");
+        assertEquals(201, created.statusCode());
+        Matcher id = Pattern.compile("\"session\":(\\d+)").matcher(created.body());
+        assertTrue(id.find(), "The response should contain the session id.");
+        String session = "/sessions/" + id.group(1);
+
+        HttpResponse<String> invalid = send("POST", session + "/guess?input=1%2B2%3D3%2B4");
+        assertTrue(invalid.body().startsWith("{\"valid\":false,\"error\":6"), invalid.body());
+
+        HttpResponse<String> valid = send("POST", session + "/guess?input=1%2B5%3D2%2B4");
+        assertTrue(valid.body().startsWith("{\"valid\":true"), valid.body());
+        assertEquals("{\"feedback\":\"XGXOGXX\"}", send("GET", session + "/feedback").body());
+        assertEquals("{\"remainingAttempts\":5}", send("GET", session + "/remaining").body());
+        assertTrue(send("GET", session + "/keyboard").body().contains("\"correctPositions\":\"2+\""));
+
+        assertEquals(405, send("GET", session + "/guess?input=2%2B3*2%3D8").statusCode(), "Guesses should need POST.");
+        assertEquals(405, send("GET", session + "/restart").statusCode(), "Restarts should need POST.");
+        assertEquals("{\"remainingAttempts\":5}", send("GET", session + "/remaining").body(), "A refused request should not change the game.");
+        assertEquals(404, send("GET", "/sessions/999999/feedback").statusCode(), "Unknown sessions should not be found.");
+        assertEquals(3, server.getLatency("guess").count(), "Every guess request should be timed, even a refused one.");
+        assertTrue(send("GET", "/stats").body().contains("\"guess\":{\"count\":3"));
+    }
+
+    /**
+     * testMessagesOfVariant() Scenario:
+     * Serve games of 5 tiles and send a classic length guess, and check the error message asks for 5 characters.
+     */
+    @Test
+    public void testMessagesOfVariant() throws Exception {
+        server.close();
+        GameVariant variant = GameVariant.of(5, 6);
+        server = new NumberleHttpServer(new NumberleSessionManager(variant, EquationCorpus.shared(5), 60_000), 0);
+        server.start();
+
+        Matcher id = Pattern.compile("\"session\":(\\d+)").matcher(send("POST", "/sessions?randomSelection=0").body());
+        assertTrue(id.find());
+        HttpResponse<String> tooLong = send("POST", "/sessions/" + id.group(1) + "/guess?input=1%2B5%3D2%2B4");
+        assertTrue(tooLong.body().startsWith("{\"valid\":false,\"error\":" + EquationValidator.TOO_LONG), tooLong.body());
+        assertTrue(tooLong.body().contains("5 characters"), tooLong.body());
+    }
+
+    private HttpResponse<String> send(String method, String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path))
+                .method(method, HttpRequest.BodyPublishers.noBody()).build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
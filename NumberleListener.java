@@ -0,0 +1,7 @@
+/**
+ * Receives the events of an {@link INumberleModel}, on the thread chosen by the model's {@link EventDispatcher}.
+ */
+@FunctionalInterface
+public interface NumberleListener {
+    void onEvent(NumberleEvent event);
+}
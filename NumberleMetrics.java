@@ -0,0 +1,245 @@
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency histograms of the game's hot paths, shared by every model and session of the process.
+ * <p>
+ * Counters are striped {@link LongAdder}s and latencies go into {@link LatencyHistogram}s, so recording never locks
+ * and costs an uncontended increment or two, cheap enough to leave on under load. Reading the clock costs more than a
+ * guess, so guesses are timed one in {@link #TIMED_SAMPLE} per thread, whichever game or session they belong to. The
+ * numbers are exposed through JMX as {@code numberle:type=Metrics} and as a plain text {@link #snapshot()}.
+ */
+public final class NumberleMetrics implements NumberleMetricsMBean {
+    // the name the shared instance is registered under
+    public static final String OBJECT_NAME = "numberle:type=Metrics";
+
+    // one call in TIMED_SAMPLE on each thread is timed, see timeGuess and timeProcessInput
+    public static final int TIMED_SAMPLE = 16;
+    private static final int GUESS = 0;
+    private static final int PROCESS_INPUT = 1;
+
+    private static volatile NumberleMetrics shared;
+
+    // the calls of each thread since its last timed guess and processInput
+    private final ThreadLocal<int[]> untimed = ThreadLocal.withInitial(() -> new int[2]);
+
+    private final LongAdder guesses = new LongAdder();
+    private final LongAdder[] validationFailures = adders(EquationValidator.ERROR_MESSAGES.size());
+    private final LongAdder[] winsByAttempt = adders(GameVariant.MAX_MAX_ATTEMPTS + 1);
+    private final LongAdder losses = new LongAdder();
+    private final LatencyHistogram processInputTime = new LatencyHistogram();
+    private final LatencyHistogram guessTime = new LatencyHistogram();
+    private final LatencyHistogram corpusLoadTime = new LatencyHistogram();
+
+    /**
+     * Returns the metrics shared by the process, registering them with the platform MBean server on first use.
+     */
+    public static NumberleMetrics shared() {
+        NumberleMetrics metrics = shared;
+        if (metrics == null) {
+            synchronized (NumberleMetrics.class) {
+                metrics = shared;
+                if (metrics == null) {
+                    metrics = new NumberleMetrics();
+                    metrics.register(OBJECT_NAME);
+                    shared = metrics;
+                }
+            }
+        }
+        return metrics;
+    }
+
+    // Registers the metrics as an MBean; metrics keep recording when JMX is not available
+    public void register(String objectName) {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(objectName));
+        } catch (JMException | SecurityException e) {
+            System.err.println("Error registering metrics as " + objectName + ": " + e.getMessage());
+        }
+    }
+
+    private static LongAdder[] adders(int n) {
+        LongAdder[] adders = new LongAdder[n];
+        for (int i = 0; i < n; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    // Records a guess that was scored
+    public void recordGuess() {
+        guesses.increment();
+    }
+
+    // Checks whether the calling thread times its next guess, true once every TIMED_SAMPLE calls
+    public boolean timeGuess() {
+        return sample(GUESS);
+    }
+
+    // Checks whether the calling thread times its next processInput, true once every TIMED_SAMPLE calls
+    public boolean timeProcessInput() {
+        return sample(PROCESS_INPUT);
+    }
+
+    private boolean sample(int kind) {
+        int[] counts = untimed.get();
+        if (++counts[kind] < TIMED_SAMPLE) {
+            return false;
+        }
+        counts[kind] = 0;
+        return true;
+    }
+
+    // Records the time a whole guess took, from validation to the keyboard update, for the guesses that are sampled
+    public void recordGuessTime(long nanos) {
+        guessTime.record(nanos);
+    }
+
+    /**
+     * Records a rejected guess.
+     *
+     * @requires 0 <= errorIndex && errorIndex < EquationValidator.ERROR_MESSAGES.size()
+     */
+    public void recordValidationFailure(int errorIndex) {
+        validationFailures[errorIndex].increment();
+    }
+
+    /**
+     * Records a game won with the given guess, 1 for the first.
+     *
+     * @requires 1 <= attempt && attempt <= GameVariant.MAX_MAX_ATTEMPTS
+     */
+    public void recordWin(int attempt) {
+        winsByAttempt[attempt].increment();
+    }
+
+    public void recordLoss() {
+        losses.increment();
+    }
+
+    // Records the time a whole processInput call took, for the calls that are sampled
+    public void recordProcessInput(long nanos) {
+        processInputTime.record(nanos);
+    }
+
+    public void recordCorpusLoad(long nanos) {
+        corpusLoadTime.record(nanos);
+    }
+
+    @Override
+    public long getGuesses() {
+        return guesses.sum();
+    }
+
+    @Override
+    public long[] getValidationFailures() {
+        return sums(validationFailures);
+    }
+
+    @Override
+    public long getWins() {
+        long wins = 0;
+        for (LongAdder adder : winsByAttempt) {
+            wins += adder.sum();
+        }
+        return wins;
+    }
+
+    @Override
+    public long[] getWinsByAttempt() {
+        return sums(winsByAttempt);
+    }
+
+    @Override
+    public long getLosses() {
+        return losses.sum();
+    }
+
+    @Override
+    public long getProcessInputP50Nanos() {
+        return processInputTime.percentile(0.50);
+    }
+
+    @Override
+    public long getProcessInputP99Nanos() {
+        return processInputTime.percentile(0.99);
+    }
+
+    @Override
+    public long getGuessP50Nanos() {
+        return guessTime.percentile(0.50);
+    }
+
+    @Override
+    public long getGuessP99Nanos() {
+        return guessTime.percentile(0.99);
+    }
+
+    @Override
+    public long getCorpusLoads() {
+        return corpusLoadTime.count();
+    }
+
+    @Override
+    public double getCorpusLoadMeanMillis() {
+        return corpusLoadTime.mean() / 1_000_000.0;
+    }
+
+    private static long[] sums(LongAdder[] adders) {
+        long[] sums = new long[adders.length];
+        for (int i = 0; i < adders.length; i++) {
+            sums[i] = adders[i].sum();
+        }
+        return sums;
+    }
+
+    /**
+     * Returns every metric as text, one {@code name value} pair per line.
+     */
+    @Override
+    public String snapshot() {
+        StringBuilder text = new StringBuilder();
+        line(text, "numberle_guesses", getGuesses());
+        long[] failures = getValidationFailures();
+        for (int i = 0; i < failures.length; i++) {
+            line(text, "numberle_validation_failures{error=\"" + i + "\"}", failures[i]);
+        }
+        long[] wins = getWinsByAttempt();
+        for (int attempt = 1; attempt < wins.length; attempt++) {
+            line(text, "numberle_wins{attempt=\"" + attempt + "\"}", wins[attempt]);
+        }
+        line(text, "numberle_losses", getLosses());
+        latency(text, "numberle_process_input_nanos", processInputTime);
+        latency(text, "numberle_guess_nanos", guessTime);
+        latency(text, "numberle_corpus_load_nanos", corpusLoadTime);
+        return text.toString();
+    }
+
+    private static void latency(StringBuilder text, String name, LatencyHistogram histogram) {
+        line(text, name + "_count", histogram.count());
+        line(text, name + "{quantile=\"0.5\"}", histogram.percentile(0.50));
+        line(text, name + "{quantile=\"0.99\"}", histogram.percentile(0.99));
+    }
+
+    private static void line(StringBuilder text, String name, long value) {
+        text.append(name).append(' ').append(value).append('\n');
+    }
+
+    // Clears every counter and histogram
+    @Override
+    public void reset() {
+        guesses.reset();
+        losses.reset();
+        for (LongAdder adder : validationFailures) {
+            adder.reset();
+        }
+        for (LongAdder adder : winsByAttempt) {
+            adder.reset();
+        }
+        processInputTime.reset();
+        guessTime.reset();
+        corpusLoadTime.reset();
+    }
+}
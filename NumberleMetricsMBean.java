@@ -0,0 +1,34 @@
+/**
+ * The JMX view of {@link NumberleMetrics}, registered as {@code numberle:type=Metrics}.
+ */
+public interface NumberleMetricsMBean {
+
+    long getGuesses();
+
+    // the rejected guesses by index into EquationValidator.ERROR_MESSAGES
+    long[] getValidationFailures();
+
+    long getWins();
+
+    // the games won by the attempt they were won on, index 0 is unused
+    long[] getWinsByAttempt();
+
+    long getLosses();
+
+    long getProcessInputP50Nanos();
+
+    long getProcessInputP99Nanos();
+
+    // the time of a whole guess, from validation to the keyboard update, over a sample of the guesses
+    long getGuessP50Nanos();
+
+    long getGuessP99Nanos();
+
+    long getCorpusLoads();
+
+    double getCorpusLoadMeanMillis();
+
+    String snapshot();
+
+    void reset();
+}
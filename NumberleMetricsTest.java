@@ -0,0 +1,113 @@
+import org.junit.jupiter.api.Test;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NumberleMetricsTest {
+
+    /**
+     * testModelRecordsGuesses() Scenario:
+     * Play a game with the fixed target 2+3*2=8, sending an invalid guess, a wrong guess and the target,
+     * and check the counters move by exactly those guesses. Then send TIMED_SAMPLE more guesses on this thread and
+     * check exactly one guess and one processInput call of them is timed.
+     */
+    @Test
+    public void testModelRecordsGuesses() {
+        NumberleMetrics metrics = NumberleMetrics.shared();
+        INumberleModel model = new NumberleModel();
+        model.initialize(model, 1, 1, 0);
+
+        long guesses = metrics.getGuesses();
+        long missingEquals = metrics.getValidationFailures()[EquationValidator.MISSING_EQUALS];
+        long winsOnSecond = metrics.getWinsByAttempt()[2];
+        long losses = metrics.getLosses();
+
+        model.processInput("1+2+3+4");
+        model.processInput("1+5=2+4");
+        model.processInput("2+3*2=8");
+
+        assertEquals(guesses + 2, metrics.getGuesses(), "Only valid guesses should be scored.");
+        assertEquals(missingEquals + 1, metrics.getValidationFailures()[EquationValidator.MISSING_EQUALS]);
+        assertEquals(winsOnSecond + 1, metrics.getWinsByAttempt()[2], "The game should be won on the second attempt.");
+        assertEquals(losses, metrics.getLosses());
+
+        long timedGuesses = timedCount(metrics, "numberle_guess_nanos");
+        long timedInputs = timedCount(metrics, "numberle_process_input_nanos");
+        for (int i = 0; i < NumberleMetrics.TIMED_SAMPLE; i++) {
+            model.processInput("1+5=2+4"); // the game is over, the guess is still played and refused
+        }
+        assertEquals(timedGuesses + 1, timedCount(metrics, "numberle_guess_nanos"), "One guess in TIMED_SAMPLE should be timed.");
+        assertEquals(timedInputs + 1, timedCount(metrics, "numberle_process_input_nanos"));
+    }
+
+    // Reads the number of timed calls of a latency from the text snapshot
+    private static long timedCount(NumberleMetrics metrics, String latency) {
+        Matcher count = Pattern.compile(latency + "_count (\\d+)\n").matcher(metrics.snapshot());
+        assertTrue(count.find(), latency);
+        return Long.parseLong(count.group(1));
+    }
+
+    /**
+     * testJmxAndSnapshot() Scenario:
+     * Record into a fresh instance and check the text snapshot, then read the shared instance through the MBean server.
+     */
+    @Test
+    public void testJmxAndSnapshot() throws Exception {
+        NumberleMetrics metrics = new NumberleMetrics();
+        metrics.recordGuess();
+        metrics.recordGuessTime(1_000);
+        metrics.recordWin(3);
+        metrics.recordLoss();
+        metrics.recordValidationFailure(EquationValidator.NOT_BALANCED);
+
+        String snapshot = metrics.snapshot();
+        assertTrue(snapshot.contains("numberle_guesses 1\n"), snapshot);
+        assertTrue(snapshot.contains("numberle_guess_nanos_count 1\n"), snapshot);
+        assertTrue(snapshot.contains("numberle_wins{attempt=\"3\"} 1\n"), snapshot);
+        assertTrue(snapshot.contains("numberle_validation_failures{error=\"6\"} 1\n"), snapshot);
+        assertTrue(snapshot.contains("numberle_losses 1\n"), snapshot);
+
+        metrics.reset();
+        assertEquals(0, metrics.getGuesses());
+        assertEquals(0, metrics.getWins());
+
+        NumberleMetrics.shared();
+        Object guesses = ManagementFactory.getPlatformMBeanServer().getAttribute(new ObjectName(NumberleMetrics.OBJECT_NAME), "Guesses");
+        assertEquals(NumberleMetrics.shared().getGuesses(), guesses);
+    }
+
+    /**
+     * testStripedHistogram() Scenario:
+     * Record the same latency from several threads at once, and a few slower ones, and check the striped buckets add
+     * up to every value recorded and give the expected percentiles.
+     */
+    @Test
+    public void testStripedHistogram() throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    histogram.record(100);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        for (int i = 0; i < 100; i++) {
+            histogram.record(1_000_000);
+        }
+
+        assertEquals(40_100, histogram.count());
+        assertEquals(103, histogram.percentile(0.50), "100 lies in the bucket 96 to 103.");
+        assertTrue(histogram.percentile(1.0) >= 1_000_000);
+        histogram.reset();
+        assertEquals(0, histogram.percentile(0.99));
+    }
+}
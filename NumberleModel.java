@@ -1,75 +1,94 @@
 import java.util.*;
-import java.util.regex.Pattern;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.io.IOException;
 
 
-public class NumberleModel extends Observable implements INumberleModel {
+public class NumberleModel implements INumberleModel {
     //@ invariant MAX_ATTEMPTS == 6;
     //@ invariant validEquations != null && \forall String eq; validEquations.contains(eq); eq != null && eq.matches("[0-9\\+\\-\\*/=]*");
-    //@ invariant 0 <= remainingAttempts && remainingAttempts <= MAX_ATTEMPTS;
-    //@ invariant currentGuess != null && currentGuess.length() == 7;
-    //@ invariant gameWon == true || gameWon == false;
+    //@ invariant 0 <= game.remainingAttempts() && game.remainingAttempts() <= variant.maxAttempts();
+    //@ invariant 0 <= game.guessCount() && game.guessCount() + game.remainingAttempts() <= variant.maxAttempts();
 
-    //define four sets to store the characters
-    private final Set<Character> correctPositions = new LinkedHashSet<>();
-    private final Set<Character> wrongPositions = new LinkedHashSet<>();
-    private final Set<Character> notInEquation = new LinkedHashSet<>();
-    private final Set<Character> unused = new LinkedHashSet<>(Arrays.asList('0', '1', '2', '3', '4', '5', '6', '7', '8', '9', '+', '-', '*', '/', '='));
+    // the process-wide gameplay counters and timings
+    private final NumberleMetrics metrics = NumberleMetrics.shared();
 
-    // define target equation and current guess and remaining attempts and game status
+    // store the target, remaining attempts, game status, guesses and the keyboard masks, see GameState
+    private GameState game = new GameState(GameVariant.CLASSIC, metrics);
+
+    //read-only views of the keyboard sets
+    private final Set<Character> correctPositions = KeyboardState.view(() -> KeyboardState.correctPositions(game.keyboard()));
+    private final Set<Character> wrongPositions = KeyboardState.view(() -> KeyboardState.wrongPositions(game.keyboard()));
+    private final Set<Character> notInEquation = KeyboardState.view(() -> KeyboardState.notInEquation(game.keyboard()));
+    private final Set<Character> unused = KeyboardState.view(() -> KeyboardState.unused(game.keyboard()));
+
+    // define target equation
     private String targetEquation;
-    private StringBuilder currentGuess;
-    private int remainingAttempts;
-    private boolean gameWon;
+    private int targetOrdinal;
 
     // define the three boolean variables to initialize the model
     private boolean displayErrorIfInvalid;
     private boolean displayTargetEquation;
     private boolean useRandomSelection;
 
-    // define the list to store the equation list
-    private List<String> validEquations;
+    // picks the ordinal of each new target, the first equation unless random selection is on
+    private TargetScheduler targetScheduler = TargetScheduler.FIRST;
+
+    // the equation length and attempts of the games, and the engine of that length
+    private GameVariant variant = GameVariant.CLASSIC;
+    private TileEngine engine = TileEngine.CLASSIC;
+
+    // define the shared corpus of target equations
+    private EquationCorpus validEquations;
+
+    // the variant set during a game and its corpus, applied by the next startNewGame, null for none
+    private GameVariant nextVariant;
+    private EquationCorpus nextEquations;
 
-    // define the patterns to check the input equation
-    private static final Pattern VALID_CHARS_PATTERN = Pattern.compile("^[0-9\\+\\-\\*/=]*$");
-    private static final Pattern EQUAL_SIGN_PATTERN = Pattern.compile("=");
-    private static final Pattern ARITHMETIC_OPERATORS_PATTERN = Pattern.compile(".*[\\+\\-\\*/].");
-    private static final Pattern OPERATOR_SEQUENCE_PATTERN = Pattern.compile("[\\+\\-\\*/]{2,}");
+    // formats the last guess for getCurrentGuess, only when it is asked for, into a reused buffer
+    private GuessRenderer renderer = GuessRenderer.ANSI;
+    private final StringBuilder renderedGuess = new StringBuilder();
+    private int renderedGuesses = -1;
 
-    //store the equation color feedback
-    private String Feedback;
+    // the targets consistent with the first candidatesApplied guesses, built by the first query of a game
+    private CandidateSet candidates;
+    private EquationCorpus candidatesCorpus;
+    private int candidatesApplied;
 
     //store the error message index
     private final List<Integer> errorIndices = new ArrayList<>();
 
-    //store the error message list
-    private final List<String> ERROR_MESSAGES = List.of(
-            "⚠️ The equation contains illegal characters.",
-            "⚠️ The equation is too short; it must be at least 7 characters long.",
-            "⚠️ The equation is too long; it must not exceed 7 characters.",
-            "⚠️ The equation must contain an equal sign.",
-            "⚠️ The equation lacks an operator.",
-            "⚠️ Operators in the equation appear consecutively.",
-            "⚠️ The calculated results on both sides of the equality do not match."
-    );
+    //store the error message list, worded for the equation length
+    private List<String> errorMessages = EquationValidator.ERROR_MESSAGES;
+
+    // delivers one event per state change to the listeners
+    private final EventDispatcher events;
+
+    // Creates a model whose listeners are called on the thread that changes it
+    public NumberleModel() {
+        this(EventDispatcher.synchronous());
+    }
+
+    // Creates a model that publishes its events through the dispatcher
+    public NumberleModel(EventDispatcher events) {
+        this.events = events;
+    }
 
     /**
      * Resets the game settings and starts a new game.
      *
-     * @requires validEquations != null && !validEquations.isEmpty()
-     * @ensures remainingAttempts == MAX_ATTEMPTS && gameWon == false && currentGuess.length() == 7
-     * @assignable remainingAttempts, gameWon, currentGuess;
+     * @requires nextEquations != null || validEquations != null && !validEquations.isEmpty()
+     * @ensures getRemainingAttempts() == variant.maxAttempts() && !isGameWon() && getGuessHistory().isEmpty()
+     * @assignable game;
      */
     @Override
     public void restartGame() {
-        assert validEquations != null && !validEquations.isEmpty() : "Precondition failed: Valid equations must not be null or empty";
+        assert nextEquations != null || validEquations != null && !validEquations.isEmpty() : "Precondition failed: Valid equations must not be null or empty";
 
-        initializeSets();
         startNewGame();
+        if (events.hasListeners()) {
+            events.publish(new NumberleEvent.GameStarted(displayTargetEquation, displayErrorIfInvalid, useRandomSelection, game.remainingAttempts(), variant, targetEquation));
+        }
 
-        assert remainingAttempts == MAX_ATTEMPTS && !gameWon && currentGuess.length() == 7 : "Postcondition failed: Game state not reset properly";
+        assert game.remainingAttempts() == variant.maxAttempts() && !game.isGameWon() && game.guessCount() == 0 : "Postcondition failed: Game state not reset properly";
         assert validEquations != null : "Invariant violation: validEquations is null";
     }
 
@@ -89,7 +108,10 @@ public class NumberleModel extends Observable implements INumberleModel {
         assert model != null && (showEquation == 0 || showEquation == 1) &&
                 (validateInput == 0 || validateInput == 1) && (randomSelection == 0 || randomSelection == 1) : "Precondition failed: Invalid initialization parameters";
 
-        loadValidEquations();
+        // a variant set before the first game brings its own corpus
+        if (nextVariant == null) {
+            loadValidEquations();
+        }
         configureModel(model, showEquation, validateInput, randomSelection);
         restartGame();
 
@@ -102,54 +124,79 @@ public class NumberleModel extends Observable implements INumberleModel {
      * Processes the input from the user and updates the game state based on the validity of the input.
      *
      * @requires input != null
-     * @ensures (!\old(isValidEquation(input)) ==> \result == false) &&
-     *          (\old(isValidEquation(input)) ==> \result == true) &&
-     *          (\old(isValidEquation(input)) ==> remainingAttempts == \old(remainingAttempts) - 1) &&
-     *          (\old(input.equals(targetEquation)) ==> gameWon == true)
-     * @assignable remainingAttempts, gameWon;
+     * @ensures (\old(isGameOver()) ==> \result == false) &&
+     *          (!\old(isGameOver()) ==> \result == (input is a valid equation)) &&
+     *          (\result ==> getRemainingAttempts() == \old(getRemainingAttempts()) - 1) &&
+     *          (\result && input.equals(targetEquation) ==> isGameWon())
+     * @assignable game;
      */
     @Override
     public boolean processInput(String input) {
         assert input != null : "Precondition failed: Input cannot be null";
 
-        if (!isValidEquation(input)) {
-            for (int index : errorIndices) {
-                setChanged();
-                notifyObservers(ERROR_MESSAGES.get(index));
+        if (!metrics.timeProcessInput()) {
+            return evaluateInput(input);
+        }
+        long start = System.nanoTime();
+        try {
+            return evaluateInput(input);
+        } finally {
+            metrics.recordProcessInput(System.nanoTime() - start);
+        }
+    }
+
+    private boolean evaluateInput(String input) {
+        errorIndices.clear(); // clear the error indices
+
+        // the arithmetic is only checked when errors are displayed
+        long keyboardBefore = game.keyboard();
+        int result = game.play(input, displayErrorIfInvalid);
+        if (result == GameState.GAME_OVER) {
+            return false;  // a finished game takes no more guesses
+        }
+        if (result != EquationValidator.VALID) {
+            if (displayErrorIfInvalid) {
+                errorIndices.add(result);
+            }
+            if (events.hasListeners()) {
+                events.publish(new NumberleEvent.GuessRejected(input, List.copyOf(errorIndices)));
             }
-            assert !gameWon : "Postcondition failed: Game should not be won on invalid input";
             return false;  // directly return false if the input is invalid
         }
 
-        remainingAttempts--;  // reduce the remaining attempts
-        // notify the observer to check restart button
-        setChanged();
-        notifyObservers("Restart");
-        updateCurrentGuess(input);
-
-        // check if the input is the target equation
-        if (input.equals(targetEquation)) {
-            gameWon = true;
-            //notify the observer game won
-            setChanged();
-            notifyObservers("Congratulations on guessing the equation correctly!");
+        // publish the whole outcome of the guess as one event
+        if (events.hasListeners()) {
+            long keyboard = game.keyboard();
+            events.publish(new NumberleEvent.GuessEvaluated(input, game.feedbackPattern(), game.guessCount() - 1,
+                    game.remainingAttempts(), game.isGameWon(), game.isGameOver(),
+                    KeyboardState.correctPositions(keyboard), KeyboardState.wrongPositions(keyboard), KeyboardState.notInEquation(keyboard),
+                    KeyboardState.unused(keyboardBefore) & ~KeyboardState.unused(keyboard)));
         }
-        //notify the observer to check game failed
-        setChanged();
-        notifyObservers("CheckGameFailed");
-        assert (input.equals(targetEquation) == gameWon) : "Postcondition failed: Game won state mismatch";
+        assert (input.equals(targetEquation) == game.isGameWon()) : "Postcondition failed: Game won state mismatch";
         return true;
     }
 
 
+    /**
+     * Replays a whole game of guesses against a target with the current validation setting, without changing
+     * the game in progress or publishing any event.
+     *
+     * @requires targetEquation != null && targetEquation.length() == variant.length() && guesses != null
+     * @ensures \result.patterns().length == guesses.length
+     */
+    @Override
+    public GuessBatch.Result processBatch(String targetEquation, String[] guesses) {
+        return GuessBatch.replay(variant, engine.encode(targetEquation), guesses, displayErrorIfInvalid);
+    }
+
     /**
      * Checks if the game is over based on remaining attempts or if the game has been won.
      *
-     * @ensures \result == (remainingAttempts <= 0 || gameWon)
+     * @ensures \result == (getRemainingAttempts() <= 0 || isGameWon())
      */
     @Override
     public boolean isGameOver() {
-        return remainingAttempts <= 0 || gameWon;
+        return game.isGameOver();
     }
 
     /**
@@ -159,21 +206,34 @@ public class NumberleModel extends Observable implements INumberleModel {
      */
     @Override
     public boolean isGameWon() {
-        return gameWon;
+        return game.isGameWon();
     }
 
-    // Initializes a new game with a target equation either randomly selected or from the start of the list.
+    // Initializes a new game with a target equation picked by the target scheduler, in the variant set last.
     private void startNewGame() {
-        remainingAttempts = MAX_ATTEMPTS;
-        gameWon = false;
-        currentGuess = new StringBuilder("       ");
-        //check if the target equation is randomly selected
-        if (useRandomSelection) {
-            Random rand = new Random();
-            targetEquation = validEquations.get(rand.nextInt(validEquations.size()));
+        if (nextVariant != null) {
+            applyVariant(nextVariant, nextEquations);
+        }
+        // the scheduler picks the target in constant time without allocating
+        targetOrdinal = targetScheduler.next(validEquations.size());
+        resetGame(validEquations.code(targetOrdinal));
+    }
+
+    // Starts a game against the target, clearing the guesses and candidates of the last game
+    private void resetGame(long targetCode) {
+        if (!game.variant().equals(variant)) {
+            game = new GameState(variant, metrics);
+        }
+        game.start(targetCode);
+        targetEquation = engine.decode(targetCode);
+        renderedGuesses = -1;
+        // the candidates of the last game are reused when the corpus did not change
+        if (candidates != null && candidatesCorpus == validEquations) {
+            candidates.reset();
         } else {
-            targetEquation = validEquations.get(0); // always use the first equation in the list
+            candidates = null;
         }
+        candidatesApplied = 0;
     }
 
     // Configures the model with the provided settings
@@ -181,262 +241,198 @@ public class NumberleModel extends Observable implements INumberleModel {
         model.setDisplayTargetEquation(showEquation == 1);
         model.setDisplayErrorIfInvalid(validateInput == 1);
         model.setUseRandomSelection(randomSelection == 1);
-        setChanged();
-        notifyObservers();
-    }
-
-    // initialize the four sets
-    private void initializeSets() {
-        correctPositions.clear();
-        wrongPositions.clear();
-        notInEquation.clear();
-        unused.clear();
-        for (char c : "0123456789+-*/=".toCharArray()) {
-            unused.add(c);
-        }
     }
 
     private void loadValidEquations() {
-        // read the equations from the file
+        // use the shared corpus of the length, the file is only read by the first model
         try {
-            validEquations = Files.readAllLines(Paths.get("equations.txt"));
+            validEquations = EquationCorpus.shared(variant.length());
         } catch (IOException e) {
             System.err.println("Error reading equations from file: " + e.getMessage());
-            validEquations = new ArrayList<>();
+            validEquations = EquationCorpus.EMPTY;
         }
     }
 
-    private String evaluateFeedback(String input) {
-        // initialize the feedback string
-        StringBuilder feedback = new StringBuilder("       ");
-        // convert the input and target equation to char arrays
-        char[] inputChars = input.toCharArray();
-        char[] targetChars = targetEquation.toCharArray();
-
-        // first check for correct positions
-        for (int i = 0; i < inputChars.length; i++) {
-            if (inputChars[i] == targetChars[i]) {
-                feedback.setCharAt(i, 'G'); // Green indicates correct position
-                targetChars[i] = ' '; // mark as used
-            }
-        }
-
-        // then check for wrong positions
-        for (int i = 0; i < inputChars.length; i++) {
-            if (feedback.charAt(i) == 'G') continue; // skip correct positions
-            for (int j = 0; j < targetChars.length; j++) {
-                if (inputChars[i] == targetChars[j] && targetChars[j] != ' ') {
-                    feedback.setCharAt(i, 'O'); // Orange indicates wrong position
-                    targetChars[j] = ' '; // mark as used
-                    break;
-                }
-            }
-        }
-
-        // finally, mark the remaining characters as not in the equation
-        for (int i = 0; i < feedback.length(); i++) {
-            if (feedback.charAt(i) != 'G' && feedback.charAt(i) != 'O') {
-                feedback.setCharAt(i, 'X'); // Grey indicates not in equation
-            }
-        }
-        Feedback = feedback.toString();
-        setChanged();
-        notifyObservers("Feedback");
-        return feedback.toString();
+    /**
+     * Captures the game in progress and its settings as a fixed-size record, see {@link GameSnapshot}.
+     *
+     * @requires validEquations != null
+     * @ensures \result.guessCount() == getGuessHistory().size()
+     */
+    @Override
+    public GameSnapshot snapshot() {
+        int settings = (displayTargetEquation ? GameSnapshot.SHOW_EQUATION : 0)
+                | (displayErrorIfInvalid ? GameSnapshot.VALIDATE_INPUT : 0)
+                | (useRandomSelection ? GameSnapshot.RANDOM_SELECTION : 0);
+        return game.snapshot(settings, targetOrdinal);
     }
 
-    private boolean isValidEquation(String equation) {
-        errorIndices.clear(); // clear the error indices
-
-        // First step: check if the input contains valid characters
-        if (!VALID_CHARS_PATTERN.matcher(equation).matches()) {
-            if (displayErrorIfInvalid) {
-                errorIndices.add(0);
-            }
-            return false;
-        }
-
-        // Second step: check if the input is too short or too long
-        if (equation.length() < 7) {
-            if (displayErrorIfInvalid) {
-                errorIndices.add(1);
-            }
-            return false;
-        } else if (equation.length() > 7) {
-            if (displayErrorIfInvalid) {
-                errorIndices.add(2);
-            }
-            return false;
+    /**
+     * Resumes a game from a snapshot, switching to its variant and settings. The guesses are not validated again,
+     * their feedback is scored from the target and the listeners see the game start and each guess in turn.
+     *
+     * @requires snapshot != null
+     * @ensures getRemainingAttempts() == snapshot.remainingAttempts() && isGameWon() == snapshot.gameWon()
+     * @throws IllegalArgumentException if the target of the snapshot is not in the corpus of its variant
+     */
+    @Override
+    public void restore(GameSnapshot snapshot) {
+        if (!snapshot.variant().equals(variant) || validEquations == null) {
+            applyVariant(snapshot.variant(), corpusOf(snapshot.variant()));
         }
-
-        // Third step: check if the input contains an equal sign
-        if (!EQUAL_SIGN_PATTERN.matcher(equation).find()) {
-            if (displayErrorIfInvalid) {
-                errorIndices.add(3);
-            }
-            return false;
+        int ordinal = snapshot.targetOrdinal();
+        if (ordinal < 0 || ordinal >= validEquations.size() || validEquations.code(ordinal) != snapshot.targetCode()) {
+            throw new IllegalArgumentException("The snapshot was taken with a different equation corpus");
         }
-
-        // Fourth step: check if the input contains an operator
-        if (!ARITHMETIC_OPERATORS_PATTERN.matcher(equation).find()) {
-            if (displayErrorIfInvalid) {
-                errorIndices.add(4);
+        int settings = snapshot.settings();
+        setDisplayTargetEquation((settings & GameSnapshot.SHOW_EQUATION) != 0);
+        setDisplayErrorIfInvalid((settings & GameSnapshot.VALIDATE_INPUT) != 0);
+        setUseRandomSelection((settings & GameSnapshot.RANDOM_SELECTION) != 0);
+
+        // the target and history of the game, then the state they lead to
+        resetGame(snapshot.targetCode());
+        targetOrdinal = ordinal;
+        game.restore(snapshot);
+        if (events.hasListeners()) {
+            events.publish(new NumberleEvent.GameStarted(displayTargetEquation, displayErrorIfInvalid, useRandomSelection, variant.maxAttempts(), variant, targetEquation));
+            long replayed = KeyboardState.EMPTY;
+            for (int i = 0; i < game.guessCount(); i++) {
+                long guess = game.guess(i);
+                int pattern = game.pattern(i);
+                long before = replayed;
+                replayed = KeyboardState.update(replayed, guess, pattern, engine.length());
+                boolean won = guess == game.targetCode();
+                events.publish(new NumberleEvent.GuessEvaluated(engine.decode(guess), pattern, i,
+                        variant.maxAttempts() - 1 - i, won, won || i + 1 == variant.maxAttempts(),
+                        KeyboardState.correctPositions(replayed), KeyboardState.wrongPositions(replayed), KeyboardState.notInEquation(replayed),
+                        KeyboardState.unused(before) & ~KeyboardState.unused(replayed)));
             }
-            return false;
         }
+    }
 
-        // Fifth step: check if the input contains consecutive operators
-        if (OPERATOR_SEQUENCE_PATTERN.matcher(equation).find()) {
-            if (displayErrorIfInvalid) {
-                errorIndices.add(5);
-            }
-            return false;
+    // Returns the candidates consistent with every guess so far, filtering only by the guesses made since the last query
+    private CandidateSet consistentCandidates() {
+        if (candidates == null) {
+            candidates = CandidateSet.of(validEquations);
+            candidatesCorpus = validEquations;
+            candidatesApplied = 0;
         }
-
-        if (displayErrorIfInvalid) {
-            // Sixth step: check if the calculated results on both sides of the equality match
-            try {
-                String[] parts = equation.split("=");
-                if (parts.length != 2 || parts[0].isEmpty() || parts[1].isEmpty()) {
-                    errorIndices.add(6);
-                    return false;
-                }
-                double leftResult = evaluateExpression(parts[0]);
-                double rightResult = evaluateExpression(parts[1]);
-                if (Math.abs(leftResult - rightResult) > 0.0001) { // allow for a small margin of error
-                    errorIndices.add(6);
-                    return false;
-                }
-            } catch (Exception e) {
-                errorIndices.add(6);
-                return false;
+        if (candidatesApplied < game.guessCount()) {
+            for (int i = candidatesApplied; i < game.guessCount(); i++) {
+                candidates.filter(game.guess(i), game.pattern(i));
             }
+            candidatesApplied = game.guessCount();
         }
-        return true;
+        return candidates;
     }
 
-    private void updateCurrentGuess(String input) {
-        String feedback = evaluateFeedback(input);
-        String[] colors = {"\033[32m", // Green
-                "\033[93m", // Bright Yellow (for a vivid orange-like color)
-                "\033[90m", // Bright Black (for gray)
-                "\033[0m"}; // Reset
-
-        // clear the current guess
-        currentGuess.setLength(0);
-
-        // iterate over the feedback characters
-        for (int i = 0; i < feedback.length(); i++) {
-            char feedbackChar = feedback.charAt(i);
-            String color = switch (feedbackChar) {
-                case 'G' -> colors[0];  // Green
-                case 'O' -> colors[1];  // Orange
-                default -> colors[2];   // grey for 'X' or any other
-            };
-
-            // append the color code, the input character, and the reset code
-            currentGuess.append(color).append(input.charAt(i)).append(colors[3]);
-            updateSets(input, feedback);
-        }
+    /**
+     * Counts the target equations that would have given the feedback of every guess of the current game.
+     *
+     * @ensures \result >= 1 (the target is always consistent)
+     */
+    @Override
+    public int countConsistentTargets() {
+        return consistentCandidates().count();
     }
 
-    private void updateSets(String input, String feedback) {
-        correctPositions.clear();
-        wrongPositions.clear();
-        notInEquation.clear();
-
-        for (int i = 0; i < feedback.length(); i++) {
-            char ch = input.charAt(i);
-            switch (feedback.charAt(i)) {
-                case 'G' -> {  // correct position
-                    correctPositions.add(ch);
-                    unused.remove(ch);
-                }
-                case 'O' -> {  // wrong position
-                    if (!correctPositions.contains(ch)) {
-                        wrongPositions.add(ch);
-                    }
-                    unused.remove(ch);
-                }
-                case 'X' -> {  // not in equation
-                    if (!correctPositions.contains(ch) && !wrongPositions.contains(ch)) {
-                        notInEquation.add(ch);
-                    }
-                    unused.remove(ch);
-                }
-            }
+    /**
+     * Returns up to limit of the target equations consistent with the feedback so far, in corpus order.
+     *
+     * @requires limit >= 0
+     */
+    @Override
+    public List<String> getConsistentTargets(int limit) {
+        CandidateSet set = consistentCandidates();
+        List<String> targets = new ArrayList<>(Math.min(limit, set.count()));
+        for (int i = set.nextOrdinal(0); i >= 0 && targets.size() < limit; i = set.nextOrdinal(i + 1)) {
+            targets.add(validEquations.get(i));
         }
-        setChanged();
-        notifyObservers("UpdateKeyboard");
-    }
-
-    // Following the BODMAS rule, evaluate the expression
-    private double evaluateExpression(String expression) {
-        Stack<Double> numbers = new Stack<>();
-        Stack<Character> operators = new Stack<>();
-
-        int index = 0;
-        while (index < expression.length()) {
-            char c = expression.charAt(index);
-
-            // process numbers
-            if (Character.isDigit(c)) {
-                StringBuilder numberBuilder = new StringBuilder();
-                while (index < expression.length() && Character.isDigit(expression.charAt(index))) {
-                    numberBuilder.append(expression.charAt(index++));
-                }
-                numbers.push(Double.parseDouble(numberBuilder.toString()));
-                continue; // skip the index increment
-            }
-
-            // process operators
-            if (c == '+' || c == '-' || c == '*' || c == '/') {
-                while (!operators.isEmpty() && hasPrecedence(c, operators.peek())) {
-                    numbers.push(applyOperator(operators.pop(), numbers.pop(), numbers.pop()));
-                }
-                operators.push(c);
-            }
+        return targets;
+    }
 
-            index++;
-        }
+    /**
+     * Checks whether an equation is a known target that is consistent with the feedback so far, for example a target
+     * claimed by a client.
+     */
+    @Override
+    public boolean isConsistentTarget(String equation) {
+        int ordinal = validEquations.indexOf(equation);
+        return ordinal >= 0 && consistentCandidates().contains(ordinal);
+    }
 
-        // process the remaining operators
-        while (!operators.isEmpty()) {
-            numbers.push(applyOperator(operators.pop(), numbers.pop(), numbers.pop()));
+    // Returns the valid guesses of the current game, in order
+    @Override
+    public List<String> getGuessHistory() {
+        List<String> guesses = new ArrayList<>(game.guessCount());
+        for (int i = 0; i < game.guessCount(); i++) {
+            guesses.add(engine.decode(game.guess(i)));
         }
-
-        return numbers.pop();
+        return guesses;
     }
 
-    private boolean hasPrecedence(char currentOp, char stackOp) {
-        // check if the current operator has higher precedence than the operator on the stack
-        return (currentOp != '*' && currentOp != '/') || (stackOp != '+' && stackOp != '-');
+    @Override
+    public void addListener(NumberleListener listener) {
+        events.addListener(listener);
     }
 
-    private double applyOperator(char operator, double b, double a) {
-        return switch (operator) {
-            case '+' -> a + b;
-            case '-' -> a - b;
-            case '*' -> a * b;
-            case '/' -> a / b;
-            default -> throw new UnsupportedOperationException("Invalid operator: " + operator);
-        };
+    @Override
+    public void removeListener(NumberleListener listener) {
+        events.removeListener(listener);
     }
 
-
     @Override
     public String getTargetEquation() {
         return targetEquation;
     }
 
+    /**
+     * Returns the last guess formatted by the renderer, or blanks before the first guess. The text is only built
+     * when the guesses or the renderer changed since the last call, into a buffer that later calls reuse.
+     */
     @Override
     public StringBuilder getCurrentGuess() {
-        return currentGuess;
+        int guessCount = game.guessCount();
+        if (renderedGuesses != guessCount) {
+            renderedGuess.setLength(0);
+            if (guessCount == 0) {
+                renderedGuess.append(" ".repeat(variant.length()));
+            } else {
+                renderer.render(engine, game.guess(guessCount - 1), game.pattern(guessCount - 1), renderedGuess);
+            }
+            renderedGuesses = guessCount;
+        }
+        return renderedGuess;
+    }
+
+    /**
+     * Appends a guess of the current game formatted by a renderer, leaving the model unchanged.
+     *
+     * @requires 0 <= index && index < getGuessHistory().size()
+     */
+    @Override
+    public void renderGuess(int index, GuessRenderer renderer, StringBuilder out) {
+        if (index < 0 || index >= game.guessCount()) {
+            throw new IndexOutOfBoundsException("No guess " + index + " in a game of " + game.guessCount() + " guesses");
+        }
+        renderer.render(engine, game.guess(index), game.pattern(index), out);
+    }
+
+    // Replaces the renderer of getCurrentGuess, ANSI colors by default
+    @Override
+    public void setRenderer(GuessRenderer renderer) {
+        this.renderer = renderer;
+        renderedGuesses = -1;
+    }
+
+    @Override
+    public GuessRenderer getRenderer() {
+        return renderer;
     }
 
     @Override
     public int getRemainingAttempts() {
-        return remainingAttempts;
+        return game.remainingAttempts();
     }
 
 
@@ -453,6 +449,75 @@ public class NumberleModel extends Observable implements INumberleModel {
     @Override
     public void setUseRandomSelection(boolean useRandomSelection) {
         this.useRandomSelection = useRandomSelection;
+        // switch between the first equation and a shuffled cycle, keeping a scheduler that already fits
+        if (useRandomSelection == (targetScheduler.mode() == TargetScheduler.Mode.FIRST)) {
+            targetScheduler = useRandomSelection ? TargetScheduler.shuffled(System.nanoTime()) : TargetScheduler.FIRST;
+        }
+    }
+
+    /**
+     * Replaces the scheduler that picks the targets of the following games.
+     *
+     * @requires scheduler != null
+     * @ensures getUseRandomSelection() == (scheduler.mode() != TargetScheduler.Mode.FIRST)
+     */
+    @Override
+    public void setTargetScheduler(TargetScheduler scheduler) {
+        this.targetScheduler = scheduler;
+        this.useRandomSelection = scheduler.mode() != TargetScheduler.Mode.FIRST;
+    }
+
+    @Override
+    public TargetScheduler getTargetScheduler() {
+        return targetScheduler;
+    }
+
+    /**
+     * Switches to another equation length or number of attempts from the next game on, the game in progress keeps
+     * its variant. The corpus of the new length is loaded now, so a variant without equations is refused here.
+     *
+     * @requires variant != null
+     * @ensures getVariant() == variant after the next restartGame
+     * @throws IllegalArgumentException if no equations of the length can be loaded
+     */
+    @Override
+    public void setVariant(GameVariant variant) {
+        nextEquations = corpusOf(variant);
+        nextVariant = variant;
+    }
+
+    // Returns the variant of the game in progress, or of the first game before initialize
+    @Override
+    public GameVariant getVariant() {
+        return validEquations == null && nextVariant != null ? nextVariant : variant;
+    }
+
+    // Loads the shared corpus of the variant's length, refusing a length without equations
+    private static EquationCorpus corpusOf(GameVariant variant) {
+        EquationCorpus corpus;
+        try {
+            corpus = EquationCorpus.shared(variant.length());
+        } catch (IOException e) {
+            throw new IllegalArgumentException("No equations of " + variant.length() + " tiles can be loaded: " + e.getMessage(), e);
+        }
+        if (corpus.isEmpty()) {
+            throw new IllegalArgumentException("No equations of " + variant.length() + " tiles can be loaded");
+        }
+        return corpus;
+    }
+
+    // Switches the variant, its engine, error messages and corpus, see startNewGame and restore
+    private void applyVariant(GameVariant variant, EquationCorpus corpus) {
+        this.variant = variant;
+        this.engine = variant.engine();
+        List<String> messages = new ArrayList<>();
+        for (int error = 0; error < EquationValidator.ERROR_MESSAGES.size(); error++) {
+            messages.add(EquationValidator.message(error, variant.length()));
+        }
+        this.errorMessages = List.copyOf(messages);
+        this.validEquations = corpus;
+        nextVariant = null;
+        nextEquations = null;
     }
 
     @Override
@@ -492,7 +557,13 @@ public class NumberleModel extends Observable implements INumberleModel {
 
     @Override
     public String getFeedback() {
-        return Feedback;
+        // the feedback string is only built when it is asked for
+        return game.feedbackPattern() < 0 ? null : engine.toString(game.feedbackPattern());
+    }
+
+    @Override
+    public int getFeedbackPattern() {
+        return game.feedbackPattern();
     }
 
     @Override
@@ -502,7 +573,7 @@ public class NumberleModel extends Observable implements INumberleModel {
 
     @Override
     public List<String> getErrorMessages() {
-        return ERROR_MESSAGES;
+        return errorMessages;
     }
 
 }
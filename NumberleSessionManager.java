@@ -0,0 +1,202 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * Hosts many independent headless games at once, keyed by session id.
+ * <p>
+ * Every session shares one immutable {@link EquationCorpus}, loaded once rather than per game, and keeps only its
+ * own compact {@link GameSession} state. Sessions live in a {@link ConcurrentHashMap}, so lookups
+ * never lock and updates only contend on a single bin, and sessions that have been idle for longer than the
+ * timeout are evicted, either on demand or by a background sweep.
+ */
+public class NumberleSessionManager implements AutoCloseable {
+
+    private final long idleTimeoutMillis;
+    private final GameVariant variant;
+    private volatile EquationCorpus corpus;
+
+    // the scheduler each random session derives its own from, keyed by the session id
+    private volatile TargetScheduler targetScheduler = TargetScheduler.shuffled(ThreadLocalRandom.current().nextLong());
+    private final ConcurrentHashMap<Long, GameSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private ScheduledExecutorService evictor;
+
+    /**
+     * Creates a manager whose sessions draw their targets from the corpus.
+     *
+     * @requires corpus != null && !corpus.isEmpty() && idleTimeoutMillis > 0
+     */
+    public NumberleSessionManager(EquationCorpus corpus, long idleTimeoutMillis) {
+        this(GameVariant.of(corpus.length(), INumberleModel.MAX_ATTEMPTS), corpus, idleTimeoutMillis);
+    }
+
+    /**
+     * Creates a manager whose sessions play the variant, drawing their targets from a corpus of its length.
+     *
+     * @requires corpus.length() == variant.length()
+     */
+    public NumberleSessionManager(GameVariant variant, EquationCorpus corpus, long idleTimeoutMillis) {
+        this.variant = variant;
+        setCorpus(corpus);
+        this.idleTimeoutMillis = idleTimeoutMillis;
+    }
+
+    // Creates a manager over the equations of a file, one per line
+    public static NumberleSessionManager fromFile(Path equationsFile, long idleTimeoutMillis) throws IOException {
+        return new NumberleSessionManager(EquationCorpus.load(equationsFile), idleTimeoutMillis);
+    }
+
+    /**
+     * Replaces the corpus new games draw their targets from. Games in progress keep their target.
+     */
+    public void setCorpus(EquationCorpus corpus) {
+        if (corpus.isEmpty()) {
+            throw new IllegalArgumentException("The equation corpus must not be empty");
+        }
+        if (corpus.length() != variant.length()) {
+            throw new IllegalArgumentException("The corpus holds equations of " + corpus.length() + " tiles, not " + variant.length());
+        }
+        this.corpus = corpus;
+    }
+
+    public EquationCorpus getCorpus() {
+        return corpus;
+    }
+
+    public GameVariant getVariant() {
+        return variant;
+    }
+
+    /**
+     * Replaces the scheduler that random sessions created from now on derive their targets from,
+     * such as a seeded shuffle or the daily puzzle.
+     */
+    public void setTargetScheduler(TargetScheduler scheduler) {
+        this.targetScheduler = scheduler;
+    }
+
+    public TargetScheduler getTargetScheduler() {
+        return targetScheduler;
+    }
+
+    /**
+     * Starts a new game and returns its session id.
+     *
+     * @ensures get(\result) != null
+     */
+    public long createSession(boolean showEquation, boolean validateInput, boolean randomSelection) {
+        return createSession(showEquation, validateInput, randomSelection ? targetScheduler : TargetScheduler.FIRST);
+    }
+
+    /**
+     * Starts a new game whose targets are picked by a stream of the scheduler and returns its session id.
+     *
+     * @requires scheduler != null
+     * @ensures get(\result) != null
+     */
+    public long createSession(boolean showEquation, boolean validateInput, TargetScheduler scheduler) {
+        long id = nextId.getAndIncrement();
+        GameSession session = new GameSession(this, showEquation, validateInput, scheduler.derive(id));
+        session.touch(System.currentTimeMillis());
+        sessions.put(id, session);
+        return id;
+    }
+
+    /**
+     * Resumes a game captured by {@link GameSession#snapshot}, here or on another node with the same corpus, as a new
+     * session and returns its id. Later games of the session draw their targets like any new session.
+     *
+     * @throws IllegalArgumentException if the snapshot is of another variant or its target is not in the corpus
+     */
+    public long restore(GameSnapshot snapshot) {
+        if (!snapshot.variant().equals(variant)) {
+            throw new IllegalArgumentException("The snapshot is of " + snapshot.variant() + ", not " + variant);
+        }
+        int ordinal = snapshot.targetOrdinal();
+        if (ordinal < 0 || ordinal >= corpus.size() || corpus.code(ordinal) != snapshot.targetCode()) {
+            throw new IllegalArgumentException("The snapshot was taken with a different equation corpus");
+        }
+        long id = nextId.getAndIncrement();
+        TargetScheduler scheduler = (snapshot.settings() & GameSnapshot.RANDOM_SELECTION) != 0 ? targetScheduler : TargetScheduler.FIRST;
+        GameSession session = new GameSession(this, snapshot, scheduler.derive(id));
+        session.touch(System.currentTimeMillis());
+        sessions.put(id, session);
+        return id;
+    }
+
+    // Returns the session with the id and marks it as active, or null if it does not exist or was evicted
+    public GameSession get(long id) {
+        GameSession session = sessions.get(id);
+        if (session != null) {
+            session.touch(System.currentTimeMillis());
+        }
+        return session;
+    }
+
+    // Ends a session, returning whether it existed
+    public boolean close(long id) {
+        return sessions.remove(id) != null;
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    /**
+     * Removes every session whose last request is older than the idle timeout and returns how many were removed.
+     */
+    public int evictIdle(long nowMillis) {
+        return evictIdle(nowMillis, null);
+    }
+
+    /**
+     * Removes every idle session like {@link #evictIdle(long)}, handing the snapshot of each to the sink first, so
+     * the games can be written out and restored later.
+     */
+    public int evictIdle(long nowMillis, BiConsumer<Long, GameSnapshot> sink) {
+        long cutoff = nowMillis - idleTimeoutMillis;
+        int evicted = 0;
+        for (Map.Entry<Long, GameSession> entry : sessions.entrySet()) {
+            // only remove the session if it was not replaced in the meantime
+            if (entry.getValue().lastAccess() < cutoff && sessions.remove(entry.getKey(), entry.getValue())) {
+                if (sink != null) {
+                    sink.accept(entry.getKey(), entry.getValue().snapshot());
+                }
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    /**
+     * Starts a daemon thread that evicts idle sessions at the given period.
+     */
+    public synchronized void startEviction(long periodMillis) {
+        if (evictor != null) {
+            return;
+        }
+        evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "numberle-session-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evictor.scheduleAtFixedRate(() -> evictIdle(System.currentTimeMillis()), periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (evictor != null) {
+            evictor.shutdownNow();
+            evictor = null;
+        }
+        sessions.clear();
+    }
+}
@@ -0,0 +1,90 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NumberleSessionManagerTest {
+
+    private NumberleSessionManager manager;
+
+    // Set up the manager before each test
+    @BeforeEach
+    void setUp() throws IOException {
+        manager = NumberleSessionManager.fromFile(Paths.get("equations.txt"), 60_000);
+    }
+
+    // Clean up the manager after each test
+    @AfterEach
+    void tearDown() {
+        manager.close();
+        manager = null;
+    }
+
+    /**
+     * testIndependentSessions() Scenario:
+     * Play a guess in one session and check another session is not affected, and the keyboard matches the model.
+     */
+    @Test
+    public void testIndependentSessions() {
+        long first = manager.createSession(true, true, false);
+        long second = manager.createSession(true, true, false);
+        assertNotEquals(first, second, "Session ids should be unique.");
+
+        GameSession session = manager.get(first);
+        assertEquals(EquationValidator.VALID, session.processInput("1+5=2+4"));
+        assertEquals(5, session.getRemainingAttempts(), "Remaining attempts should decrease by 1.");
+        assertEquals("XGXOGXX", session.getFeedback());
+        assertEquals(new HashSet<>(Arrays.asList('+', '2')), session.getCorrectPositions());
+        assertEquals(new HashSet<>(List.of('=')), session.getWrongPositions());
+        assertEquals(new HashSet<>(Arrays.asList('1', '4', '5')), session.getNotInEquation());
+        assertEquals(new HashSet<>(Arrays.asList('0', '3', '6', '7', '8', '9', '-', '*', '/')), session.getUnused());
+
+        GameSession other = manager.get(second);
+        assertEquals(6, other.getRemainingAttempts(), "Other sessions should keep their attempts.");
+        assertNull(other.getFeedback(), "Other sessions should have no feedback.");
+    }
+
+    /**
+     * testGameEnd() Scenario:
+     * Check invalid guesses keep the attempts, a correct guess wins the game and further guesses are refused.
+     */
+    @Test
+    public void testGameEnd() {
+        GameSession session = manager.get(manager.createSession(false, true, false));
+        assertEquals(EquationValidator.NOT_BALANCED, session.processInput("1+2=3+4"));
+        assertEquals(6, session.getRemainingAttempts(), "The attempts should not decrease.");
+
+        assertEquals(EquationValidator.VALID, session.processInput("2+3*2=8"));
+        assertTrue(session.isGameWon() && session.isGameOver(), "Game should be won.");
+        assertEquals(GameSession.GAME_OVER, session.processInput("4+3=5+2"));
+
+        session.restartGame();
+        assertFalse(session.isGameOver(), "Game should restart.");
+        assertEquals(Set.copyOf(Arrays.asList('0', '1', '2', '3', '4', '5', '6', '7', '8', '9', '+', '-', '*', '/', '=')), session.getUnused());
+    }
+
+    /**
+     * testIdleEviction() Scenario:
+     * Check only sessions idle for longer than the timeout are evicted.
+     */
+    @Test
+    public void testIdleEviction() {
+        long idle = manager.createSession(false, true, true);
+        long active = manager.createSession(false, true, true);
+        long now = System.currentTimeMillis();
+
+        assertEquals(0, manager.evictIdle(now), "No session should be idle yet.");
+        manager.get(active);
+        assertEquals(2, manager.evictIdle(now + 120_000), "Both sessions should be idle after the timeout.");
+        assertNull(manager.get(idle), "Evicted sessions should be gone.");
+        assertEquals(0, manager.size());
+    }
+}
@@ -0,0 +1,228 @@
+import java.io.IOException;
+import java.util.List;
+import java.util.PrimitiveIterator;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * A solver that plays Numberle against any {@link INumberleModel}.
+ * <p>
+ * The solver keeps the targets still consistent with the feedback in a {@link CandidateSet} and picks each guess by
+ * maximising the expected information of its feedback: a guess partitions the candidates by pattern, and the best
+ * guess leaves the smallest expected partition entropy. Guesses are scored in parallel. The opening guess only depends
+ * on the equation list, so it is computed once per solver by scoring every equation against every other, and reused
+ * by every game. For the later moves the number of (guess, candidate) pairs scored is capped so a move stays within a
+ * few milliseconds; when the remaining pool is larger than the budget allows, an evenly spaced sample of it is scored
+ * as guesses. A solver scores with the {@link TileEngine} of its equations and only plays models of that length.
+ * <p>
+ * Usage: {@code java NumberleSolver [games] [--all]}, where {@code --all} uses the full generated equation space
+ * as the candidate pool; its opening guess takes about a minute of CPU time, spread over the cores.
+ */
+public class NumberleSolver {
+    // the most (guess, candidate) pairs scored for a single move
+    private static final int SCORE_BUDGET = 1 << 20;
+
+    // below this many pairs the guesses are scored on the calling thread
+    private static final int PARALLEL_THRESHOLD = 1 << 15;
+
+    private final TileEngine engine;
+    private final CandidateSet candidates;
+
+    // x * log2(x) for every partition size x, so scoring a guess needs no logarithm
+    private final double[] entropyTerms;
+
+    // the best first guess, -1 until it is computed
+    private int openingGuess = -1;
+
+    // the pattern histogram of each scoring thread, with the list of patterns it has touched
+    private final ThreadLocal<int[][]> histogram;
+
+    /**
+     * Creates a solver whose candidate pool is the given packed list of classic equations.
+     *
+     * @requires codes != null && codes.length > 0
+     */
+    public NumberleSolver(long[] codes) {
+        this(TileEngine.CLASSIC, codes);
+    }
+
+    /**
+     * Creates a solver whose candidate pool is the given packed equation list, all of the engine's length.
+     *
+     * @requires engine != null && codes != null && codes.length > 0
+     */
+    public NumberleSolver(TileEngine engine, long[] codes) {
+        this.engine = engine;
+        this.candidates = new CandidateSet(engine, codes);
+        this.entropyTerms = new double[codes.length + 1];
+        for (int x = 2; x <= codes.length; x++) {
+            entropyTerms[x] = x * (Math.log(x) / Math.log(2));
+        }
+        int patterns = engine.patternCount();
+        this.histogram = ThreadLocal.withInitial(() -> new int[][]{new int[patterns], new int[patterns]});
+    }
+
+    /**
+     * Creates a solver whose candidate pool is the given equation list, all of one length.
+     *
+     * @requires equations != null && !equations.isEmpty()
+     */
+    public NumberleSolver(List<String> equations) {
+        this(EquationCorpus.of(equations));
+    }
+
+    // Creates a solver whose candidate pool is the corpus, scored with the engine of its length
+    public NumberleSolver(EquationCorpus corpus) {
+        this(corpus.engine(), corpus.codes());
+    }
+
+    // Creates a solver over every equation EquationGenerator can produce
+    public static NumberleSolver ofGeneratedSpace() {
+        PrimitiveIterator.OfLong codes = EquationGenerator.codes();
+        LongStream.Builder builder = LongStream.builder();
+        codes.forEachRemaining((long code) -> builder.add(code));
+        return new NumberleSolver(builder.build().toArray());
+    }
+
+    // Starts a new game with every equation as a candidate
+    public void reset() {
+        candidates.reset();
+    }
+
+    /**
+     * Returns the guess with the highest expected information over the remaining candidates.
+     *
+     * @requires remaining() > 0
+     */
+    public String nextGuess() {
+        return engine.decode(candidates.code(nextGuessOrdinal()));
+    }
+
+    private int nextGuessOrdinal() {
+        int remaining = candidates.count();
+        if (remaining == 0) {
+            throw new IllegalStateException("No equation is consistent with the feedback so far");
+        }
+        if (remaining <= 2) {
+            return candidates.nextOrdinal(0);
+        }
+        if (remaining == candidates.size()) {
+            if (openingGuess < 0) {
+                openingGuess = bestGuess(candidates.ordinals(), Long.MAX_VALUE);
+            }
+            return openingGuess;
+        }
+        return bestGuess(candidates.ordinals(), SCORE_BUDGET);
+    }
+
+    // Scores an evenly spaced sample of the candidates as guesses, within budget pairs, and returns the best one
+    private int bestGuess(int[] pool, long budget) {
+        int guesses = (int) Math.max(1, Math.min(pool.length, budget / pool.length));
+        double stride = (double) pool.length / guesses;
+
+        IntStream range = IntStream.range(0, guesses);
+        if ((long) guesses * pool.length >= PARALLEL_THRESHOLD) {
+            range = range.parallel();
+        }
+        double[] scores = new double[guesses];
+        range.forEach(i -> scores[i] = partitionEntropy(candidates.code(pool[(int) (i * stride)]), pool));
+
+        // the lowest remaining entropy is the highest expected information, ties go to the earliest guess
+        int best = 0;
+        for (int i = 1; i < guesses; i++) {
+            if (scores[i] < scores[best]) {
+                best = i;
+            }
+        }
+        return pool[(int) (best * stride)];
+    }
+
+    // Returns the sum of x * log2(x) over the partition sizes the guess splits the candidates into
+    private double partitionEntropy(long guess, int[] pool) {
+        int[][] scratch = this.histogram.get();
+        int[] histogram = scratch[0];
+        int[] touched = scratch[1];
+        int patterns = 0;
+        for (int ordinal : pool) {
+            int pattern = engine.score(guess, candidates.code(ordinal));
+            if (histogram[pattern]++ == 0) {
+                touched[patterns++] = pattern;
+            }
+        }
+        double sum = 0;
+        for (int i = 0; i < patterns; i++) {
+            sum += entropyTerms[histogram[touched[i]]];
+            histogram[touched[i]] = 0;
+        }
+        return sum;
+    }
+
+    /**
+     * Narrows the candidates to the targets consistent with the feedback of a guess.
+     *
+     * @requires guess != null && guess.length() == engine.length()
+     */
+    public void update(String guess, int pattern) {
+        candidates.filter(engine.encode(guess), pattern);
+    }
+
+    // Returns the number of targets still consistent with the feedback
+    public int remaining() {
+        return candidates.count();
+    }
+
+    /**
+     * Plays the current game of the model to the end.
+     *
+     * @requires model != null && !model.isGameOver()
+     * @ensures \result == (model.isGameWon() ? guesses used : -1)
+     * @throws IllegalArgumentException if the model plays equations of another length
+     */
+    public int play(INumberleModel model) {
+        if (model.getVariant().length() != engine.length()) {
+            throw new IllegalArgumentException("The solver plays equations of " + engine.length() + " tiles, not "
+                    + model.getVariant().length());
+        }
+        reset();
+        int guesses = 0;
+        while (!model.isGameOver() && remaining() > 0) {
+            int ordinal = nextGuessOrdinal();
+            String guess = engine.decode(candidates.code(ordinal));
+            if (!model.processInput(guess)) {
+                candidates.remove(ordinal); // the model does not accept this equation
+                continue;
+            }
+            guesses++;
+            update(guess, model.getFeedbackPattern());
+        }
+        return model.isGameWon() ? guesses : -1;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int games = args.length > 0 && !args[0].startsWith("--") ? Integer.parseInt(args[0]) : 100;
+        boolean fullSpace = List.of(args).contains("--all");
+
+        long start = System.nanoTime();
+        NumberleSolver solver = fullSpace ? ofGeneratedSpace() : new NumberleSolver(EquationCorpus.shared());
+        solver.nextGuess(); // compute the opening guess up front
+        System.out.printf("Solver ready over %d equations in %d ms, opening with %s%n",
+                solver.candidates.size(), (System.nanoTime() - start) / 1_000_000, solver.nextGuess());
+
+        INumberleModel model = new NumberleModel();
+        int won = 0;
+        long totalGuesses = 0;
+        long totalNanos = 0;
+        for (int game = 0; game < games; game++) {
+            model.initialize(model, 0, 1, 1);
+            long gameStart = System.nanoTime();
+            int guesses = solver.play(model);
+            totalNanos += System.nanoTime() - gameStart;
+            if (guesses > 0) {
+                won++;
+                totalGuesses += guesses;
+            }
+        }
+        System.out.printf("Won %d of %d games, %.2f guesses per win, %.3f ms per game%n",
+                won, games, won == 0 ? 0.0 : (double) totalGuesses / won, totalNanos / 1e6 / Math.max(1, games));
+    }
+}
@@ -0,0 +1,90 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NumberleSolverTest {
+
+    /**
+     * testWinsEveryTarget() Scenario:
+     * Let one solver play a shuffled cycle of games against the model, which visits every target of equations.txt
+     * once, and check it wins each game within MAX_ATTEMPTS.
+     */
+    @Test
+    public void testWinsEveryTarget() throws IOException {
+        EquationCorpus corpus = EquationCorpus.shared();
+        NumberleSolver solver = new NumberleSolver(corpus);
+        INumberleModel model = new NumberleModel();
+        model.initialize(model, 0, 1, 0);
+        model.setTargetScheduler(TargetScheduler.shuffled(6));
+
+        Set<String> targets = new HashSet<>();
+        for (int game = 0; game < corpus.size(); game++) {
+            model.restartGame();
+            targets.add(model.getTargetEquation());
+            int guesses = solver.play(model);
+            assertTrue(model.isGameWon(), "The solver should find " + model.getTargetEquation());
+            assertTrue(guesses >= 1 && guesses <= INumberleModel.MAX_ATTEMPTS, "Won in " + guesses + " guesses.");
+            assertEquals(INumberleModel.MAX_ATTEMPTS - guesses, model.getRemainingAttempts());
+        }
+        assertEquals(corpus.size(), targets.size(), "The shuffled cycle should visit every target.");
+    }
+
+    /**
+     * testUpdateNarrowsCandidates() Scenario:
+     * Feed the solver the feedback of the guess 1+5=2+4 against the target 2+3*2=8, and check only the equations of
+     * equations.txt with the same reference feedback remain, and that the opening guess is reused by the next game.
+     */
+    @Test
+    public void testUpdateNarrowsCandidates() throws IOException {
+        EquationCorpus corpus = EquationCorpus.shared();
+        NumberleSolver solver = new NumberleSolver(corpus);
+        String opening = solver.nextGuess();
+        assertEquals(corpus.size(), solver.remaining());
+
+        solver.update("1+5=2+4", FeedbackEngine.score(FeedbackEngine.encode("1+5=2+4"), FeedbackEngine.encode("2+3*2=8")));
+        int expected = 0;
+        for (String candidate : corpus.asList()) {
+            if (FeedbackEngine.referenceFeedback("1+5=2+4", candidate).equals("XGXOGXX")) {
+                expected++;
+            }
+        }
+        assertEquals(expected, solver.remaining());
+        assertTrue(solver.remaining() < corpus.size());
+
+        solver.reset();
+        assertEquals(corpus.size(), solver.remaining());
+        assertEquals(opening, solver.nextGuess());
+    }
+
+    /**
+     * testPlaysOtherLengths() Scenario:
+     * Let a solver over the 5 tile corpus play a shuffled cycle of 5 tile games of 10 attempts, as the families like
+     * 9-9=0 take more than 6, and check it wins each, and that a classic model is refused instead of being fed 5 tile
+     * guesses.
+     */
+    @Test
+    public void testPlaysOtherLengths() throws IOException {
+        EquationCorpus corpus = EquationCorpus.shared(5);
+        NumberleSolver solver = new NumberleSolver(corpus);
+        INumberleModel model = new NumberleModel();
+        model.setVariant(GameVariant.of(5, 10));
+        model.initialize(model, 0, 1, 0);
+        model.setTargetScheduler(TargetScheduler.shuffled(18));
+
+        for (int game = 0; game < corpus.size(); game++) {
+            model.restartGame();
+            int guesses = solver.play(model);
+            assertTrue(model.isGameWon(), "The solver should find " + model.getTargetEquation());
+            assertEquals(5, solver.nextGuess().length());
+            assertTrue(guesses >= 1 && guesses <= 10, "Won in " + guesses + " guesses.");
+        }
+
+        INumberleModel classic = new NumberleModel();
+        classic.initialize(classic, 0, 1, 0);
+        assertThrows(IllegalArgumentException.class, () -> solver.play(classic));
+    }
+}
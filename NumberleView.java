@@ -1,35 +1,38 @@
 import javax.swing.*;
 import java.awt.*;
-import java.util.Observer;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
-import java.util.Set;
-import java.util.stream.Stream;
+import java.awt.event.KeyEvent;
 
-public class NumberleView implements Observer {
+public class NumberleView implements NumberleListener {
 
     private final INumberleModel model;
     private final NumberleController controller;
 
+    // the shape of the board, given by GUIApp so the view never reads it from the model on the event dispatch thread
+    private final GameVariant variant;
+
+    // the target of the game shown, from the last GameStarted event
+    private String targetEquation;
+
     //The main frame
     private final JFrame frame = new JFrame("Numberle");
-    //The Game Board
-    private final JTextField[][] inputFields = new JTextField[6][7];
-
-    // Colors for different feedback
-    private final Color green = new Color(61, 191, 165);   // Green color, represents correct position
-    private final Color orange = new Color(241, 155, 113); // Orange color, represents correct symbol but in the wrong position
-    private final Color grey = new Color(165, 172, 195);   // Grey color, represents symbol not in the equation at all
-    private final Color white = new Color(219, 223, 236);  // White color, represents unused buttons
+    //The Game Board, one row per attempt and one column per tile of the variant, painted as one component
+    private BoardComponent board;
+    private int rows;
+    private int columns;
 
     private final JButton hintButton; // Declare hintButton at class level
     private final JButton restartButton; // Declare restartButton at class level
 
-    // Panels for the number and operation buttons of keyboard
-    private JPanel numberPanel;
-    private JPanel operationPanel;
+    // The number and operation keys of the keyboard, painted as one component
+    private KeyboardComponent keyboard;
 
 
+    // The secondary dialogs, built the first time they are shown
+    private JDialog settingsDialog;
+    private JDialog howToPlayDialog;
+
     private boolean isFirstRun = true;  // Flag to check if the game is running for the first time
 
     boolean stop = false;//flag to check if the input is full
@@ -37,20 +40,22 @@ public class NumberleView implements Observer {
     private int currentPanelIndex = 0;//initialize the currentPanelIndex to 0
     private int currentInputIndex = 0;//initialize the currentInputIndex to 0
 
-    // Constructor
-    public NumberleView(INumberleModel model, NumberleController controller) {
+    private boolean guessPending = false;//flag to check if a guess is being processed in the background
+
+    // Constructor, for games of the variant the model was set to
+    public NumberleView(INumberleModel model, NumberleController controller, GameVariant variant) {
         this.controller = controller;
         this.model = model;
+        this.variant = variant;
 
         // Create the hintButton and add an ActionListener
-        hintButton = createButtonWithIcon("Hint", "./figure/hint.png", 30, 30);
+        hintButton = createButton("Hint");
         hintButton.addActionListener(e -> {
-            String targetEquation = controller.getTargetWord();
             JOptionPane.showMessageDialog(frame, "Target Equation: " + targetEquation, "Hint", JOptionPane.INFORMATION_MESSAGE);
         });
 
         // Create the restartButton and add an ActionListener
-        restartButton = createButtonWithIcon("Restart", "./figure/restart.png", 30, 30);
+        restartButton = createButton("Restart");
         restartButton.setEnabled(false);
         restartButton.addActionListener(e -> {
             restartButton.setEnabled(false);
@@ -59,25 +64,33 @@ public class NumberleView implements Observer {
 
         });
 
-        // Add this view as an observer of the model
-        ((NumberleModel) this.model).addObserver(this);
+        // Add this view as a listener of the model
+        this.model.addListener(this);
         this.controller.setView(this);
-        update((NumberleModel) this.model, null);
+        hintButton.setEnabled(false); // enabled by the GameStarted event when the target may be shown
         // Show the settings dialog
         showPreGameSettings();
         // Initialize the frame
         initializeFrame();
     }
 
-    // Method to show the settings dialog before the game starts
+    // Method to show the settings dialog before the game starts, built the first time it is shown
     private void showPreGameSettings() {
+        if (settingsDialog == null) {
+            settingsDialog = createSettingsDialog();
+        }
+        settingsDialog.setVisible(true);
+    }
+
+    // Method to build the settings dialog, which is hidden rather than disposed so it can be shown again
+    private JDialog createSettingsDialog() {
         JDialog settingsDialog = new JDialog(frame, "Settings", true);
         // Set the size and location of the dialog
         settingsDialog.setLocationRelativeTo(frame);
         settingsDialog.setLayout(new GridBagLayout());
         settingsDialog.setSize(400, 400);
         settingsDialog.setLocationRelativeTo(frame);
-        settingsDialog.setDefaultCloseOperation(JDialog.DISPOSE_ON_CLOSE);
+        settingsDialog.setDefaultCloseOperation(JDialog.HIDE_ON_CLOSE);
 
         // Set the layout of the dialog to GridBagLayout
         GridBagConstraints gbc = new GridBagConstraints();
@@ -128,15 +141,13 @@ public class NumberleView implements Observer {
                     isFirstRun = false;  // Set the flag to false after the first run
                 }
                 // Close the settings dialog and show the main frame
-                settingsDialog.dispose();
+                settingsDialog.setVisible(false);
                 frame.setVisible(true);
             }
         });
 
         settingsDialog.add(confirmButton, gbc);
-
-        // Show the dialog
-        settingsDialog.setVisible(true);
+        return settingsDialog;
     }
 
 
@@ -153,38 +164,18 @@ public class NumberleView implements Observer {
 
         //==================set top panel================================
         JPanel topPanel = new JPanel(new BorderLayout());
-        JLabel logoLabel = new JLabel(scaleImageIcon("./figure/logo.png", 150, 30));
+        JLabel logoLabel = new JLabel(AssetCache.shared().icon("logo.png", 150, 30));
         topPanel.add(logoLabel, BorderLayout.WEST);
 
         JPanel buttonPanel = new JPanel(new GridLayout(1, 4));
-        JButton settingsButton = createButtonWithIcon("Settings", "./figure/settings.png", 30, 30);
+        // the icons are read once per process, and were read ahead while the settings dialog was shown
+        hintButton.setIcon(AssetCache.shared().icon("hint.png", 30, 30));
+        restartButton.setIcon(AssetCache.shared().icon("restart.png", 30, 30));
+        JButton settingsButton = createButtonWithIcon("Settings", "settings.png", 30, 30);
         settingsButton.addActionListener(e -> showPreGameSettings());
 
-        JButton howToPlayButton = createButtonWithIcon("How to Play", "./figure/how_to_play.png", 30, 30);
-        howToPlayButton.addActionListener(e -> {
-            String rulesText = "<html><body style='width: 200px'>"
-                    + "<h1>How to Play Numberle:</h1>"
-                    + "<p><b>Goal:</b> Guess the hidden math equation in 6 tries.</p>"
-                    + "<p><b>Feedback:</b> Color of the tiles changes to show how close you are.</p>"
-                    + "<ul>"
-                    + "<li><b>Green:</b> Correct symbol in the right position.</li>"
-                    + "<li><b>Orange:</b> Correct symbol but in the wrong position.</li>"
-                    + "<li><b>Grey:</b> Symbol not in the equation at all.</li>"
-                    + "</ul>"
-                    + "<h2>Rules:</h2>"
-                    + "<ul>"
-                    + "<li>Each guess must include exactly one '=' sign.</li>"
-                    + "<li>Use numbers 0-9 and symbols +, -, *, /.</li>"
-                    + "<li>The equation must resolve correctly (e.g., '3+2=5').</li>"
-                    + "<li>Guesses must be in the format of a math equation.</li>"
-                    + "<li>Each try must result in a different equation; guesses are not commutative.</li>"
-                    + "<li>You have six attempts to guess the equation correctly.</li>"
-                    + "</ul>"
-                    + "<p>Win the game by turning all rows green!</p>"
-                    + "</body></html>";
-
-            JOptionPane.showMessageDialog(frame, rulesText, "How to Play", JOptionPane.INFORMATION_MESSAGE);
-        });
+        JButton howToPlayButton = createButtonWithIcon("How to Play", "how_to_play.png", 30, 30);
+        howToPlayButton.addActionListener(e -> showHowToPlay());
 
         // Add the buttons to the buttonPanel
         buttonPanel.add(settingsButton);
@@ -200,134 +191,105 @@ public class NumberleView implements Observer {
         frame.add(topPanel, gbc);
 
         //==================set gridPanel================================
-        JPanel gridPanel = new JPanel(new GridLayout(6, 1));
-        Font textFieldFont = new Font("Arial", Font.PLAIN, 20);
-        for (int i = 0; i < 6; i++) {
-            JPanel rowPanel = new JPanel(new GridLayout(1, 7));
-            for (int j = 0; j < 7; j++) {
-                JTextField field = new JTextField(1);
-                field.setHorizontalAlignment(JTextField.CENTER);
-                field.setFont(textFieldFont);
-                inputFields[i][j] = field;
-                rowPanel.add(field);
-            }
-            gridPanel.add(rowPanel);
-        }
+        rows = variant.maxAttempts();
+        columns = variant.length();
+        board = new BoardComponent(rows, columns);
         gbc.insets = new Insets(15, 100, 30, 100);
         gbc.weighty = 3.5;
-        frame.add(gridPanel, gbc);
-
-        //==================set numberPanel==============================
-        numberPanel = new JPanel(new GridLayout(1, 10));
-        Font buttonFont = new Font("Arial", Font.BOLD, 20);
-        ActionListener numberListener = createActionListener();
-        String numbers = "0123456789";
-        for (char c : numbers.toCharArray()) {
-            JButton button = new JButton(String.valueOf(c));
-            customizeButton(button, buttonFont);
-            button.addActionListener(numberListener);
-            button.setBackground(new Color(219, 223, 236));
-            numberPanel.add(button);
-        }
+        frame.add(board, gbc);
+
+        //==================set keyboard==============================
+        keyboard = new KeyboardComponent();
+        keyboard.addActionListener(createActionListener());
         gbc.insets = new Insets(0, 0, 0, 0);
-        gbc.weighty = 0.50;
-        frame.add(numberPanel, gbc);
-
-        //=========================set operationPanel======================
-        operationPanel = new JPanel(new GridLayout(1, 7));
-        String[] operations = {"Delete", "+", "-", "*", "/", "=", "Enter"};
-        ActionListener operationListener = createActionListener();
-        for (String op : operations) {
-            JButton button = new JButton(op);
-            customizeButton(button, buttonFont);
-            button.addActionListener(operationListener);
-            button.setBackground(new Color(219, 223, 236));
-            operationPanel.add(button);
+        gbc.weighty = 1.0;
+        frame.add(keyboard, gbc);
+
+        // The physical keyboard presses the same keys, wherever the focus is in the frame
+        bindKey(KeyStroke.getKeyStroke(KeyEvent.VK_ENTER, 0), "Enter");
+        bindKey(KeyStroke.getKeyStroke(KeyEvent.VK_BACK_SPACE, 0), "Delete");
+        bindKey(KeyStroke.getKeyStroke(KeyEvent.VK_DELETE, 0), "Delete");
+        for (char symbol : FeedbackEngine.ALPHABET.toCharArray()) {
+            bindKey(KeyStroke.getKeyStroke(symbol), String.valueOf(symbol));
         }
-        gbc.weighty = 0.50;
-        frame.add(operationPanel, gbc);
 
         // Setting the location to the center of the screen
         frame.setResizable(false);
         frame.setLocationRelativeTo(null);
     }
 
-    // Method to reset the game interface
-    private void resetGameInterface() {
-        // Reset all JTextFields in inputFields
-        for (JTextField[] inputField : inputFields) {
-            for (JTextField jTextField : inputField) {
-                jTextField.setText("");  // clear the text
-                jTextField.setBackground(Color.WHITE);  // reset the background color
-            }
-        }
-
-        // Reset the buttons in numberPanel and operationPanel
-        Stream.of(numberPanel, operationPanel).forEach(panel -> {
-            for (Component comp : panel.getComponents()) {
-                if (comp instanceof JButton button) {
-                    button.setBackground(white);  // reset the background color of the button
-                    button.setEnabled(true);  // enable the button
-                }
+    // Method to press a key of the on-screen keyboard with a key of the physical keyboard
+    private void bindKey(KeyStroke stroke, String key) {
+        JRootPane root = frame.getRootPane();
+        root.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(stroke, key);
+        root.getActionMap().put(key, new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                keyboard.press(key);
             }
         });
+    }
+
+    // Method to reset the game interface
+    private void resetGameInterface() {
+        // Empty every tile of the board, and reset and enable every key
+        board.reset();
+        keyboard.reset();
         // Reset the currentPanelIndex and currentInputIndex
         currentPanelIndex = 0;
         currentInputIndex = 0;
+        guessPending = false;
 
     }
 
-    // Method to disable all buttons after the game is over
+    // Method to disable all keys after the game is over
     private void disableButtons() {
-        Stream.of(numberPanel, operationPanel).forEach(panel -> {
-            for (Component comp : panel.getComponents()) {
-                if (comp instanceof JButton button) {
-                    button.setEnabled(false); // Disable the button
-                }
-            }
-        });
+        keyboard.setKeysEnabled(false);
     }
 
     // Method to create an ActionListener for the buttons, numbers, and operations
     private ActionListener createActionListener() {
         return e -> {
             String command = e.getActionCommand();
-            // process Delete operation
+            // process Delete operation, the row is kept while its guess is being processed
             if (command.equals("Delete")) {
-                if (currentInputIndex == 6 && !stop) {
-                    inputFields[currentPanelIndex][currentInputIndex].setText("");
+                if (guessPending) {
+                    return;
+                }
+                if (currentInputIndex == columns - 1 && !stop) {
+                    board.setSymbol(currentPanelIndex, currentInputIndex, (char) 0);
                     stop = true;
                 } else if (currentInputIndex > 0) {
-                    inputFields[currentPanelIndex][currentInputIndex - 1].setText("");
+                    board.setSymbol(currentPanelIndex, currentInputIndex - 1, (char) 0);
                     currentInputIndex--;
                 }
             }
-            // process Enter operation
+            // process Enter operation, ignored while the last guess is still being processed
             else if (command.equals("Enter")) {
-                // collect the input from the JTextFields
-                StringBuilder input = new StringBuilder();
-                for (int i = 0; i < 7; i++) {
-                    input.append(inputFields[currentPanelIndex][i].getText());
-                }
-                // invoke the processInput method in the controller
-                if (controller.processInput(input.toString())) {
-                    if (controller.isGameOver()) {
-                        disableButtons(); // Disable all buttons
-                    } else if (currentPanelIndex < 5) {
-                        currentPanelIndex++;
-                        currentInputIndex = 0; // Start at the beginning of the next panel
-                    }
+                if (guessPending) {
+                    return;
                 }
+                // collect the input from the row of the board
+                String input = board.getRowText(currentPanelIndex);
+                // validate and score in the background, the board is updated by the event of the outcome
+                guessPending = true;
+                controller.submitInput(input).exceptionally(failure -> {
+                    SwingUtilities.invokeLater(() -> {
+                        guessPending = false;
+                        JOptionPane.showMessageDialog(frame, "The guess could not be processed: " + failure.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                    });
+                    return false;
+                });
             }
 
             // process the number buttons
             else {
-                if (currentInputIndex == 6) {
+                if (currentInputIndex == columns - 1) {
                     stop = false;
                 }
-                if (currentInputIndex < 7 && inputFields[currentPanelIndex][currentInputIndex].getText().isEmpty()) {
-                    inputFields[currentPanelIndex][currentInputIndex].setText(command);
-                    if (currentInputIndex < 6) {
+                if (currentInputIndex < columns && board.getSymbol(currentPanelIndex, currentInputIndex) == 0) {
+                    board.setSymbol(currentPanelIndex, currentInputIndex, command.charAt(0));
+                    if (currentInputIndex < columns - 1) {
                         currentInputIndex++;
                     }
                 }
@@ -335,111 +297,81 @@ public class NumberleView implements Observer {
         };
     }
 
-    private static void customizeButton(JButton button, Font font) {
-        button.setFocusPainted(false);
-        button.setFont(font);
+    // Method to show the rules, the dialog is built the first time it is shown
+    private void showHowToPlay() {
+        if (howToPlayDialog == null) {
+            String rulesText = "<html><body style='width: 200px'>"
+                    + "<h1>How to Play Numberle:</h1>"
+                    + "<p><b>Goal:</b> Guess the hidden math equation of " + columns + " tiles in " + rows + " tries.</p>"
+                    + "<p><b>Feedback:</b> Color of the tiles changes to show how close you are.</p>"
+                    + "<ul>"
+                    + "<li><b>Green:</b> Correct symbol in the right position.</li>"
+                    + "<li><b>Orange:</b> Correct symbol but in the wrong position.</li>"
+                    + "<li><b>Grey:</b> Symbol not in the equation at all.</li>"
+                    + "</ul>"
+                    + "<h2>Rules:</h2>"
+                    + "<ul>"
+                    + "<li>Each guess must include exactly one '=' sign.</li>"
+                    + "<li>Use numbers 0-9 and symbols +, -, *, /.</li>"
+                    + "<li>The equation must resolve correctly (e.g., '3+2=5').</li>"
+                    + "<li>Guesses must be in the format of a math equation.</li>"
+                    + "<li>Each try must result in a different equation; guesses are not commutative.</li>"
+                    + "<li>You have " + rows + " attempts to guess the equation correctly.</li>"
+                    + "</ul>"
+                    + "<p>Win the game by turning all rows green!</p>"
+                    + "</body></html>";
+            howToPlayDialog = new JOptionPane(rulesText, JOptionPane.INFORMATION_MESSAGE).createDialog(frame, "How to Play");
+        }
+        howToPlayDialog.setVisible(true);
     }
 
-    private static JButton createButtonWithIcon(String tooltip, String imagePath, int width, int height) {
-        JButton button = new JButton(scaleImageIcon(imagePath, width, height));
+    private static JButton createButton(String tooltip) {
+        JButton button = new JButton();
         button.setToolTipText(tooltip);
         button.setFocusPainted(false);
         button.setBackground(new Color(236, 236, 237));
         return button;
     }
 
-    private static ImageIcon scaleImageIcon(String path, int width, int height) {
-        ImageIcon icon = new ImageIcon(path);
-        Image img = icon.getImage();
-        Image scaledImg = img.getScaledInstance(width, height, Image.SCALE_SMOOTH);
-        return new ImageIcon(scaledImg);
-    }
-
-    // Method to apply feedback colors to the JTextFields
-    private void applyFeedbackColors(String feedback) {
-        if (feedback == null || feedback.length() != 7) {
-            JOptionPane.showMessageDialog(frame, "Invalid feedback length.", "Error", JOptionPane.ERROR_MESSAGE);
-            return;
-        }
-
-        for (int i = 0; i < feedback.length(); i++) {
-            char ch = feedback.charAt(i);
-            Color colorToApply = switch (ch) {
-                case 'G' -> green;
-                case 'O' -> orange;
-                case 'X' -> grey;
-                default -> throw new IllegalArgumentException("Unexpected value: " + ch);
-            };
-
-            JTextField field = inputFields[currentPanelIndex][i];
-            field.setBackground(colorToApply);
-        }
-    }
-
-    // Method to update the colors of the buttons based on the feedback, correctPositions, wrongPositions, notInEquation, and unused
-    private void updateButtonColors(Set<Character> correctPositions, Set<Character> wrongPositions, Set<Character> notInEquation, Set<Character> unused) {
-        // Iterate over all buttons in numberPanel and operationPanel
-        Stream.of(numberPanel, operationPanel).forEach(panel -> {
-            for (Component comp : panel.getComponents()) {
-                if (comp instanceof JButton button) {
-                    char ch = button.getText().charAt(0);
-
-                    Color currentColor = button.getBackground();
-
-                    // if the button is already green or grey, skip it
-                    if (currentColor.equals(green) || currentColor.equals(grey)) {
-                        continue;
-                    }
-
-                    // Apply the appropriate color based on the character
-                    if (correctPositions.contains(ch)) {
-                        button.setBackground(green);
-                    } else if (notInEquation.contains(ch) && !currentColor.equals(green)) {
-                        button.setBackground(grey);
-                    } else if (wrongPositions.contains(ch) && !currentColor.equals(green) && !currentColor.equals(grey)) {
-                        button.setBackground(orange);
-                    } else if (unused.contains(ch)) {
-                        button.setBackground(white);
-                    } else {
-                        // Reset the color to white if the character is not in any of the sets
-                        button.setBackground(white);
-                    }
-                }
-            }
-        });
+    private static JButton createButtonWithIcon(String tooltip, String imageName, int width, int height) {
+        JButton button = createButton(tooltip);
+        button.setIcon(AssetCache.shared().icon(imageName, width, height));
+        return button;
     }
 
-    // Method to update the view based on the changes in the model
+    // Method to update the view based on the events of the model
     @Override
-    public void update(java.util.Observable o, Object arg) {
-        // Enable the hintButton if the displayTargetEquation is true
-        hintButton.setEnabled(controller.getDisplayTargetEquation());
-
-        if (arg instanceof String message) {
-            switch (message) {
-                case "CheckGameFailed" -> {
-                    if (!controller.isGameWon() && controller.isGameOver()) {
-                        JOptionPane.showMessageDialog(frame, "Unfortunately, you did not guess the target equation correctly. The target equation is:" + controller.getTargetWord());
-                    }
+    public void onEvent(NumberleEvent event) {
+        if (event instanceof NumberleEvent.GameStarted started) {
+            // Enable the hintButton if the displayTargetEquation is true
+            targetEquation = started.targetEquation();
+            hintButton.setEnabled(started.displayTargetEquation());
+        } else if (event instanceof NumberleEvent.GuessRejected rejected) {
+            guessPending = false;
+            // Display every error message of the guess in a single dialog box
+            if (!rejected.errorIndices().isEmpty()) {
+                StringBuilder messages = new StringBuilder();
+                for (int index : rejected.errorIndices()) {
+                    messages.append(messages.length() == 0 ? "" : "\n").append(EquationValidator.message(index, columns));
                 }
-                case "Restart" -> {
-                    if (controller.getRemainingAttempts() <= 5) {
-                        restartButton.setEnabled(true);
-                    }
-                }
-                case "Feedback" -> {
-                    String feedback = controller.getFeedback();
-                    applyFeedbackColors(feedback);
-                }
-                case "UpdateKeyboard" -> {
-                    Set<Character> correctPositions = controller.getCorrectPositions();
-                    Set<Character> wrongPositions = controller.getWrongPositions();
-                    Set<Character> notInEquation = controller.getNotInEquation();
-                    Set<Character> unused = controller.getUnused();
-                    updateButtonColors(correctPositions, wrongPositions, notInEquation, unused);
-                }
-                // Display the message in a dialog box for error messages and won information
-                default -> JOptionPane.showMessageDialog(frame, message, "Message", JOptionPane.INFORMATION_MESSAGE);
+                JOptionPane.showMessageDialog(frame, messages.toString(), "Message", JOptionPane.INFORMATION_MESSAGE);
+            }
+        } else if (event instanceof NumberleEvent.GuessEvaluated guess) {
+            // apply the whole outcome of the guess to the board in this one update
+            guessPending = false;
+            restartButton.setEnabled(true);
+            board.applyFeedback(guess.attempt(), guess.feedbackPattern());
+            keyboard.applyKeys(guess.correctPositions(), guess.wrongPositions(), guess.notInEquation());
+            if (guess.gameOver()) {
+                disableButtons(); // Disable all buttons
+            } else if (guess.attempt() < rows - 1) {
+                currentPanelIndex = guess.attempt() + 1;
+                currentInputIndex = 0; // Start at the beginning of the next panel
+            }
+            if (guess.gameWon()) {
+                JOptionPane.showMessageDialog(frame, "Congratulations on guessing the equation correctly!", "Message", JOptionPane.INFORMATION_MESSAGE);
+            } else if (guess.gameOver()) {
+                JOptionPane.showMessageDialog(frame, "Unfortunately, you did not guess the target equation correctly. The target equation is:" + targetEquation);
             }
         }
     }
@@ -0,0 +1,144 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * Runs the chunks of a batch on worker threads and writes their output in the order they were submitted, for
+ * {@link BatchPlay} and {@link ReplayPipeline}.
+ * <p>
+ * Each chunk produces its output text and its totals; a writer thread takes the chunks in submission order, writes
+ * their output and adds up their totals. At most two chunks per worker are in flight, so {@link #submit} blocks the
+ * reading thread when the workers or the output fall behind and memory stays bounded whatever the size of the input.
+ * A chunk that throws, or an output that cannot be written, stops the batch, and the failure is thrown by the next
+ * submit or by {@link #finish}.
+ *
+ * @param <T> the totals of a chunk
+ */
+final class OrderedChunkWriter<T> implements AutoCloseable {
+    // how long a blocked submit waits before checking whether the writer stopped
+    private static final long OFFER_MILLIS = 100;
+
+    /**
+     * The output and totals of one chunk.
+     */
+    record Chunk<T>(String output, T totals) {
+    }
+
+    private final ExecutorService workers;
+    private final ExecutorService writerThread;
+
+    // the chunks in flight, in submission order; a full queue blocks submit
+    private final BlockingQueue<CompletableFuture<Chunk<T>>> inFlight;
+    private final CompletableFuture<T> writer;
+
+    /**
+     * Starts the workers and the writer of a batch.
+     *
+     * @requires threads >= 1 && output != null
+     */
+    OrderedChunkWriter(String name, int threads, Writer output, T empty, BinaryOperator<T> plus) {
+        this.workers = Executors.newFixedThreadPool(threads, daemonThreads(name));
+        this.writerThread = Executors.newSingleThreadExecutor(daemonThreads(name + "-writer"));
+        this.inFlight = new ArrayBlockingQueue<>(2 * threads);
+        this.writer = CompletableFuture.supplyAsync(() -> write(output, empty, plus), writerThread);
+    }
+
+    /**
+     * Runs a chunk on a worker, waiting while the queue of chunks in flight is full.
+     *
+     * @throws IOException if an earlier chunk or the output failed with one, or the wait was interrupted
+     */
+    void submit(Supplier<Chunk<T>> chunk) throws IOException {
+        enqueue(CompletableFuture.supplyAsync(chunk, workers));
+    }
+
+    /**
+     * Waits until every chunk submitted is written and the output is flushed, and returns the sum of their totals.
+     */
+    T finish() throws IOException {
+        enqueue(CompletableFuture.completedFuture(null)); // marks the end of the batch
+        try {
+            return writer.join();
+        } catch (CompletionException e) {
+            throw rethrow(e);
+        }
+    }
+
+    // Stops the workers and the writer, abandoning the chunks still in flight after a failure
+    @Override
+    public void close() {
+        workers.shutdownNow();
+        writerThread.shutdownNow();
+    }
+
+    // Waits for room in the queue, giving up with the writer's failure if it stopped early
+    private void enqueue(CompletableFuture<Chunk<T>> chunk) throws IOException {
+        try {
+            while (!inFlight.offer(chunk, OFFER_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (writer.isDone()) {
+                    writer.join(); // throws the failure of the writer
+                    throw new IllegalStateException("The writer stopped before the end of the batch");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the batch", e);
+        } catch (CompletionException e) {
+            throw rethrow(e);
+        }
+    }
+
+    // Takes the chunks in submission order and writes them out until the end marker
+    private T write(Writer output, T empty, BinaryOperator<T> plus) {
+        T totals = empty;
+        try {
+            while (true) {
+                Chunk<T> chunk = inFlight.take().join();
+                if (chunk == null) {
+                    output.flush();
+                    return totals;
+                }
+                output.write(chunk.output());
+                totals = plus.apply(totals, chunk.totals());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Unwraps the failure of a chunk or of the output, so callers see the exception that was thrown
+    private static IOException rethrow(CompletionException e) throws IOException {
+        Throwable cause = e.getCause();
+        if (cause instanceof CompletionException nested) {
+            cause = nested.getCause();
+        }
+        if (cause instanceof UncheckedIOException failure) {
+            throw failure.getCause();
+        }
+        if (cause instanceof RuntimeException failure) {
+            throw failure;
+        }
+        throw e;
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,93 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrderedChunkWriterTest {
+
+    /**
+     * testWritesInOrder() Scenario:
+     * Submit many more chunks than fit in flight on 4 workers, the early ones slower than the later ones, and check
+     * the output follows the submission order and the totals add up.
+     */
+    @Test
+    public void testWritesInOrder() throws IOException {
+        StringWriter output = new StringWriter();
+        StringBuilder expected = new StringBuilder();
+        long total;
+        try (OrderedChunkWriter<Long> chunks = new OrderedChunkWriter<>("test-chunks", 4, output, 0L, Long::sum)) {
+            for (int i = 0; i < 100; i++) {
+                int chunk = i;
+                expected.append(chunk).append('\n');
+                chunks.submit(() -> {
+                    if (chunk % 8 == 0) {
+                        sleep(5);
+                    }
+                    return new OrderedChunkWriter.Chunk<>(chunk + "\n", (long) chunk);
+                });
+            }
+            total = chunks.finish();
+        }
+        assertEquals(expected.toString(), output.toString());
+        assertEquals(99 * 100 / 2, total);
+    }
+
+    /**
+     * testFailuresReachTheReader() Scenario:
+     * Let one chunk throw and, in a second batch, the output fail, and check the reader gets each exception back
+     * from submit or finish instead of hanging.
+     */
+    @Test
+    public void testFailuresReachTheReader() {
+        try (OrderedChunkWriter<Long> chunks = new OrderedChunkWriter<>("test-chunks", 2, new StringWriter(), 0L, Long::sum)) {
+            IllegalStateException failure = assertThrows(IllegalStateException.class, () -> {
+                for (int i = 0; i < 100; i++) {
+                    int chunk = i;
+                    chunks.submit(() -> {
+                        if (chunk == 3) {
+                            throw new IllegalStateException("chunk 3");
+                        }
+                        return new OrderedChunkWriter.Chunk<>("", 1L);
+                    });
+                }
+                chunks.finish();
+            });
+            assertEquals("chunk 3", failure.getMessage());
+        }
+
+        Writer broken = new Writer() {
+            @Override
+            public void write(char[] buffer, int offset, int length) throws IOException {
+                throw new IOException("disk full");
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        try (OrderedChunkWriter<Long> chunks = new OrderedChunkWriter<>("test-chunks", 2, broken, 0L, Long::sum)) {
+            IOException failure = assertThrows(IOException.class, () -> {
+                for (int i = 0; i < 100; i++) {
+                    chunks.submit(() -> new OrderedChunkWriter.Chunk<>("x", 1L));
+                }
+                chunks.finish();
+            });
+            assertEquals("disk full", failure.getMessage());
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
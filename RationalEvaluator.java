@@ -0,0 +1,107 @@
+/**
+ * Exact, allocation-free equation evaluator.
+ * <p>
+ * The equation is read once from left to right and scored as {@code left - right}, with the value kept as a fraction in
+ * a handful of {@code long} registers, so precedence needs no operator stack and equality needs no rounding margin.
+ * Division by zero makes an equation unbalanced. Every number and partial product of an equation of at most
+ * {@link #MAX_TILES} tiles is bounded by the product of its numbers, so the registers cannot overflow.
+ */
+public final class RationalEvaluator implements IEquationEvaluator {
+    // the shared instance, the evaluator holds no state
+    public static final RationalEvaluator INSTANCE = new RationalEvaluator();
+
+    // the most tiles a packed equation can hold
+    public static final int MAX_TILES = 16;
+
+    // tile codes of the symbols, see FeedbackEngine.ALPHABET
+    private static final int PLUS = 10;
+    private static final int MINUS = 11;
+    private static final int TIMES = 12;
+    private static final int DIVIDE = 13;
+    private static final int EQUALS = 14;
+    private static final int END = 15;
+
+    private RationalEvaluator() {
+    }
+
+    @Override
+    public boolean isBalanced(CharSequence equation, int end) {
+        if (end > MAX_TILES) {
+            return false;
+        }
+        // pack the characters into tiles, rejecting anything outside the alphabet
+        long code = 0;
+        for (int i = 0; i < end; i++) {
+            int tile = FeedbackEngine.tileCode(equation.charAt(i));
+            if (tile < 0) {
+                return false;
+            }
+            code |= (long) tile << (i << 2);
+        }
+        return isBalanced(code, end);
+    }
+
+    @Override
+    public boolean isBalanced(long code, int end) {
+        long sumNum = 0, sumDen = 1;   // the completed terms
+        long termNum = 0, termDen = 1; // the term being multiplied out
+        long number = 0;               // the number being read
+        int multiplier = 0;            // the pending '*' or '/' of the term, 0 at the start of a term
+        int sign = 1, sideSign = 1;
+        boolean expectDigit = true;
+        boolean seenEquals = false;
+
+        for (int i = 0; i <= end; i++) {
+            int tile = i < end ? (int) (code >>> (i << 2)) & 0xF : END;
+            if (tile < PLUS) {
+                number = number * 10 + tile;
+                expectDigit = false;
+                continue;
+            }
+            // a side may not start or end with a symbol, and symbols may not follow each other
+            if (expectDigit || tile == END && !seenEquals) {
+                return false;
+            }
+            expectDigit = true;
+
+            // apply the number to the current term
+            if (multiplier == TIMES) {
+                termNum *= number;
+            } else if (multiplier == DIVIDE) {
+                if (number == 0) {
+                    return false;
+                }
+                termDen *= number;
+            } else {
+                termNum = number;
+                termDen = 1;
+            }
+            number = 0;
+            if (tile == TIMES || tile == DIVIDE) {
+                multiplier = tile;
+                continue;
+            }
+
+            // add the finished term to the sum
+            sumNum = sumNum * termDen + sign * termNum * sumDen;
+            sumDen *= termDen;
+            multiplier = 0;
+            switch (tile) {
+                case PLUS -> sign = sideSign;
+                case MINUS -> sign = -sideSign;
+                case EQUALS -> {
+                    if (seenEquals) {
+                        return false;
+                    }
+                    seenEquals = true;
+                    sideSign = -1;
+                    sign = -1;
+                }
+                default -> {
+                    // the end of the equation
+                }
+            }
+        }
+        return sumNum == 0;
+    }
+}
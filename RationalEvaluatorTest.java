@@ -0,0 +1,49 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RationalEvaluatorTest {
+
+    private final IEquationEvaluator evaluator = RationalEvaluator.INSTANCE;
+
+    /**
+     * testArithmetic() Scenario:
+     * Check the exact evaluation on precedence, fractions, malformed sides and division by zero.
+     */
+    @Test
+    public void testArithmetic() {
+        assertTrue(evaluator.isBalanced("2+3*2=8", 7), "Multiplication binds tighter than addition.");
+        assertTrue(evaluator.isBalanced("2/6=1/3", 7), "Equal fractions should balance.");
+        assertTrue(evaluator.isBalanced("1+2=3==", 5), "Characters after the end are ignored.");
+        assertFalse(evaluator.isBalanced("8-2-2=8", 7), "Subtraction is left associative.");
+        assertFalse(evaluator.isBalanced("-3+5=2", 6), "A side may not start with an operator.");
+        assertFalse(evaluator.isBalanced("3+5=8-", 6), "A side may not end with an operator.");
+        assertFalse(evaluator.isBalanced("1=1=1", 5), "Only one equal sign is allowed.");
+        assertFalse(evaluator.isBalanced("0/0=123", 7), "Division by zero never balances.");
+    }
+
+    /**
+     * testMatchesStackEvaluator() Scenario:
+     * Evaluate random equations with both evaluators and check they agree whenever nothing is divided by zero.
+     */
+    @Test
+    public void testMatchesStackEvaluator() {
+        Random random = new Random(42);
+        String symbols = "01234567890123456789+-*/=";
+        char[] chars = new char[7];
+        for (int n = 0; n < 200_000; n++) {
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = symbols.charAt(random.nextInt(symbols.length()));
+            }
+            String equation = new String(chars);
+            if (equation.matches(".*/0+([^0-9].*)?")) {
+                continue; // the stack evaluator accepts NaN and infinite results
+            }
+            int end = equation.replaceAll("=+$", "").length(); // callers drop trailing equal signs
+            assertEquals(StackEvaluator.INSTANCE.isBalanced(equation, end), evaluator.isBalanced(equation, end),
+                    "Evaluators should agree on " + equation);
+        }
+    }
+}
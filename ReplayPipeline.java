@@ -0,0 +1,266 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams a log of recorded games through the validation and feedback rules of the model.
+ * <p>
+ * Each line of the log is {@code session<TAB>target<TAB>guess}, and the lines of a game are consecutive. The reader
+ * thread only splits the input into chunks of whole games; workers parse and replay the chunks with
+ * {@link GuessBatch#replay}, and an {@link OrderedChunkWriter} writes the results in input order. At most a fixed
+ * number of chunks is in flight, so the reader blocks when the workers or the output fall behind and memory stays
+ * bounded whatever the size of the log.
+ * <p>
+ * One line is written per game, {@code session<TAB>target<TAB>WON|LOST|UNFINISHED<TAB>attempts<TAB>invalid guesses
+ * <TAB>feedback of each scored guess}, followed by the aggregate statistics on standard error.
+ * <p>
+ * Usage: {@code java ReplayPipeline [log file|-] [output file|-] [--no-arithmetic] [--threads n]}
+ */
+public final class ReplayPipeline {
+    // the games per chunk handed to a worker, and the read buffer size
+    private static final int GAMES_PER_CHUNK = 4_096;
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final boolean checkArithmetic;
+    private final int threads;
+
+    public ReplayPipeline(boolean checkArithmetic, int threads) {
+        this.checkArithmetic = checkArithmetic;
+        this.threads = threads;
+    }
+
+    /**
+     * Aggregate statistics of a replay.
+     */
+    public static final class Stats {
+        private long games;
+        private long guesses;
+        private long wins;
+        private long losses;
+        private long malformedLines;
+        private final long[] winsByAttempt = new long[INumberleModel.MAX_ATTEMPTS + 1];
+        private final long[] errors = new long[EquationValidator.ERROR_MESSAGES.size()];
+
+        public long games() {
+            return games;
+        }
+
+        public long guesses() {
+            return guesses;
+        }
+
+        public long wins() {
+            return wins;
+        }
+
+        public long losses() {
+            return losses;
+        }
+
+        public long malformedLines() {
+            return malformedLines;
+        }
+
+        // Returns the number of games won on the given attempt, 1 for the first guess
+        public long winsOnAttempt(int attempt) {
+            return winsByAttempt[attempt];
+        }
+
+        // Returns the number of guesses rejected with the error index
+        public long errors(int index) {
+            return errors[index];
+        }
+
+        private Stats add(Stats other) {
+            games += other.games;
+            guesses += other.guesses;
+            wins += other.wins;
+            losses += other.losses;
+            malformedLines += other.malformedLines;
+            for (int i = 0; i < winsByAttempt.length; i++) {
+                winsByAttempt[i] += other.winsByAttempt[i];
+            }
+            for (int i = 0; i < errors.length; i++) {
+                errors[i] += other.errors[i];
+            }
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder()
+                    .append("games: ").append(games).append(", guesses: ").append(guesses)
+                    .append(", won: ").append(wins).append(", lost: ").append(losses)
+                    .append(", unfinished: ").append(games - wins - losses)
+                    .append(", malformed lines: ").append(malformedLines).append('\n')
+                    .append("wins by attempt:");
+            for (int attempt = 1; attempt < winsByAttempt.length; attempt++) {
+                text.append(' ').append(attempt).append('=').append(winsByAttempt[attempt]);
+            }
+            text.append("\ninvalid guesses by error:");
+            for (int i = 0; i < errors.length; i++) {
+                text.append(' ').append(i).append('=').append(errors[i]);
+            }
+            return text.toString();
+        }
+    }
+
+    /**
+     * Replays every game of the log, writing one line per game in input order, and returns the statistics.
+     */
+    public Stats run(BufferedReader log, Writer output) throws IOException {
+        try (OrderedChunkWriter<Stats> chunks = new OrderedChunkWriter<>("numberle-replay", threads, output,
+                new Stats(), Stats::add)) {
+            List<String> chunk = new ArrayList<>();
+            int games = 0;
+            String session = null;
+            String line;
+            while ((line = log.readLine()) != null) {
+                String lineSession = sessionOf(line);
+                if (!lineSession.equals(session)) {
+                    // a chunk only ends between games
+                    if (++games > GAMES_PER_CHUNK) {
+                        submit(chunks, chunk);
+                        chunk = new ArrayList<>();
+                        games = 1;
+                    }
+                    session = lineSession;
+                }
+                chunk.add(line);
+            }
+            submit(chunks, chunk);
+            return chunks.finish();
+        }
+    }
+
+    private void submit(OrderedChunkWriter<Stats> chunks, List<String> chunk) throws IOException {
+        if (!chunk.isEmpty()) {
+            chunks.submit(() -> replay(chunk));
+        }
+    }
+
+    // Parses and replays the games of a chunk
+    private OrderedChunkWriter.Chunk<Stats> replay(List<String> lines) {
+        StringBuilder output = new StringBuilder(lines.size() * 16);
+        Stats stats = new Stats();
+        List<String> guesses = new ArrayList<>();
+        String session = null;
+        String target = null;
+        for (String line : lines) {
+            int first = line.indexOf('\t');
+            int second = first < 0 ? -1 : line.indexOf('\t', first + 1);
+            String lineSession = sessionOf(line);
+            if (!lineSession.equals(session)) {
+                replayGame(session, target, guesses, output, stats);
+                session = lineSession;
+                target = null;
+                guesses.clear();
+            }
+            if (second < 0 || line.indexOf('\t', second + 1) >= 0) {
+                stats.malformedLines++;
+                continue;
+            }
+            if (target == null) {
+                target = line.substring(first + 1, second);
+            }
+            guesses.add(line.substring(second + 1));
+        }
+        replayGame(session, target, guesses, output, stats);
+        return new OrderedChunkWriter.Chunk<>(output.toString(), stats);
+    }
+
+    private void replayGame(String session, String target, List<String> guesses, StringBuilder output, Stats stats) {
+        if (session == null || target == null) {
+            return;
+        }
+        long targetCode;
+        try {
+            targetCode = FeedbackEngine.encode(target);
+        } catch (IllegalArgumentException e) {
+            stats.malformedLines += guesses.size(); // a game without a valid target cannot be replayed
+            return;
+        }
+        GuessBatch.Result result = GuessBatch.replay(targetCode, guesses.toArray(new String[0]), checkArithmetic);
+
+        stats.games++;
+        String outcome = "UNFINISHED";
+        if (result.won()) {
+            stats.wins++;
+            stats.winsByAttempt[result.attempts()]++;
+            outcome = "WON";
+        } else if (result.gameOver()) {
+            stats.losses++;
+            outcome = "LOST";
+        }
+        int invalid = 0;
+        for (int code : result.results()) {
+            if (code >= 0) {
+                stats.errors[code]++;
+                invalid++;
+            }
+        }
+        stats.guesses += guesses.size();
+
+        output.append(session).append('\t').append(target).append('\t').append(outcome)
+                .append('\t').append(result.attempts()).append('\t').append(invalid).append('\t');
+        boolean first = true;
+        for (int pattern : result.patterns()) {
+            if (pattern != GuessBatch.NOT_SCORED) {
+                output.append(first ? "" : ",").append(FeedbackEngine.toString(pattern));
+                first = false;
+            }
+        }
+        output.append('\n');
+    }
+
+    private static String sessionOf(String line) {
+        int tab = line.indexOf('\t');
+        return tab < 0 ? line : line.substring(0, tab);
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<String> files = new ArrayList<>();
+        boolean checkArithmetic = true;
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--no-arithmetic" -> checkArithmetic = false;
+                case "--threads" -> threads = Integer.parseInt(args[++i]);
+                default -> files.add(args[i]);
+            }
+        }
+        String input = files.size() > 0 ? files.get(0) : "-";
+        String outputFile = files.size() > 1 ? files.get(1) : "-";
+
+        long start = System.nanoTime();
+        try (BufferedReader log = input.equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8), BUFFER_SIZE)
+                : open(Paths.get(input));
+             Writer output = new BufferedWriter(outputFile.equals("-")
+                     ? new OutputStreamWriter(System.out, StandardCharsets.UTF_8)
+                     : Files.newBufferedWriter(Paths.get(outputFile), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            Stats stats = new ReplayPipeline(checkArithmetic, Math.max(1, threads)).run(log, output);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.err.println(stats);
+            System.err.printf("replayed %d guesses in %.2f s (%.0f guesses/s)%n", stats.guesses(), seconds, stats.guesses() / seconds);
+        }
+    }
+
+    // Opens a log through a file channel with a large read buffer
+    private static BufferedReader open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        return new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+}
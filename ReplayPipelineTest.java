@@ -0,0 +1,46 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReplayPipelineTest {
+
+    /**
+     * testReplayLog() Scenario:
+     * Replay a small log with a won game, an unfinished game with an invalid guess and a malformed line, and a lost
+     * game, and check the per-game lines keep the input order and the statistics add up.
+     */
+    @Test
+    public void testReplayLog() throws IOException {
+        StringBuilder log = new StringBuilder()
+                .append("a\t2+3*2=8\t1+5=2+4\n")
+                .append("a\t2+3*2=8\t2+3*2=8\n")
+                .append("b\t1+1=2+0\t1+1=3+0\n")
+                .append("b\tmalformed\n")
+                .append("b\t1+1=2+0\t2+3*2=8\n");
+        for (int i = 0; i < 7; i++) {
+            log.append("c\t2+3*2=8\t1+5=2+4\n");
+        }
+
+        StringWriter output = new StringWriter();
+        ReplayPipeline.Stats stats = new ReplayPipeline(true, 2).run(new BufferedReader(new StringReader(log.toString())), output);
+
+        String[] lines = output.toString().split("\n");
+        assertEquals(3, lines.length);
+        assertEquals("a\t2+3*2=8\tWON\t2\t0\tXGXOGXX,GGGGGGG", lines[0]);
+        assertTrue(lines[1].startsWith("b\t1+1=2+0\tUNFINISHED\t1\t1\t"));
+        assertTrue(lines[2].startsWith("c\t2+3*2=8\tLOST\t6\t0\t"));
+
+        assertEquals(3, stats.games());
+        assertEquals(11, stats.guesses());
+        assertEquals(1, stats.wins());
+        assertEquals(1, stats.losses());
+        assertEquals(1, stats.winsOnAttempt(2));
+        assertEquals(1, stats.errors(EquationValidator.NOT_BALANCED));
+        assertEquals(1, stats.malformedLines());
+    }
+}
@@ -0,0 +1,95 @@
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * An {@link EventDispatcher} that passes events through a bounded lock-free ring buffer to a consumer thread.
+ * <p>
+ * Publishers claim a sequence number with one compare-and-set and store the event in its slot; the consumer takes
+ * slots in sequence order, so events are delivered in the order their sequence numbers were claimed. A publisher
+ * that runs a whole buffer ahead of the consumer waits for a free slot rather than dropping events. Closing stops
+ * the claims: every event claimed before is still delivered, and later events are dropped without taking a slot.
+ */
+final class RingBufferDispatcher extends EventDispatcher {
+    // how long the idle consumer parks before checking the buffer again
+    private static final long IDLE_PARK_NANOS = 1_000_000;
+
+    private final AtomicReferenceArray<NumberleEvent> slots;
+    private final int mask;
+    // the number of claimed sequence numbers, with the CLOSED bit set by close so no more are claimed
+    private static final long CLOSED = Long.MIN_VALUE;
+    private final AtomicLong claimed = new AtomicLong();
+    private final Thread consumer;
+
+    // the sequence number of the next event the consumer takes
+    private volatile long next;
+    private volatile boolean idle;
+
+    /**
+     * @requires capacity > 0
+     */
+    RingBufferDispatcher(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+        this.consumer = new Thread(this::consume, "numberle-events");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    @Override
+    protected void dispatch(NumberleEvent event) {
+        long sequence;
+        do {
+            sequence = claimed.get();
+            if ((sequence & CLOSED) != 0) {
+                return; // closed, the consumer may be gone
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+        // the consumer delivers every claimed event, even after close, so the slot is freed
+        while (sequence - next >= slots.length()) {
+            Thread.yield(); // the buffer is full, let the consumer run
+        }
+        slots.set((int) sequence & mask, event);
+        if (idle) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    // Delivers events until closed, then delivers what was claimed before close
+    private void consume() {
+        long limit;
+        while (((limit = claimed.get()) & CLOSED) == 0 || next < (limit & ~CLOSED)) {
+            int slot = (int) next & mask;
+            NumberleEvent event = slots.get(slot);
+            if (event == null) {
+                idle = true;
+                if (slots.get(slot) == null) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                idle = false;
+                continue;
+            }
+            slots.set(slot, null);
+            next++; // only the consumer writes next
+            try {
+                deliver(event);
+            } catch (RuntimeException e) {
+                // a failing listener must not stop the delivery of later events
+                System.err.println("Error delivering " + event + ": " + e);
+            }
+        }
+    }
+
+    // Stops the consumer once the events published so far are delivered
+    @Override
+    public void close() {
+        claimed.getAndUpdate(count -> count | CLOSED);
+        LockSupport.unpark(consumer);
+        try {
+            consumer.join(1_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+import java.util.Stack;
+
+/**
+ * The original equation evaluator of {@code NumberleModel}, which splits on '=' and evaluates each side with a
+ * {@code Stack<Double>} following the BODMAS rule, comparing the results with a small margin of error.
+ * <p>
+ * Kept as the baseline that {@link RationalEvaluator} is benchmarked and cross-checked against.
+ */
+public final class StackEvaluator implements IEquationEvaluator {
+    // the shared instance, the evaluator holds no state
+    public static final StackEvaluator INSTANCE = new StackEvaluator();
+
+    private StackEvaluator() {
+    }
+
+    @Override
+    public boolean isBalanced(CharSequence equation, int end) {
+        try {
+            String[] parts = equation.subSequence(0, end).toString().split("=");
+            if (parts.length != 2 || parts[0].isEmpty() || parts[1].isEmpty()) {
+                return false;
+            }
+            double leftResult = evaluateExpression(parts[0]);
+            double rightResult = evaluateExpression(parts[1]);
+            return !(Math.abs(leftResult - rightResult) > 0.0001); // allow for a small margin of error
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean isBalanced(long code, int end) {
+        char[] chars = new char[end];
+        for (int i = 0; i < end; i++) {
+            chars[i] = FeedbackEngine.ALPHABET.charAt(FeedbackEngine.tileAt(code, i));
+        }
+        return isBalanced(new String(chars), end);
+    }
+
+    // Following the BODMAS rule, evaluate the expression
+    static double evaluateExpression(String expression) {
+        Stack<Double> numbers = new Stack<>();
+        Stack<Character> operators = new Stack<>();
+
+        int index = 0;
+        while (index < expression.length()) {
+            char c = expression.charAt(index);
+
+            // process numbers
+            if (Character.isDigit(c)) {
+                StringBuilder numberBuilder = new StringBuilder();
+                while (index < expression.length() && Character.isDigit(expression.charAt(index))) {
+                    numberBuilder.append(expression.charAt(index++));
+                }
+                numbers.push(Double.parseDouble(numberBuilder.toString()));
+                continue; // skip the index increment
+            }
+
+            // process operators
+            if (c == '+' || c == '-' || c == '*' || c == '/') {
+                while (!operators.isEmpty() && hasPrecedence(c, operators.peek())) {
+                    numbers.push(applyOperator(operators.pop(), numbers.pop(), numbers.pop()));
+                }
+                operators.push(c);
+            }
+
+            index++;
+        }
+
+        // process the remaining operators
+        while (!operators.isEmpty()) {
+            numbers.push(applyOperator(operators.pop(), numbers.pop(), numbers.pop()));
+        }
+
+        return numbers.pop();
+    }
+
+    private static boolean hasPrecedence(char currentOp, char stackOp) {
+        // check if the current operator has higher precedence than the operator on the stack
+        return (currentOp != '*' && currentOp != '/') || (stackOp != '+' && stackOp != '-');
+    }
+
+    private static double applyOperator(char operator, double b, double a) {
+        return switch (operator) {
+            case '+' -> a + b;
+            case '-' -> a - b;
+            case '*' -> a * b;
+            case '/' -> a / b;
+            default -> throw new UnsupportedOperationException("Invalid operator: " + operator);
+        };
+    }
+}
@@ -0,0 +1,141 @@
+/**
+ * Picks the target of each new game as an ordinal into the corpus, in constant time and without allocating.
+ * <p>
+ * A scheduler is either fixed on the first equation, random with replacement, a shuffled cycle that visits every
+ * equation once before any repeats, or a daily puzzle. The shuffle is a keyed Feistel permutation of the ordinal,
+ * walked until it lands inside the corpus, so no shuffled copy is ever built whatever the corpus size. Everything
+ * derives from the seed with SplitMix64, so the same seed replays the same targets, and the daily puzzle depends
+ * only on the seed and the UTC date: every session and every node with the same corpus plays the same target.
+ * <p>
+ * The random and shuffled schedulers count the games they have scheduled and are not thread safe; give every game
+ * its own, see {@link #derive}.
+ */
+public final class TargetScheduler {
+    /**
+     * How the targets are picked.
+     */
+    public enum Mode {
+        FIRST, RANDOM, SHUFFLED, DAILY
+    }
+
+    // the seed of the daily puzzle shared by every node unless configured otherwise, "NUMBERLE"
+    public static final long DEFAULT_DAILY_SEED = 0x4E554D4245524C45L;
+
+    // the scheduler that always picks the first equation of the corpus
+    public static final TargetScheduler FIRST = new TargetScheduler(Mode.FIRST, 0);
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    private static final int ROUNDS = 4;
+
+    private final Mode mode;
+    private final long seed;
+
+    // the number of games scheduled so far
+    private long games;
+
+    private TargetScheduler(Mode mode, long seed) {
+        this.mode = mode;
+        this.seed = seed;
+    }
+
+    // Picks uniformly at random with replacement, the seed fixing the sequence
+    public static TargetScheduler random(long seed) {
+        return new TargetScheduler(Mode.RANDOM, seed);
+    }
+
+    // Visits the corpus in a shuffled order without repeats, reshuffling after every full cycle
+    public static TargetScheduler shuffled(long seed) {
+        return new TargetScheduler(Mode.SHUFFLED, seed);
+    }
+
+    // Picks one target per UTC day, the same for every scheduler with the seed
+    public static TargetScheduler daily(long seed) {
+        return new TargetScheduler(Mode.DAILY, seed);
+    }
+
+    /**
+     * Returns a scheduler of the same mode for one of many independent streams, such as a session id.
+     * Streams of a random or shuffled scheduler get their own seed; fixed and daily schedulers are shared as is.
+     */
+    public TargetScheduler derive(long stream) {
+        if (mode == Mode.FIRST || mode == Mode.DAILY) {
+            return this;
+        }
+        return new TargetScheduler(mode, mix(seed ^ mix(stream * GOLDEN_GAMMA)));
+    }
+
+    public Mode mode() {
+        return mode;
+    }
+
+    public long seed() {
+        return seed;
+    }
+
+    /**
+     * Returns the ordinal of the next target.
+     *
+     * @requires size > 0
+     * @ensures 0 <= \result && \result < size
+     */
+    public int next(int size) {
+        long game = games++;
+        return switch (mode) {
+            case FIRST -> 0;
+            case RANDOM -> bounded(mix(seed + game * GOLDEN_GAMMA), size);
+            case SHUFFLED -> permute(mix(seed + game / size * GOLDEN_GAMMA), (int) (game % size), size);
+            case DAILY -> dailyOrdinal(seed, Math.floorDiv(System.currentTimeMillis(), MILLIS_PER_DAY), size);
+        };
+    }
+
+    /**
+     * Returns the target of a day, counted from 1970-01-01, the days of a cycle over the corpus never repeating one.
+     *
+     * @requires size > 0
+     */
+    public static int dailyOrdinal(long seed, long epochDay, int size) {
+        long cycle = Math.floorDiv(epochDay, size);
+        return permute(mix(seed + cycle * GOLDEN_GAMMA), Math.floorMod(epochDay, size), size);
+    }
+
+    /**
+     * Maps an index to its place in the shuffle of [0, size) given by the key, a bijection for every key.
+     * The Feistel network permutes the smallest power of four covering size, so the walk back into range
+     * takes fewer than four steps on average.
+     *
+     * @requires 0 <= index && index < size
+     * @ensures 0 <= \result && \result < size
+     */
+    public static int permute(long key, int index, int size) {
+        int halfBits = 1;
+        while (1L << 2 * halfBits < size) {
+            halfBits++;
+        }
+        int halfMask = (1 << halfBits) - 1;
+        int value = index;
+        do {
+            int left = value >>> halfBits;
+            int right = value & halfMask;
+            for (int round = 0; round < ROUNDS; round++) {
+                int next = left ^ (int) mix(key + round * GOLDEN_GAMMA + right) & halfMask;
+                left = right;
+                right = next;
+            }
+            value = left << halfBits | right;
+        } while (Integer.compareUnsigned(value, size) >= 0); // a corpus past 2^30 uses all 32 bits
+        return value;
+    }
+
+    // Maps a random long to [0, size) by a multiply and shift instead of a division
+    private static int bounded(long random, int size) {
+        return (int) ((random >>> 32) * size >>> 32);
+    }
+
+    // The SplitMix64 finalizer
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,72 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TargetSchedulerTest {
+
+    /**
+     * testShuffledCycle() Scenario:
+     * For corpus sizes around the powers of four, check that a shuffled scheduler visits every ordinal exactly
+     * once per cycle and that the same seed replays the same order.
+     */
+    @Test
+    public void testShuffledCycle() {
+        for (int size : new int[]{1, 2, 3, 4, 5, 15, 16, 17, 1000, 36054}) {
+            TargetScheduler scheduler = TargetScheduler.shuffled(42);
+            TargetScheduler replay = TargetScheduler.shuffled(42);
+            for (int cycle = 0; cycle < 2; cycle++) {
+                BitSet seen = new BitSet(size);
+                for (int i = 0; i < size; i++) {
+                    int ordinal = scheduler.next(size);
+                    assertTrue(ordinal >= 0 && ordinal < size, "Ordinal out of range for size " + size);
+                    assertFalse(seen.get(ordinal), "Ordinal repeated within a cycle of size " + size);
+                    seen.set(ordinal);
+                    assertEquals(ordinal, replay.next(size), "The same seed should replay the same order.");
+                }
+            }
+        }
+    }
+
+    /**
+     * testRandomAndFirst() Scenario:
+     * Check that random schedulers stay in range and depend on their seed, that derived streams differ,
+     * and that the fixed scheduler always picks the first equation.
+     */
+    @Test
+    public void testRandomAndFirst() {
+        TargetScheduler a = TargetScheduler.random(7);
+        TargetScheduler b = TargetScheduler.random(7);
+        TargetScheduler other = TargetScheduler.random(7).derive(1);
+        boolean differs = false;
+        for (int i = 0; i < 100; i++) {
+            int ordinal = a.next(36054);
+            assertTrue(ordinal >= 0 && ordinal < 36054);
+            assertEquals(ordinal, b.next(36054));
+            differs |= ordinal != other.next(36054);
+            assertEquals(0, TargetScheduler.FIRST.next(36054));
+        }
+        assertTrue(differs, "A derived stream should not replay its parent.");
+    }
+
+    /**
+     * testDaily() Scenario:
+     * Check that the daily target depends only on the seed and the day, and that no day of a cycle repeats a target.
+     */
+    @Test
+    public void testDaily() {
+        int size = 365;
+        BitSet cycle = new BitSet(size);
+        // day 20075 starts the 55th cycle over a corpus of 365 equations
+        for (long day = 20_075; day < 20_075 + size; day++) {
+            int ordinal = TargetScheduler.dailyOrdinal(TargetScheduler.DEFAULT_DAILY_SEED, day, size);
+            assertEquals(ordinal, TargetScheduler.dailyOrdinal(TargetScheduler.DEFAULT_DAILY_SEED, day, size));
+            assertFalse(cycle.get(ordinal), "A target repeated within a cycle.");
+            cycle.set(ordinal);
+        }
+        TargetScheduler daily = TargetScheduler.daily(TargetScheduler.DEFAULT_DAILY_SEED);
+        assertSame(daily, daily.derive(5), "Every session should share the daily puzzle.");
+        assertEquals(daily.next(size), TargetScheduler.daily(TargetScheduler.DEFAULT_DAILY_SEED).next(size));
+    }
+}
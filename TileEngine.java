@@ -0,0 +1,166 @@
+/**
+ * Packed encoding and feedback scoring for equations of one length, from {@link #MIN_LENGTH} to {@link #MAX_LENGTH}
+ * tiles. Games are played on the shorter range of {@link GameVariant}; the longer engines still read, write and
+ * score equation lists of their length.
+ * <p>
+ * Every length uses the layout of {@link FeedbackEngine}: 4 bits per tile in a {@code long} and a base-3 pattern
+ * in an {@code int}, so 12 tiles still fit in 48 bits and 3^12 patterns. Each length has its own engine with its
+ * own pattern range; the classic 7 tile engine hands its hot methods to the static {@link FeedbackEngine}, whose
+ * loops have a constant trip count.
+ */
+public final class TileEngine {
+    // the lengths an engine can encode, bounded by the 16 tiles of a packed long and the 3^12 patterns of an int
+    public static final int MIN_LENGTH = 5;
+    public static final int MAX_LENGTH = 12;
+
+    // one engine per supported length, built up front so of() never allocates
+    private static final TileEngine[] ENGINES = new TileEngine[MAX_LENGTH + 1];
+
+    static {
+        for (int length = MIN_LENGTH; length <= MAX_LENGTH; length++) {
+            ENGINES[length] = new TileEngine(length);
+        }
+    }
+
+    // the engine of the classic game
+    public static final TileEngine CLASSIC = ENGINES[FeedbackEngine.LENGTH];
+
+    private final int length;
+    private final int patternCount;
+    private final boolean classic;
+
+    private TileEngine(int length) {
+        this.length = length;
+        this.patternCount = FeedbackEngine.pow3(length);
+        this.classic = length == FeedbackEngine.LENGTH;
+    }
+
+    /**
+     * Returns the engine of equations with the given number of tiles.
+     *
+     * @requires MIN_LENGTH <= length && length <= MAX_LENGTH
+     */
+    public static TileEngine of(int length) {
+        if (length < MIN_LENGTH || length > MAX_LENGTH) {
+            throw new IllegalArgumentException("Equations must have " + MIN_LENGTH + " to " + MAX_LENGTH + " tiles: " + length);
+        }
+        return ENGINES[length];
+    }
+
+    public int length() {
+        return length;
+    }
+
+    // the number of distinct patterns, every pattern is in [0, patternCount())
+    public int patternCount() {
+        return patternCount;
+    }
+
+    // the pattern where every tile is green
+    public int allGreen() {
+        return patternCount - 1;
+    }
+
+    /**
+     * Encodes an equation of this length into its packed tile representation.
+     *
+     * @requires equation != null && equation.length() == length()
+     * @ensures decode(\result).equals(equation.toString())
+     */
+    public long encode(CharSequence equation) {
+        if (classic) {
+            return FeedbackEngine.encode(equation);
+        }
+        if (equation.length() != length) {
+            throw new IllegalArgumentException("Equation must be " + length + " characters long: " + equation);
+        }
+        long code = 0;
+        for (int i = 0; i < length; i++) {
+            int tile = FeedbackEngine.tileCode(equation.charAt(i));
+            if (tile < 0) {
+                throw new IllegalArgumentException("Illegal character in equation: " + equation);
+            }
+            code |= (long) tile << (i << 2);
+        }
+        return code;
+    }
+
+    public String decode(long code) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = FeedbackEngine.ALPHABET.charAt(FeedbackEngine.tileAt(code, i));
+        }
+        return new String(chars);
+    }
+
+    // Returns the symbol multiset of a packed equation, see FeedbackEngine.symbolCounts
+    public long symbolCounts(long code) {
+        if (classic) {
+            return FeedbackEngine.symbolCounts(code);
+        }
+        long counts = 0;
+        for (int i = 0; i < length; i++) {
+            counts += 1L << (FeedbackEngine.tileAt(code, i) << 2);
+        }
+        return counts;
+    }
+
+    /**
+     * Scores a packed guess against a packed target with the rules of {@link FeedbackEngine#score}.
+     *
+     * @ensures 0 <= \result && \result < patternCount()
+     */
+    public int score(long guess, long target) {
+        if (classic) {
+            return FeedbackEngine.score(guess, target);
+        }
+        int pattern = 0;
+        int greens = 0;
+        long counts = 0;
+        int weight = 1;
+        for (int i = 0; i < length; i++, weight *= 3) {
+            int shift = i << 2;
+            int g = (int) (guess >>> shift) & 0xF;
+            int t = (int) (target >>> shift) & 0xF;
+            if (g == t) {
+                pattern += FeedbackEngine.GREEN * weight;
+                greens |= 1 << i;
+            } else {
+                counts += 1L << (t << 2);
+            }
+        }
+        weight = 1;
+        for (int i = 0; i < length; i++, weight *= 3) {
+            if ((greens & (1 << i)) != 0) continue;
+            int countShift = ((int) (guess >>> (i << 2)) & 0xF) << 2;
+            if (((counts >>> countShift) & 0xF) != 0) {
+                pattern += FeedbackEngine.ORANGE * weight;
+                counts -= 1L << countShift;
+            }
+        }
+        return pattern;
+    }
+
+    /**
+     * Converts a packed pattern into the G/O/X feedback string.
+     *
+     * @ensures \result.length() == length()
+     */
+    public String toString(int pattern) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = switch (pattern % 3) {
+                case FeedbackEngine.GREEN -> 'G';
+                case FeedbackEngine.ORANGE -> 'O';
+                default -> 'X';
+            };
+            pattern /= 3;
+        }
+        return new String(chars);
+    }
+
+    @Override
+    public String toString() {
+        return "TileEngine[" + length + "]";
+    }
+}
@@ -0,0 +1,146 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.LongBinaryOperator;
+import java.util.function.Predicate;
+import java.util.function.ToIntBiFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Exposes the game classes, which live in the unnamed package, to the benchmarks as plain functional interfaces.
+ * <p>
+ * JMH refuses benchmarks in the unnamed package and named packages cannot see it, so benchmarks look these
+ * factories up by name through {@code numberle.bench.Targets}.
+ */
+public final class BenchTargets {
+
+    private BenchTargets() {
+    }
+
+    // The original double based evaluator
+    public static Predicate<String> stackEvaluator() {
+        return equation -> StackEvaluator.INSTANCE.isBalanced(equation, equation.length());
+    }
+
+    // The exact register based evaluator used by the model
+    public static Predicate<String> rationalEvaluator() {
+        return equation -> RationalEvaluator.INSTANCE.isBalanced(equation, equation.length());
+    }
+
+    // The validation of NumberleModel.isValidEquation with errors displayed
+    public static Predicate<String> isValidEquation() {
+        return equation -> EquationValidator.validate(equation, true, RationalEvaluator.INSTANCE) == EquationValidator.VALID;
+    }
+
+    // NumberleModel.processInput without listeners, starting a new game whenever the last one is over
+    public static Predicate<String> processInput() {
+        INumberleModel model = newModel();
+        return input -> {
+            if (model.isGameOver()) {
+                model.restartGame();
+            }
+            return model.processInput(input);
+        };
+    }
+
+    // NumberleModel.restartGame
+    public static Runnable restartGame() {
+        INumberleModel model = newModel();
+        return model::restartGame;
+    }
+
+    private static INumberleModel newModel() {
+        INumberleModel model = new NumberleModel();
+        model.initialize(model, 1, 1, 0);
+        return model;
+    }
+
+    // The original string feedback of a guess against a target
+    public static ToIntBiFunction<String, String> referenceFeedback() {
+        return (guess, target) -> FeedbackEngine.referenceFeedback(guess, target).hashCode();
+    }
+
+    // The packed feedback of NumberleModel.evaluateFeedback, including the encoding of the guess
+    public static ToIntBiFunction<String, String> packedFeedback() {
+        return (guess, target) -> FeedbackEngine.score(FeedbackEngine.encode(guess), FeedbackEngine.encode(target));
+    }
+
+    // The packed feedback of already encoded equations, as scored by the solver
+    public static LongBinaryOperator scoreCodes() {
+        return (guess, target) -> FeedbackEngine.score(guess, target);
+    }
+
+    public static ToLongFunction<String> encode() {
+        return FeedbackEngine::encode;
+    }
+
+    // The original updateSets bookkeeping with four LinkedHashSets, over a game of one guess
+    public static ToIntBiFunction<String, String> setKeyboard() {
+        return (guess, target) -> {
+            String feedback = FeedbackEngine.referenceFeedback(guess, target);
+            Set<Character> correct = new LinkedHashSet<>(), wrong = new LinkedHashSet<>(), absent = new LinkedHashSet<>();
+            Set<Character> unused = new LinkedHashSet<>(Arrays.asList('0', '1', '2', '3', '4', '5', '6', '7', '8', '9', '+', '-', '*', '/', '='));
+            for (int i = 0; i < guess.length(); i++) {
+                char ch = guess.charAt(i);
+                switch (feedback.charAt(i)) {
+                    case 'G' -> correct.add(ch);
+                    case 'O' -> {
+                        if (!correct.contains(ch)) wrong.add(ch);
+                    }
+                    default -> {
+                        if (!correct.contains(ch) && !wrong.contains(ch)) absent.add(ch);
+                    }
+                }
+                unused.remove(ch);
+            }
+            return correct.size() + wrong.size() + absent.size() + unused.size();
+        };
+    }
+
+    // The packed KeyboardState update, over a game of one guess
+    public static ToIntBiFunction<String, String> maskKeyboard() {
+        return (guess, target) -> {
+            long code = FeedbackEngine.encode(guess);
+            long state = KeyboardState.update(KeyboardState.EMPTY, code, FeedbackEngine.score(code, FeedbackEngine.encode(target)));
+            return Long.bitCount(state);
+        };
+    }
+
+    // Replays a game of guesses with GuessBatch and returns the attempts used
+    public static ToIntBiFunction<String, String[]> replayGame() {
+        return (target, guesses) -> GuessBatch.replay(FeedbackEngine.encode(target), guesses, true).attempts();
+    }
+
+    // Writes every valid equation to a text file, one per line
+    public static BiConsumer<String, String> writeGeneratedCorpus() {
+        return (textFile, binaryFile) -> {
+            try (Writer writer = Files.newBufferedWriter(Paths.get(textFile), StandardCharsets.UTF_8)) {
+                EquationGenerator.writeTo(writer);
+                writer.flush();
+                EquationCorpusFile.write(EquationCorpus.load(Paths.get(textFile)), Paths.get(binaryFile), true);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+
+    // Loads a corpus from a text or binary file and returns its size
+    public static ToIntFunction<String> loadCorpus() {
+        return file -> {
+            try {
+                return EquationCorpus.load(Path.of(file)).size();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+}
@@ -0,0 +1,66 @@
+package numberle.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.ToIntFunction;
+
+/**
+ * Corpus loading: parsing the text list against mapping the binary format, over every valid equation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CorpusBenchmark {
+
+    @Param({"text", "binary"})
+    public String format;
+
+    private Path directory;
+    private String file;
+    private ToIntFunction<String> loadCorpus;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("numberle-corpus");
+        Path text = directory.resolve("equations.txt");
+        Path binary = directory.resolve("equations.bin");
+        BiConsumer<String, String> write = Targets.get("writeGeneratedCorpus");
+        write.accept(text.toString(), binary.toString());
+        file = (format.equals("binary") ? binary : text).toString();
+        loadCorpus = Targets.get("loadCorpus");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (var files = Files.list(directory)) {
+            for (Path path : (Iterable<Path>) files::iterator) {
+                Files.deleteIfExists(path);
+            }
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public int load() {
+        return loadCorpus.applyAsInt(file);
+    }
+}
@@ -0,0 +1,56 @@
+package numberle.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Compares the original {@code Stack<Double>} evaluator with the exact register based evaluator
+ * on a mix of balanced, unbalanced and malformed equations.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class EvaluatorBenchmark {
+
+    // balanced, unbalanced and malformed inputs, all already stripped of trailing equal signs
+    private static final String[] EQUATIONS = {
+            "2+3*2=8", "12+4=16", "6/2*2=6", "9-6/3=7", "20=10*2", "7=1+2*3", "2/6=1/3", "3*3-1=8",
+            "1+2=3+4", "4*4=15+", "15*3=46", "8-2-2=8", "-3+5=2", "1=1=1", "9/3+2=6", "0*5=1/1"
+    };
+
+    @Param({"stack", "rational"})
+    public String evaluator;
+
+    private Predicate<String> target;
+
+    @Setup
+    public void setUp() {
+        target = Targets.get(evaluator + "Evaluator");
+    }
+
+    @Benchmark
+    public int isBalanced() {
+        int balanced = 0;
+        for (String equation : EQUATIONS) {
+            if (target.test(equation)) {
+                balanced++;
+            }
+        }
+        return balanced;
+    }
+}
@@ -0,0 +1,64 @@
+package numberle.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * {@code evaluateFeedback} and {@code updateSets}: the original string feedback and LinkedHashSet keyboard against
+ * the packed feedback engine and keyboard masks, over every pair of {@link Inputs#VALID}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FeedbackBenchmark {
+
+    @Param({"reference", "packed"})
+    public String engine;
+
+    private ToIntBiFunction<String, String> feedback;
+    private ToIntBiFunction<String, String> keyboard;
+
+    @Setup
+    public void setUp() {
+        boolean packed = engine.equals("packed");
+        feedback = Targets.get(packed ? "packedFeedback" : "referenceFeedback");
+        keyboard = Targets.get(packed ? "maskKeyboard" : "setKeyboard");
+    }
+
+    @Benchmark
+    public int evaluateFeedback() {
+        int sum = 0;
+        for (String guess : Inputs.VALID) {
+            for (String target : Inputs.VALID) {
+                sum += feedback.applyAsInt(guess, target);
+            }
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int updateSets() {
+        int sum = 0;
+        for (String guess : Inputs.VALID) {
+            for (String target : Inputs.VALID) {
+                sum += keyboard.applyAsInt(guess, target);
+            }
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,21 @@
+package numberle.bench;
+
+/**
+ * Fixed inputs shared by the benchmarks, so every run scores the same work.
+ */
+final class Inputs {
+    // equations from equations.txt, all valid
+    static final String[] VALID = {
+            "2+3*2=8", "4-1*3=1", "5/1+2=7", "6*1-2=4", "7-3/1=4", "8+2-3=7", "6/2*2=6", "2+3=5*1",
+            "5-2=3*1", "1+6=5+2", "2*4=3+5", "12+4=16", "21-6=15", "15*3=45", "20=10*2", "45/3=15"
+    };
+
+    // a mix of balanced, unbalanced and malformed guesses, as players type them
+    static final String[] GUESSES = {
+            "2+3*2=8", "1+1=3+0", "5-2=3*1", "12345", "1++2=30", "9-6/3=7", "1+5=2+4", "abcdefg",
+            "7=1+2*3", "15*3=46", "3*3-1=8", "1+2=3+4", "6/2*2=6", "2+3*2=9", "9/3+2=5", "1=1=1+0"
+    };
+
+    private Inputs() {
+    }
+}
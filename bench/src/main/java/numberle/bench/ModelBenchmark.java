@@ -0,0 +1,62 @@
+package numberle.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.function.ToIntBiFunction;
+
+/**
+ * The model's entry points: {@code processInput} on a mix of valid and invalid guesses, {@code restartGame},
+ * and the same guesses replayed in bulk through {@code GuessBatch}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ModelBenchmark {
+    private Predicate<String> processInput;
+    private Runnable restartGame;
+    private ToIntBiFunction<String, String[]> replayGame;
+
+    @Setup
+    public void setUp() {
+        processInput = Targets.get("processInput");
+        restartGame = Targets.get("restartGame");
+        replayGame = Targets.get("replayGame");
+    }
+
+    // every guess of Inputs.GUESSES, restarting the game whenever it is over
+    @Benchmark
+    public int processInput() {
+        int valid = 0;
+        for (String guess : Inputs.GUESSES) {
+            if (processInput.test(guess)) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    @Benchmark
+    public void restartGame() {
+        restartGame.run();
+    }
+
+    // the same guesses as processInput, replayed as one game without any model bookkeeping
+    @Benchmark
+    public int replayGame() {
+        return replayGame.applyAsInt("2+3*2=8", Inputs.GUESSES);
+    }
+}
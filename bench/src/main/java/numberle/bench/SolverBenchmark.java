@@ -0,0 +1,51 @@
+package numberle.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongBinaryOperator;
+import java.util.function.ToLongFunction;
+
+/**
+ * Scoring of equations that are already encoded, the inner loop of the solver, over every pair of {@link Inputs#VALID}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SolverBenchmark {
+    private LongBinaryOperator scoreCodes;
+    private long[] codes;
+
+    @Setup
+    public void setUp() {
+        scoreCodes = Targets.get("scoreCodes");
+        ToLongFunction<String> encode = Targets.get("encode");
+        codes = new long[Inputs.VALID.length];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = encode.applyAsLong(Inputs.VALID[i]);
+        }
+    }
+
+    @Benchmark
+    public long scoreCodes() {
+        long sum = 0;
+        for (long guess : codes) {
+            for (long target : codes) {
+                sum += scoreCodes.applyAsLong(guess, target);
+            }
+        }
+        return sum;
+    }
+}
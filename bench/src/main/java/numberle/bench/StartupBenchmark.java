@@ -0,0 +1,59 @@
+package numberle.bench;
+
+import java.awt.GraphicsEnvironment;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Measures the time to first frame of the GUI: the time from the start of a fresh JVM to the first window on
+ * screen, as printed by {@code GUIApp --first-frame}.
+ * <p>
+ * Startup only happens once per JVM, so unlike the JMH benchmarks every sample is its own process, launched with
+ * the classpath of this one. Needs a display; on a headless machine it reports nothing and exits.
+ * <p>
+ * Usage, from the repository root: {@code java -cp bench/target/benchmarks.jar numberle.bench.StartupBenchmark [runs]}
+ */
+public final class StartupBenchmark {
+    // the line GUIApp prints once the first window is open
+    private static final String FIRST_FRAME = "first frame after ms: ";
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        if (GraphicsEnvironment.isHeadless()) {
+            System.err.println("The startup benchmark needs a display");
+            return;
+        }
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        List<Long> samples = new ArrayList<>();
+        for (int run = 0; run < runs; run++) {
+            Process process = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"), "GUIApp", "--first-frame")
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start();
+            try (BufferedReader output = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = output.readLine()) != null) {
+                    if (line.startsWith(FIRST_FRAME)) {
+                        samples.add(Long.parseLong(line.substring(FIRST_FRAME.length()).trim()));
+                    }
+                }
+            }
+            process.waitFor();
+        }
+        if (samples.isEmpty()) {
+            System.err.println("GUIApp did not report a first frame");
+            return;
+        }
+        Collections.sort(samples);
+        System.out.printf("time to first frame over %d runs: min %d ms, median %d ms, max %d ms%n",
+                samples.size(), samples.get(0), samples.get(samples.size() / 2), samples.get(samples.size() - 1));
+    }
+}
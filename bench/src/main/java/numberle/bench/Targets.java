@@ -0,0 +1,21 @@
+package numberle.bench;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Looks up the factories of {@code BenchTargets}, the bridge to the game classes in the unnamed package.
+ */
+final class Targets {
+
+    private Targets() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T get(String factory) {
+        try {
+            return (T) Class.forName("BenchTargets").getMethod(factory).invoke(null);
+        } catch (ClassNotFoundException | NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Benchmark target is not available: " + factory, e);
+        }
+    }
+}
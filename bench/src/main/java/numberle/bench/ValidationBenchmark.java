@@ -0,0 +1,44 @@
+package numberle.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * {@code isValidEquation}: the single-pass validator with the arithmetic check, on valid and invalid guesses.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ValidationBenchmark {
+    private Predicate<String> isValidEquation;
+
+    @Setup
+    public void setUp() {
+        isValidEquation = Targets.get("isValidEquation");
+    }
+
+    @Benchmark
+    public int isValidEquation() {
+        int valid = 0;
+        for (String guess : Inputs.GUESSES) {
+            if (isValidEquation.test(guess)) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+}